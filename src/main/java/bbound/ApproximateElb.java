@@ -0,0 +1,102 @@
+/*
+  @(#) ApproximateElb.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import jung.IndexableGraph;
+
+/**
+ * Edge local bridging (ELB) measure that avoids intersecting the full neighbourhoods of
+ * high-degree vertices: the number of common neighbours of an edge between two hubs is
+ * estimated from neighbourhood sketches, while for an edge between a hub and another vertex
+ * it is counted exactly, at a cost proportional to the degree of the other vertex (see 
+ * NeighbourhoodSketches). The edges whose endpoints have degree lower than the 
+ * threshold of the sketches are computed as usual, but their common neighbours are counted
+ * directly by the graph instead of through the CN measure, so that calculateAllMeasures()
+ * does not intersect the neighbourhoods of the hubs for an exact CN column.
+ *
+ * Since the estimated values differ from the exact ones, they are memoized in a column of
+ * their own (keyed by this object), so exact and approximate calculators can share a graph.
+ * It can be used wherever a measure is expected, e.g.
+ * <pre>
+ * new BridgeBoundingDetector(new ApproximateElb(new NeighbourhoodSketches(graph, 256, 10000)), 0.8)
+ * </pre>
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class ApproximateElb implements EdgeMeasure {
+
+	private final NeighbourhoodSketches<?,?> sketches;
+
+	public ApproximateElb(NeighbourhoodSketches<?,?> sketches){
+		this.sketches = sketches;
+	}
+
+	public NeighbourhoodSketches<?,?> getSketches(){
+		return sketches;
+	}
+
+	/**
+	 * The name identifies the sketches (size, degree threshold and hash seed), since they
+	 * determine the estimated values, e.g. in the names of the column files of a
+	 * MappedIndexableGraph.
+	 */
+	public String getName() {
+		return "ELB~" + sketches.getSketchSize() + "-" + sketches.getDegreeThreshold()
+			+ "-" + Long.toHexString(sketches.getSeed());
+	}
+
+	public EdgeMeasure[] getDependencies() {
+		return new EdgeMeasure[0];
+	}
+
+	public boolean isLocal() {
+		return true;
+	}
+
+	public boolean isIntersectionMeasure() {
+		return false;
+	}
+
+	public double getContribution(NetworkTopologyMeasuresCalculator<?,?> calculator,
+			int commonNeighbour, double weight1, double weight2) {
+		throw new UnsupportedOperationException(getName() + " is not an intersection measure!");
+	}
+
+	public double calculate(NetworkTopologyMeasuresCalculator<?,?> calculator, int edgeIndex) {
+		IndexableGraph<?,?> graph = calculator.getGraph();
+		if (graph != sketches.getGraph()){
+			throw new IllegalArgumentException("The sketches were built for another graph!");
+		}
+		int v1 = graph.getFirstEndpointIndex(edgeIndex);
+		int v2 = graph.getSecondEndpointIndex(edgeIndex);
+		int deg1 = graph.getDegreeByIndex(v1);
+		int deg2 = graph.getDegreeByIndex(v2);
+		if (Math.min(deg1-1, deg2-1) == 1){
+			return 1.0;
+		}
+		return NetworkTopologyMeasuresCalculator.getElb(sketches.getCommonNeighbours(v1, v2), deg1, deg2);
+	}
+
+	@Override
+	public String toString() {
+		return getName();
+	}
+}
@@ -19,6 +19,8 @@
 */
 package bbound;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -27,33 +29,145 @@ import java.util.Set;
 import graph.Community;
 import jung.IndexableUndirectedSparseGraph;
 import jung.StringIndexableVertex;
+import util.IndexedHeap;
+import util.SparseVector;
 
 /**
  * Class implementing the local community detection method by Bagrow appearing in 
  * the paper "Evaluating Local Community Methods in Networks", J. Stat. Mech.  (2008).
+ * For a set of seed nodes, the community is initialized with all of them. For a warm start,
+ * the community is initialized with the previous community (restricted to the members still
+ * connected to the seed node) and the agglomeration resumes past the first cusp of Mout:
+ * it stops as soon as an addition increases Mout, and that addition is undone.
+ * 
+ * The candidates are kept in a heap keyed by their outwardness, which is updated as the
+ * community grows, instead of being rescanned at every step. The candidate is the same as
+ * in a scan of the candidate set in hash order: the first one of minimum outwardness, or 
+ * the first one with all its neighbours in the community. When several candidates are
+ * tied, the hash set of candidates, which is kept alongside the heap, is scanned for it.
  * 
  * @author Symeon Papadopoulos
  *
  */
-public class BagrowCommunityDetector<V extends StringIndexableVertex,E> implements LocalCommunityDetector<V,E> {
+public class BagrowCommunityDetector<V extends StringIndexableVertex,E> implements MultiSeedCommunityDetector<V,E>, WarmStartCommunityDetector<V,E> {
 
 	private int maxCommunitySize = 500;
 	
+	/* A candidate whose outwardness is below this value has (almost) all its neighbours in
+	 * the community, and is selected without looking for a smaller outwardness. */
+	private static final double INWARD = -0.999999;
+	
+	/* Per-thread frontier and in-community degrees of its candidates, reused across calls. */
+	private static final ThreadLocal<IndexedHeap> FRONTIER = new ThreadLocal<IndexedHeap>(){
+		protected IndexedHeap initialValue(){
+			return new IndexedHeap();
+		}
+	};
+	private static final ThreadLocal<SparseVector> INTERNAL = new ThreadLocal<SparseVector>(){
+		protected SparseVector initialValue(){
+			return new SparseVector();
+		}
+	};
+	
 
 	public Community<V,E> getCommunity(
 			IndexableUndirectedSparseGraph<V, E> graph, V seed) {
-		
+		return getCommunity(graph, seed, new DetectionBudget());
+	}
+	
+	/**
+	 * Detect the community of the seed node. When the budget is exhausted, the community
+	 * as it stands after the last completed agglomeration step is returned, flagged as truncated.
+	 */
+	public Community<V,E> getCommunity(
+			IndexableUndirectedSparseGraph<V, E> graph, V seed, DetectionBudget budget) {
+		return getCommunity(graph, Collections.singletonList(seed), budget);
+	}
+	
+	public Community<V,E> getCommunity(
+			IndexableUndirectedSparseGraph<V, E> graph, Collection<V> seeds) {
+		return getCommunity(graph, seeds, new DetectionBudget());
+	}
+	
+	/**
+	 * Detect the community of the seed nodes. When the budget is exhausted, the community
+	 * as it stands after the last completed agglomeration step is returned, flagged as truncated.
+	 */
+	public Community<V,E> getCommunity(
+			IndexableUndirectedSparseGraph<V, E> graph, Collection<V> seeds, DetectionBudget budget) {
+		if (seeds.isEmpty()){
+			throw new IllegalArgumentException("The seed set should not be empty!");
+		}
+		return expand(graph, seeds, false, budget);
+	}
+	
+	public Community<V,E> getCommunity(
+			IndexableUndirectedSparseGraph<V, E> graph, V seed, Community<?,?> previous) {
+		return getCommunity(graph, seed, previous, new DetectionBudget());
+	}
+	
+	/**
+	 * Detect the community of the seed node, starting from its previous community. The
+	 * agglomeration counts against the budget as in a cold start.
+	 */
+	public Community<V,E> getCommunity(
+			IndexableUndirectedSparseGraph<V, E> graph, V seed, Community<?,?> previous, 
+			DetectionBudget budget) {
+		return expand(graph, WarmStart.getInitialMembers(graph, seed, previous), true, budget);
+	}
+	
+	/* Agglomerate from the initial members, those of a previous community for a warm start. */
+	private Community<V,E> expand(IndexableUndirectedSparseGraph<V, E> graph, 
+			Collection<V> initial, boolean warm, DetectionBudget budget) {
 		int cId = 1;
 		
 		/* The community that will be identified. */
 		Community<V,E> C = new Community<V,E>(cId, graph);
-		C.addMember(seed);
+		Iterator<V> seedIter = initial.iterator();
+		while (seedIter.hasNext()){
+			V seed = seedIter.next();
+			if (graph.getVertexIndex(seed) < 0){
+				throw new IllegalArgumentException("Input graph does not contain seed node!");
+			}
+			C.addMember(seed);
+		}
 		
-		/* set of nodes surrounding the community (agglomeration candidates) */
-		Set<V> U = new HashSet<V>();
-		Iterator<V> nIter = graph.getNeighbors(seed).iterator();
-		while (nIter.hasNext()){
-			U.add(nIter.next());
+		/* set of nodes surrounding the community (agglomeration candidates), keyed by their
+		 * outwardness, which is maintained as the community grows; the number of neighbours
+		 * of each candidate in the community is kept alongside */
+		IndexedHeap U = FRONTIER.get();
+		U.reset(graph.getVertexIndexBound());
+		SparseVector internal = INTERNAL.get();
+		internal.clear();
+		List<String> members = C.getMembers();
+		for (int i = 0; i < members.size(); i++){
+			int memberIndex = graph.getVertexIndex(graph.getVertex(members.get(i)));
+			int memberDegree = graph.getDegreeByIndex(memberIndex);
+			budget.evaluateEdges(memberDegree);
+			for (int p = 0; p < memberDegree; p++){
+				int neighbourIndex = graph.getNeighborIndex(memberIndex, p);
+				if (!C.contains(graph.getVertexByIndex(neighbourIndex))){
+					internal.add(neighbourIndex, 1);
+				}
+			}
+		}
+		/* the candidates in a hash set, with the same history of insertions and removals as
+		 * the candidate set of the original scan, so that ties are broken in its order */
+		Set<V> candidates = new HashSet<V>();
+		seedIter = initial.iterator();
+		while (seedIter.hasNext()){
+			int seedIndex = graph.getVertexIndex(seedIter.next());
+			int seedDegree = graph.getDegreeByIndex(seedIndex);
+			for (int p = 0; p < seedDegree; p++){
+				V neighbour = graph.getVertexByIndex(graph.getNeighborIndex(seedIndex, p));
+				if (!C.contains(neighbour)){
+					candidates.add(neighbour);
+				}
+			}
+		}
+		for (int i = 0; i < internal.size(); i++){
+			int candidateIndex = internal.getIndex(i);
+			U.update(candidateIndex, getOutwardness(graph, candidateIndex, internal.getValueAt(i)));
 		}
 		
 		//int counter = 0;
@@ -61,53 +175,61 @@ public class BagrowCommunityDetector<V extends StringIndexableVertex,E> implemen
 		int countCusps = 0;
 		/* tendency can be either upward (1) or downward (0) */
 		int prevTendency = 1; 
+		int m = calculateMout(C, graph);
+		if (warm){
+			/* a warm start is past the first cusp, on the way down to a minimum of Mout */
+			Mprev = m;
+			countCusps = 1;
+			prevTendency = 0;
+		}
 		while ((C.getNumberOfMembers() < maxCommunitySize) && (countCusps < 2)) {
 			
 			//System.out.println(++counter + " " + C.getNumberOfMembers());
 			
-			/* go through candidates one-by-one and select the one to agglomerate based 
-			 * on its outwardness (we want minimun outwardness. If outwardness = -1, then
-			 * don't perform any further check */
-			double minOutwardness = 1;
-			V selectedCandidate = null;
-			
-			Iterator<V> candIter = U.iterator();
-			while (candIter.hasNext()){
-				V candidate = candIter.next();
-				Iterator<V> candNeighborIter = graph.getNeighbors(candidate).iterator();
-				int kin = 0;
-				while (candNeighborIter.hasNext()){
-					if (C.contains(candNeighborIter.next())){
-						kin++;
-					}
-				}
-				int k = graph.degree(candidate);
-				double outwardness = 1.0 - ((2.0*kin)/(double)k);
-				if (outwardness<-0.999999){
-					selectedCandidate = candidate;
-					break;
-				} else {
-					if (outwardness < minOutwardness){
-						minOutwardness = outwardness;
-						selectedCandidate = candidate;
+			/* select the candidate of minimum outwardness; all candidates below INWARD 
+			 * count as tied */
+			if (U.isEmpty()) break;
+			if (budget.isExhausted()){
+				C.setTruncated(true);
+				return C;
+			}
+			int selectedIndex = U.peek();
+			double bound = Math.max(U.getKey(selectedIndex), Math.nextDown(INWARD));
+			if (U.hasOtherAtMost(bound)){
+				/* the first tied candidate in hash order */
+				Iterator<V> candIter = candidates.iterator();
+				while (candIter.hasNext()){
+					int candidateIndex = graph.getVertexIndex(candIter.next());
+					if (U.getKey(candidateIndex) <= bound){
+						selectedIndex = candidateIndex;
+						break;
 					}
 				}
 			}
+			U.remove(selectedIndex);
+			V selectedCandidate = graph.getVertexByIndex(selectedIndex);
+			candidates.remove(selectedCandidate);
+			int selectedDegree = graph.getDegreeByIndex(selectedIndex);
+			budget.visitVertex();
+			budget.evaluateEdges(selectedDegree);
 			
-			if (selectedCandidate == null) break;
-			
+			/* update the candidates and Mout: the edges from the community to the selected
+			 * candidate become internal, and those from the candidate to the rest leave it */
 			C.addMember(selectedCandidate);
-			U.remove(selectedCandidate);
-			Iterator<V> toAddIter = graph.getNeighbors(selectedCandidate).iterator();
-			while (toAddIter.hasNext()){
-				V toAdd = toAddIter.next();
-				if (!C.contains(toAdd)) {
-					U.add(toAdd);
+			for (int p = 0; p < selectedDegree; p++){
+				int neighbourIndex = graph.getNeighborIndex(selectedIndex, p);
+				if (neighbourIndex == selectedIndex) continue;
+				V neighbour = graph.getVertexByIndex(neighbourIndex);
+				if (C.contains(neighbour)){
+					m--;
+				} else {
+					m++;
+					U.update(neighbourIndex, getOutwardness(graph, neighbourIndex, internal.add(neighbourIndex, 1)));
+					candidates.add(neighbour);
 				}
 			}
 			
 			// stopping criterion (check whether Mout has reached a local minimum
-			int m = calculateMout(C, graph);
 			int tendency = 0;
 			if (m > Mprev){
 				tendency = 1;	
@@ -126,14 +248,21 @@ public class BagrowCommunityDetector<V extends StringIndexableVertex,E> implemen
 		return C;
 	}
 	
+	/* Outwardness of a candidate, the difference of its neighbours outside and inside the 
+	 * community over its degree. */
+	private double getOutwardness(IndexableUndirectedSparseGraph<V,E> graph, int candidateIndex, double kin){
+		int k = graph.getDegreeByIndex(candidateIndex);
+		return 1.0 - ((2.0*kin)/(double)k);
+	}
+	
 	private int calculateMout(Community<V,E> c, IndexableUndirectedSparseGraph<V,E> graph){
 		List<String> members = c.getMembers();
 		int mout = 0;
 		for (int i = 0; i < members.size(); i++){
-			V current = graph.getVertex(members.get(i));
-			Iterator<V> nIter = graph.getNeighbors(current).iterator();
-			while (nIter.hasNext()){
-				if (!c.contains(nIter.next())){
+			int current = graph.getVertexIndex(graph.getVertex(members.get(i)));
+			int degree = graph.getDegreeByIndex(current);
+			for (int p = 0; p < degree; p++){
+				if (!c.contains(graph.getVertexByIndex(graph.getNeighborIndex(current, p)))){
 					mout++;
 				}
 			}
@@ -19,30 +19,53 @@
 */
 package bbound;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Stack;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 
 import graph.Community;
+import graph.CompactCommunity;
+import jung.IndexableGraph;
 import jung.IndexableUndirectedSparseGraph;
 import jung.StringIndexableVertex;
+import util.IntArrayList;
+import util.VertexMarker;
 
 /**
  * Class implementing the LocalCommunityDetector interface by employing the
- * Bridge Bounding technique.
+ * Bridge Bounding technique. For a set of seed nodes, the traversal starts from all
+ * of them at once (multi-source traversal), so the community is the union of the
+ * bridge-bounded regions of the seeds, found in a single pass.
  * @author Symeon Papadopoulos
  *
  */
-public class BridgeBoundingDetector<V extends StringIndexableVertex, E> implements LocalCommunityDetector<V,E> {
+public class BridgeBoundingDetector<V extends StringIndexableVertex, E> implements MultiSeedCommunityDetector<V,E> {
 
 	/* The network topology measure that will be used for estimating an
 	 * edge's bridge-ness. */
-	private final NetworkTopologyMeasures measure;
+	private final EdgeMeasure measure;
 	
 	/* The lower bridging threshold used by the algorithm. */
 	private final double threshold;
 	
-	public BridgeBoundingDetector(NetworkTopologyMeasures measure, double threshold){
+	/* Per-thread traversal state, reused across calls. */
+	private static final ThreadLocal<VertexMarker> MEMBERS = new ThreadLocal<VertexMarker>(){
+		protected VertexMarker initialValue(){
+			return new VertexMarker();
+		}
+	};
+	private static final ThreadLocal<IntArrayList> FRONTIER = new ThreadLocal<IntArrayList>(){
+		protected IntArrayList initialValue(){
+			return new IntArrayList();
+		}
+	};
+	private static final ThreadLocal<IntArrayList> FOUND = new ThreadLocal<IntArrayList>(){
+		protected IntArrayList initialValue(){
+			return new IntArrayList();
+		}
+	};
+	
+	public BridgeBoundingDetector(EdgeMeasure measure, double threshold){
 		this.measure = measure;
 		this.threshold = threshold;
 	}
@@ -52,32 +75,122 @@ public class BridgeBoundingDetector<V extends StringIndexableVertex, E> implemen
 	 */
 	public Community<V,E> getCommunity(
 			IndexableUndirectedSparseGraph<V, E> graph, V seed) {
+		return getCommunity(graph, seed, new DetectionBudget());
+	}
+	
+	/**
+	 * Detect the community containing the seed node based on the bridge bounding method.
+	 * The expansion stops when the budget is exhausted; in that case the members reached 
+	 * so far are returned as a truncated community.
+	 */
+	public Community<V,E> getCommunity(
+			IndexableUndirectedSparseGraph<V, E> graph, V seed, DetectionBudget budget) {
+		return getCommunity((IndexableGraph<V, E>)graph, seed, budget);
+	}
+	
+	/**
+	 * Detect the community containing the seed node in any indexable graph, e.g. a 
+	 * MappedIndexableGraph. The detection only uses the index-based adjacency of the graph.
+	 */
+	public Community<V,E> getCommunity(
+			IndexableGraph<V, E> graph, V seed, DetectionBudget budget) {
+		return getCommunity(graph, Collections.singletonList(seed), budget);
+	}
+	
+	/**
+	 * Detect the community containing the seed nodes based on the bridge bounding method.
+	 */
+	public Community<V,E> getCommunity(
+			IndexableUndirectedSparseGraph<V, E> graph, Collection<V> seeds) {
+		return getCommunity(graph, seeds, new DetectionBudget());
+	}
+	
+	/**
+	 * Detect the community containing the seed nodes based on the bridge bounding method.
+	 * The expansion stops when the budget is exhausted; in that case the members reached 
+	 * so far are returned as a truncated community.
+	 */
+	public Community<V,E> getCommunity(
+			IndexableUndirectedSparseGraph<V, E> graph, Collection<V> seeds, DetectionBudget budget) {
+		return getCommunity((IndexableGraph<V, E>)graph, seeds, budget);
+	}
+	
+	/**
+	 * Detect the community containing the seed nodes in any indexable graph.
+	 */
+	public Community<V,E> getCommunity(
+			IndexableGraph<V, E> graph, Collection<V> seeds, DetectionBudget budget) {
+		int cId = 1;
+		Community<V,E> community = new Community<V,E>(cId, graph);
+		community.setTruncated(expand(graph, seeds, budget));
+		IntArrayList found = FOUND.get();
+		for (int i = 0; i < found.size(); i++){
+			community.addMember(graph.getVertexByIndex(found.get(i)));
+		}
+		return community;
+	}
+	
+	/**
+	 * Detect the community containing the seed node and return it in compact form, without
+	 * materializing the ids of its members.
+	 * 
+	 * @param compressed Whether the member indices of the community are compressed.
+	 */
+	public CompactCommunity<V,E> getCompactCommunity(
+			IndexableGraph<V, E> graph, V seed, DetectionBudget budget, boolean compressed) {
+		int cId = 1;
+		boolean truncated = expand(graph, Collections.singletonList(seed), budget);
+		IntArrayList found = FOUND.get();
+		return new CompactCommunity<V,E>(cId, graph, found.toArray(), found.size(), truncated, compressed);
+	}
+	
+	/* Collect the indices of the community members in FOUND; returns true if the expansion
+	 * was stopped by the budget. */
+	private boolean expand(IndexableGraph<V, E> graph, Collection<V> seeds, DetectionBudget budget) {
+		if (seeds.isEmpty()){
+			throw new IllegalArgumentException("The seed set should not be empty!");
+		}
 		
 		NetworkTopologyMeasuresCalculator<V,E> networkMeasureCalculator = 
 			new NetworkTopologyMeasuresCalculator<V,E>(graph, measure);
 		
-		int cId = 1;
-		Community<V,E> community = new Community<V,E>(cId, graph);
+		/* the traversal works on vertex indices, with per-thread reusable state */
+		VertexMarker members = MEMBERS.get();
+		members.reset(graph.getVertexIndexBound());
+		IntArrayList frontier = FRONTIER.get();
+		frontier.clear();
+		IntArrayList found = FOUND.get();
+		found.clear();
 		
-		Stack<V> frontier = new Stack<V>();
-		frontier.push(seed);
+		for (Iterator<V> it = seeds.iterator(); it.hasNext();){
+			int seedIndex = graph.getVertexIndex(it.next());
+			if (seedIndex < 0){
+				throw new IllegalArgumentException("Input graph does not contain seed node!");
+			}
+			frontier.add(seedIndex);
+		}
 		
 		while (!frontier.isEmpty()){
-			V vertexToAdd = frontier.pop();
-			if (community.contains(vertexToAdd)) continue;
-			community.addMember(vertexToAdd);
+			int vertexToAdd = frontier.pop();
+			if (members.isMarked(vertexToAdd)) continue;
+			if (budget.isExhausted()){
+				return true;
+			}
+			members.mark(vertexToAdd);
+			found.add(vertexToAdd);
+			budget.visitVertex();
 			
-			List<V> neighbours = new ArrayList<V>(graph.getNeighbors(vertexToAdd));
-			for (int i = 0; i < neighbours.size(); i++){
-				V candidate = neighbours.get(i);
-				if (community.contains(candidate)) continue;
-				E edge = graph.findEdge(vertexToAdd, candidate);
-				if (networkMeasureCalculator.calculateMeasure(edge) > threshold){
+			int degree = graph.getDegreeByIndex(vertexToAdd);
+			budget.evaluateEdges(degree);
+			for (int i = 0; i < degree; i++){
+				int candidate = graph.getNeighborIndex(vertexToAdd, i);
+				if (members.isMarked(candidate)) continue;
+				if (networkMeasureCalculator.getValue(measure, graph.getIncidentEdgeIndex(vertexToAdd, i)) > threshold){
 					continue;
 				}
-				frontier.push(candidate);
+				frontier.add(candidate);
 			}
 		}
-		return community;
+		return false;
 	}
 }
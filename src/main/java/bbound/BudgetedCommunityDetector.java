@@ -0,0 +1,51 @@
+/*
+  @(#) BudgetedCommunityDetector.java	1.0,	08/07/2013
+  
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+  
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import graph.Community;
+import jung.IndexableUndirectedSparseGraph;
+import jung.StringIndexableVertex;
+
+/**
+ * This interface extends local community detection with a work budget: the detection
+ * stops when the deadline, the number of visited vertices or the number of evaluated edges
+ * of the budget is reached (see DetectionBudget), and returns the best community found so
+ * far. The detectors of this package implement it; components that bound the work of each
+ * detection (CoverBuilder, CommunityQueryServer, CachingCommunityDetector) require it.
+ * 
+ * @author Symeon Papadopoulos
+ *
+ */
+public interface BudgetedCommunityDetector<V extends StringIndexableVertex, E> extends LocalCommunityDetector<V,E> {
+
+	/**
+	 * Create a community containing the given seed node, performing at most the amount
+	 * of work allowed by the given budget. If the budget is exhausted before the detection
+	 * completes, the best community found so far is returned and flagged as truncated.
+	 * 
+	 * @param graph Input graph where the local community detection is applied.
+	 * @param seed Seed node for initiating the local community detection method.
+	 * @param budget Work budget (deadline, visited vertices, evaluated edges) of the call.
+	 * @return The identified (possibly truncated) community around the input seed node.
+	 */
+	public Community<V,E> getCommunity(IndexableUndirectedSparseGraph<V, E> graph, V seed, 
+			DetectionBudget budget);
+	
+}
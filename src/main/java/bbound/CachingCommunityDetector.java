@@ -0,0 +1,122 @@
+/*
+  @(#) CachingCommunityDetector.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import java.util.List;
+
+import graph.Community;
+import jung.IndexableUndirectedSparseGraph;
+import jung.StringIndexableVertex;
+
+/**
+ * LocalCommunityDetector that answers repeated queries from a CommunityCache and
+ * delegates to another detector on a miss. Entries are keyed by a configuration key
+ * and the seed id, and are invalidated as soon as the graph is modified. The key stands
+ * for the settings of the delegate detector, so it must change whenever they do: entries
+ * cached under a key are returned as long as the key is in use, even if the detector has
+ * been reconfigured since. Detectors with setters (e.g. ClausetCommunityDetector,
+ * LWPCommunityDetector) therefore need an explicit key that describes their settings,
+ * e.g. "clauset/k=50/weighted"; only those without (BridgeBoundingDetector,
+ * BagrowCommunityDetector) may be keyed by the detector object itself.
+ *
+ * Communities found by Bridge Bounding do not depend on the seed they were started
+ * from (any member leads to the same community), so for that detector a cached community
+ * answers the queries of all its members. Truncated results are never cached.
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class CachingCommunityDetector<V extends StringIndexableVertex, E> implements BudgetedCommunityDetector<V,E> {
+
+	private final BudgetedCommunityDetector<V,E> detector;
+	private final CommunityCache cache;
+	private final Object configuration;
+
+	/**
+	 * Cache the results of the given detector, using the detector object itself as
+	 * configuration key. This is only allowed for detectors whose settings are fixed at
+	 * construction, BridgeBoundingDetector and BagrowCommunityDetector.
+	 * @throws IllegalArgumentException If the detector has settings that may change.
+	 */
+	public CachingCommunityDetector(BudgetedCommunityDetector<V,E> detector, CommunityCache cache){
+		this(detector, cache, detector);
+		if (!(detector instanceof BridgeBoundingDetector || detector instanceof BagrowCommunityDetector)){
+			throw new IllegalArgumentException(detector.getClass().getSimpleName() +
+					" has settings that may change, a configuration key is required!");
+		}
+	}
+
+	/**
+	 * Cache the results of the given detector under the given configuration key, which
+	 * should describe the settings of the detector: entries are looked up by the key, so
+	 * a detector must not be reconfigured while its results are cached under the same key.
+	 * Detectors that are configured identically may share cache entries by using equal keys.
+	 */
+	public CachingCommunityDetector(BudgetedCommunityDetector<V,E> detector, CommunityCache cache,
+			Object configuration){
+		if (detector == null || cache == null || configuration == null){
+			throw new IllegalArgumentException("Detector, cache and configuration key should not be null!");
+		}
+		this.detector = detector;
+		this.cache = cache;
+		this.configuration = configuration;
+	}
+
+	public Community<V,E> getCommunity(
+			IndexableUndirectedSparseGraph<V, E> graph, V seed) {
+		return getCommunity(graph, seed, new DetectionBudget());
+	}
+
+	public Community<V,E> getCommunity(
+			IndexableUndirectedSparseGraph<V, E> graph, V seed, DetectionBudget budget) {
+		long version = graph.getVersion();
+		String[] members = cache.get(graph, version, configuration, seed.getID());
+		if (members != null){
+			Community<V,E> community = new Community<V,E>(1, graph);
+			for (int i = 0; i < members.length; i++){
+				community.addMemberByID(members[i]);
+			}
+			return community;
+		}
+
+		Community<V,E> community = detector.getCommunity(graph, seed, budget);
+		if (!community.isTruncated()){
+			List<String> memberList = community.getMembers();
+			members = memberList.toArray(new String[memberList.size()]);
+			String[] seeds = isSeedIndependent() && community.contains(seed) ?
+					members : new String[]{seed.getID()};
+			cache.put(graph, version, configuration, seeds, members);
+		}
+		return community;
+	}
+
+	public BudgetedCommunityDetector<V,E> getDetector() {
+		return detector;
+	}
+	public CommunityCache getCache() {
+		return cache;
+	}
+
+	/* Bridge Bounding communities are connected components of the graph that remains after
+	 * removing bridges, hence they are identical for all their members. */
+	private boolean isSeedIndependent(){
+		return detector instanceof BridgeBoundingDetector;
+	}
+}
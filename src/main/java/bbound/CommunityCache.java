@@ -0,0 +1,270 @@
+/*
+  @(#) CommunityCache.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Weight-bounded cache of local community detection results, keyed by a detector
+ * configuration and a seed id. The weight of an entry is proportional to the size of the
+ * cached community, so the capacity of the cache bounds (approximately) the memory held by
+ * the cached member lists.
+ *
+ * Eviction follows a segmented LRU policy: new entries enter a probation segment and are
+ * promoted to a protected segment when they are hit again, so that the heavy head of seeds
+ * that are queried repeatedly is not flushed by a burst of one-off queries.
+ *
+ * An entry may be registered under several seeds (e.g. all members of a Bridge Bounding
+ * community), in which case it is stored and weighed only once.
+ *
+ * All entries are tied to a graph and its version: as soon as the cache is accessed with
+ * a different graph or after the graph has been modified, its contents are discarded.
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class CommunityCache {
+
+	/* Fixed weight charged per entry on top of the member count. */
+	private static final int ENTRY_OVERHEAD = 1;
+
+	/* Share of the total capacity that is reserved for the protected segment. */
+	private static final double PROTECTED_RATIO = 0.8;
+
+	private final long maxWeight;
+	private final long maxProtectedWeight;
+
+	private final Map<Key, Entry> index = new HashMap<Key, Entry>();
+
+	/* Both segments are kept in LRU order (eldest first). */
+	private final LinkedHashMap<Entry, Entry> probation = new LinkedHashMap<Entry, Entry>();
+	private final LinkedHashMap<Entry, Entry> protectedSegment = new LinkedHashMap<Entry, Entry>();
+
+	private long probationWeight = 0;
+	private long protectedWeight = 0;
+
+	/* The graph (and its version) the cached entries refer to. */
+	private Object graph = null;
+	private long graphVersion = -1;
+
+	private long hits = 0;
+	private long misses = 0;
+	private long evictions = 0;
+
+	/**
+	 * @param maxWeight Capacity of the cache, expressed as the total number of community
+	 * members that may be held (plus one unit per entry).
+	 */
+	public CommunityCache(long maxWeight){
+		if (maxWeight < 1){
+			throw new IllegalArgumentException("The capacity of the cache should be a positive number!");
+		}
+		this.maxWeight = maxWeight;
+		this.maxProtectedWeight = (long)(maxWeight * PROTECTED_RATIO);
+	}
+
+	/**
+	 * Look up the members of the community cached for the given configuration and seed.
+	 *
+	 * @param graph Graph on which the lookup takes place.
+	 * @param version Current version of the graph.
+	 * @param configuration Key identifying the detector configuration.
+	 * @param seedID Id of the seed vertex.
+	 * @return The ids of the community members or null if there is no valid entry.
+	 */
+	public synchronized String[] get(Object graph, long version, Object configuration, String seedID){
+		validate(graph, version);
+		Entry entry = index.get(new Key(configuration, seedID));
+		if (entry == null){
+			misses++;
+			return null;
+		}
+		hits++;
+		if (entry.isProtected){
+			/* refresh LRU position */
+			protectedSegment.remove(entry);
+			protectedSegment.put(entry, entry);
+		} else {
+			probation.remove(entry);
+			probationWeight -= entry.weight;
+			entry.isProtected = true;
+			protectedSegment.put(entry, entry);
+			protectedWeight += entry.weight;
+			/* demote the least recently used protected entries if necessary */
+			Iterator<Entry> protectedIter = protectedSegment.keySet().iterator();
+			while ((protectedWeight > maxProtectedWeight) && protectedIter.hasNext()){
+				Entry demoted = protectedIter.next();
+				if (demoted == entry) break;
+				protectedIter.remove();
+				protectedWeight -= demoted.weight;
+				demoted.isProtected = false;
+				probation.put(demoted, demoted);
+				probationWeight += demoted.weight;
+			}
+		}
+		return entry.members;
+	}
+
+	/**
+	 * Cache the members of a community under the given configuration and seeds.
+	 *
+	 * @param graph Graph on which the community was detected.
+	 * @param version Version of the graph at the time of the detection.
+	 * @param configuration Key identifying the detector configuration.
+	 * @param seedIDs Ids of the seeds for which this community is the answer.
+	 * @param members Ids of the community members.
+	 */
+	public synchronized void put(Object graph, long version, Object configuration,
+			String[] seedIDs, String[] members){
+		validate(graph, version);
+		long weight = members.length + ENTRY_OVERHEAD;
+		if (weight > maxWeight){
+			return;
+		}
+		Entry entry = new Entry(configuration, seedIDs, members, weight);
+		for (int i = 0; i < seedIDs.length; i++){
+			Entry previous = index.put(new Key(configuration, seedIDs[i]), entry);
+			if (previous != null){
+				release(previous);
+			}
+		}
+		probation.put(entry, entry);
+		probationWeight += weight;
+		evict();
+	}
+
+	/**
+	 * Discard all cached entries.
+	 */
+	public synchronized void clear(){
+		index.clear();
+		probation.clear();
+		protectedSegment.clear();
+		probationWeight = 0;
+		protectedWeight = 0;
+	}
+
+	public synchronized long getWeight(){
+		return probationWeight + protectedWeight;
+	}
+	public long getMaxWeight(){
+		return maxWeight;
+	}
+	public synchronized int getNumberOfEntries(){
+		return probation.size() + protectedSegment.size();
+	}
+	public synchronized long getHits(){
+		return hits;
+	}
+	public synchronized long getMisses(){
+		return misses;
+	}
+	public synchronized long getEvictions(){
+		return evictions;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "entries: " + getNumberOfEntries() + ", weight: " + getWeight() + "/" + maxWeight +
+			", hits: " + hits + ", misses: " + misses + ", evictions: " + evictions;
+	}
+
+	/* Drop all entries if they refer to another graph or to an older version of the graph. */
+	private void validate(Object g, long version){
+		if ((g != graph) || (version != graphVersion)){
+			clear();
+			graph = g;
+			graphVersion = version;
+		}
+	}
+
+	/* Evict least recently used entries (probation first) until the cache fits its capacity. */
+	private void evict(){
+		while (probationWeight + protectedWeight > maxWeight){
+			LinkedHashMap<Entry, Entry> segment = probation.isEmpty() ? protectedSegment : probation;
+			Entry eldest = segment.keySet().iterator().next();
+			release(eldest);
+			evictions++;
+		}
+	}
+
+	/* Remove an entry from its segment and unregister the seeds that still point to it. */
+	private void release(Entry entry){
+		if (entry.isProtected){
+			if (protectedSegment.remove(entry) != null){
+				protectedWeight -= entry.weight;
+			}
+		} else {
+			if (probation.remove(entry) != null){
+				probationWeight -= entry.weight;
+			}
+		}
+		for (int i = 0; i < entry.seedIDs.length; i++){
+			Key key = new Key(entry.configuration, entry.seedIDs[i]);
+			if (index.get(key) == entry){
+				index.remove(key);
+			}
+		}
+	}
+
+
+	private static class Entry {
+		private final Object configuration;
+		private final String[] seedIDs;
+		private final String[] members;
+		private final long weight;
+		private boolean isProtected = false;
+
+		private Entry(Object configuration, String[] seedIDs, String[] members, long weight){
+			this.configuration = configuration;
+			this.seedIDs = seedIDs;
+			this.members = members;
+			this.weight = weight;
+		}
+	}
+
+	private static class Key {
+		private final Object configuration;
+		private final String seedID;
+
+		private Key(Object configuration, String seedID){
+			this.configuration = configuration;
+			this.seedID = seedID;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * configuration.hashCode() + seedID.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return configuration.equals(other.configuration) && seedID.equals(other.seedID);
+		}
+	}
+}
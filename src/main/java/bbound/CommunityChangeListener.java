@@ -0,0 +1,36 @@
+/*
+  @(#) CommunityChangeListener.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+/**
+ * Listener that is notified when a community tracked by a CommunityTracker changes.
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public interface CommunityChangeListener {
+
+	/**
+	 * Called after a graph update has changed the members of a tracked community.
+	 * @param delta The members that joined and left the community.
+	 */
+	public void communityChanged(CommunityDelta delta);
+
+}
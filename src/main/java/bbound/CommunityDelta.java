@@ -0,0 +1,63 @@
+/*
+  @(#) CommunityDelta.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import java.util.List;
+
+/**
+ * Describes the change of a tracked community after a graph update, in terms of
+ * the ids of the members that joined and left it.
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class CommunityDelta {
+
+	private final String seedID;
+	private final List<String> joined;
+	private final List<String> left;
+
+	public CommunityDelta(String seedID, List<String> joined, List<String> left){
+		this.seedID = seedID;
+		this.joined = joined;
+		this.left = left;
+	}
+
+	/**
+	 * @return The id of the seed that identifies the tracked community.
+	 */
+	public String getSeedID() {
+		return seedID;
+	}
+	public List<String> getJoined() {
+		return joined;
+	}
+	public List<String> getLeft() {
+		return left;
+	}
+	public boolean isEmpty(){
+		return joined.isEmpty() && left.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return "community of " + seedID + ": +" + joined + " -" + left;
+	}
+}
@@ -0,0 +1,577 @@
+/*
+  @(#) CommunityQueryServer.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import graph.Community;
+import jung.IndexableUndirectedSparseGraph;
+import jung.StringIndexableVertex;
+
+/**
+ * Small HTTP server (on the HttpServer of the JDK) that answers local community queries on
+ * a graph with the detectors registered under a name:
+ *
+ * - GET /community?detector=name&seed=id[&seed=id...][&timeout=ms] returns the members of
+ *   the community of the seed node(s) as JSON, together with whether the detection was
+ *   truncated; several seed nodes require a MultiSeedCommunityDetector. The detection runs
+ *   with a DetectionBudget whose deadline is the timeout (defaultTimeout if not given, at
+ *   most maxTimeout) counted from the arrival of the request, so slow queries return the
+ *   community found so far instead of holding their thread. Detectors check the deadline
+ *   between units of work, so a query may overshoot it by one unit (e.g. part of a 
+ *   modularity evaluation and a connectivity check for LWP), and by the time it waits for
+ *   a processor when more queries run than there are cores. Invalid requests are answered
+ *   with status 400 or 404 before any detection starts. Queries whose detector throws are
+ *   answered with status 500 and a generic message, counted as failed and passed to the 
+ *   error handler, if one is set (see setErrorHandler).
+ * - GET /stats returns, for each detector, the number of queries, truncated, rejected and
+ *   failed queries, and the percentiles of the latency of the last LATENCY_WINDOW queries
+ *   (failed ones included).
+ *
+ * Each request runs on its own thread: a virtual thread when the runtime supports them
+ * (Java 21 and later, looked up by reflection, as the code targets older versions), and a
+ * thread of a cached pool otherwise, so that fast queries never wait for a pool sized for
+ * slow ones. Detectors registered as heavy share a semaphore that bounds how many of their
+ * queries run at the same time; a heavy query waits for a permit until its deadline, and is
+ * rejected with status 503 if none becomes available. A query whose thread is interrupted
+ * while it waits (e.g. when the server stops) is answered with status 503 too, but counted
+ * as failed.
+ *
+ * The detectors keep their scratch state per thread, which virtual threads do not reuse,
+ * so each query allocates it anew; detectors with state as large as the graph may be better
+ * served by a pool of platform threads (see setExecutor). The graph and the configuration
+ * of the detectors should not be modified while the server runs.
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class CommunityQueryServer<V extends StringIndexableVertex, E> {
+
+	/* Default and maximum timeout of a query, in milliseconds. */
+	public static final long DEFAULT_TIMEOUT = 1000;
+	public static final long MAX_TIMEOUT = 60000;
+
+	/* Number of most recent queries per detector over which the percentiles are computed. */
+	public static final int LATENCY_WINDOW = 4096;
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private final IndexableUndirectedSparseGraph<V, E> graph;
+
+	private final Map<String, Endpoint<V,E>> endpoints = new ConcurrentHashMap<String, Endpoint<V,E>>();
+
+	private long defaultTimeout = DEFAULT_TIMEOUT;
+	private long maxTimeout = MAX_TIMEOUT;
+	private int maxHeavyQueries = Runtime.getRuntime().availableProcessors();
+	private Semaphore heavyQueries = null;
+
+	/* The executor of the requests, and whether it was created by the server. */
+	private ExecutorService executor = null;
+	private boolean ownExecutor = false;
+	private HttpServer server = null;
+
+	private volatile ErrorHandler errorHandler = null;
+
+	/**
+	 * Receives the exceptions of the failed queries, on the thread of the query.
+	 */
+	public interface ErrorHandler {
+		/**
+		 * @param detector The name of the detector of the query.
+		 * @param seedIDs The ids of the seed nodes of the query.
+		 * @param error The exception thrown by the detector.
+		 */
+		public void handleError(String detector, List<String> seedIDs, RuntimeException error);
+	}
+
+	public CommunityQueryServer(IndexableUndirectedSparseGraph<V, E> graph){
+		if (graph == null){
+			throw new IllegalArgumentException("The graph should not be null!");
+		}
+		this.graph = graph;
+	}
+
+	/**
+	 * Register a detector under a name.
+	 * @param heavy Whether the queries of the detector count against the bound of concurrent
+	 * heavy queries.
+	 */
+	public void addDetector(String name, BudgetedCommunityDetector<V,E> detector, boolean heavy){
+		addEndpoint(name, new Endpoint<V,E>(detector, null, heavy));
+	}
+
+	/**
+	 * Register a detector under a name; its queries may have several seed nodes.
+	 * @param heavy Whether the queries of the detector count against the bound of concurrent
+	 * heavy queries.
+	 */
+	public void addDetector(String name, MultiSeedCommunityDetector<V,E> detector, boolean heavy){
+		addEndpoint(name, new Endpoint<V,E>(detector, detector, heavy));
+	}
+
+	private void addEndpoint(String name, Endpoint<V,E> endpoint){
+		if (name == null || name.length() == 0){
+			throw new IllegalArgumentException("The name of the detector should not be empty!");
+		}
+		if (endpoint.detector == null){
+			throw new IllegalArgumentException("The detector should not be null!");
+		}
+		if (endpoints.putIfAbsent(name, endpoint) != null){
+			throw new IllegalArgumentException("A detector is already registered as " + name + "!");
+		}
+	}
+
+	public long getDefaultTimeout() {
+		return defaultTimeout;
+	}
+	/**
+	 * Set the timeout, in milliseconds, of the queries that do not specify one.
+	 */
+	public void setDefaultTimeout(long defaultTimeout) {
+		if (defaultTimeout < 0){
+			throw new IllegalArgumentException("Timeout should be a non-negative number!");
+		}
+		this.defaultTimeout = defaultTimeout;
+	}
+
+	public long getMaxTimeout() {
+		return maxTimeout;
+	}
+	/**
+	 * Set the largest timeout, in milliseconds, that a query may ask for.
+	 */
+	public void setMaxTimeout(long maxTimeout) {
+		if (maxTimeout < 0){
+			throw new IllegalArgumentException("Timeout should be a non-negative number!");
+		}
+		this.maxTimeout = maxTimeout;
+	}
+
+	public int getMaxHeavyQueries() {
+		return maxHeavyQueries;
+	}
+	/**
+	 * Set the number of heavy queries that may run at the same time (by default the number
+	 * of processors); it takes effect when the server starts.
+	 */
+	public void setMaxHeavyQueries(int maxHeavyQueries) {
+		if (maxHeavyQueries < 1){
+			throw new IllegalArgumentException("The maximum number of heavy queries should be a positive number!");
+		}
+		this.maxHeavyQueries = maxHeavyQueries;
+	}
+
+	public ErrorHandler getErrorHandler() {
+		return errorHandler;
+	}
+	/**
+	 * Set the handler of the exceptions of the failed queries (null, the default, for none);
+	 * failed queries are counted in the stats in any case.
+	 */
+	public void setErrorHandler(ErrorHandler errorHandler) {
+		this.errorHandler = errorHandler;
+	}
+
+	/**
+	 * Set the executor that runs the requests, instead of a thread per request; it is not
+	 * shut down when the server stops.
+	 */
+	public void setExecutor(ExecutorService executor) {
+		if (server != null){
+			throw new IllegalStateException("The server is already running!");
+		}
+		this.executor = executor;
+		this.ownExecutor = false;
+	}
+
+	/**
+	 * Start serving on the given port (0 for any free port).
+	 */
+	public void start(int port) throws IOException {
+		start(new InetSocketAddress(port));
+	}
+
+	public synchronized void start(InetSocketAddress address) throws IOException {
+		if (server != null){
+			throw new IllegalStateException("The server is already running!");
+		}
+		if (executor == null){
+			executor = newThreadPerRequestExecutor();
+			ownExecutor = true;
+		}
+		heavyQueries = new Semaphore(maxHeavyQueries);
+		server = HttpServer.create(address, 0);
+		server.createContext("/community", new HttpHandler(){
+			public void handle(HttpExchange exchange) throws IOException {
+				handleQuery(exchange);
+			}
+		});
+		server.createContext("/stats", new HttpHandler(){
+			public void handle(HttpExchange exchange) throws IOException {
+				handleStats(exchange);
+			}
+		});
+		server.setExecutor(executor);
+		server.start();
+	}
+
+	/**
+	 * Stop serving, waiting at most the given number of seconds for the requests in progress.
+	 */
+	public synchronized void stop(int delay){
+		if (server == null){
+			return;
+		}
+		server.stop(delay);
+		server = null;
+		if (ownExecutor){
+			executor.shutdown();
+			executor = null;
+			ownExecutor = false;
+		}
+	}
+
+	/**
+	 * @return The port the server listens to, -1 if it is not running.
+	 */
+	public synchronized int getPort(){
+		return (server == null) ? -1 : server.getAddress().getPort();
+	}
+
+	/**
+	 * @return The latency percentile (0 < p <= 1), in milliseconds, of the most recent
+	 * queries of a detector, 0 if it has answered no query.
+	 */
+	public double getLatencyPercentile(String name, double p){
+		Endpoint<V,E> endpoint = endpoints.get(name);
+		if (endpoint == null){
+			throw new IllegalArgumentException("No detector is registered as " + name + "!");
+		}
+		if (p <= 0 || p > 1){
+			throw new IllegalArgumentException("The percentile should be in (0, 1]!");
+		}
+		return endpoint.latencies.getPercentiles(new double[]{p})[0] / 1e6;
+	}
+
+	/**
+	 * @return An executor that runs each task on a new virtual thread if the runtime
+	 * supports them, or a cached thread pool otherwise.
+	 */
+	public static ExecutorService newThreadPerRequestExecutor(){
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService)factory.invoke(null);
+		} catch (Exception e){
+			/* virtual threads are not available before Java 21 */
+			return Executors.newCachedThreadPool();
+		}
+	}
+
+	private void handleQuery(HttpExchange exchange) throws IOException {
+		long arrival = System.nanoTime();
+		Endpoint<V,E> endpoint = null;
+		String name = null;
+		List<String> seedIDs = null;
+		try {
+			Map<String, List<String>> parameters;
+			try {
+				parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+			} catch (IllegalArgumentException e){
+				/* an invalid escape sequence */
+				sendError(exchange, 400, "Malformed query");
+				return;
+			}
+			name = getParameter(parameters, "detector");
+			endpoint = (name == null) ? null : endpoints.get(name);
+			if (endpoint == null){
+				sendError(exchange, 404, "Unknown detector: " + name);
+				return;
+			}
+			seedIDs = parameters.get("seed");
+			if (seedIDs == null || seedIDs.isEmpty()){
+				sendError(exchange, 400, "No seed node given");
+				return;
+			}
+			if (seedIDs.size() > 1 && endpoint.multiSeedDetector == null){
+				sendError(exchange, 400, "The detector " + name + " accepts a single seed node");
+				return;
+			}
+			long timeout = defaultTimeout;
+			String timeoutParameter = getParameter(parameters, "timeout");
+			if (timeoutParameter != null){
+				try {
+					timeout = Long.parseLong(timeoutParameter);
+				} catch (NumberFormatException e){
+					timeout = -1;
+				}
+				if (timeout < 0){
+					sendError(exchange, 400, "Invalid timeout: " + timeoutParameter);
+					return;
+				}
+			}
+			long deadline = arrival + TimeUnit.MILLISECONDS.toNanos(Math.min(timeout, maxTimeout));
+			List<V> seeds = new ArrayList<V>(seedIDs.size());
+			for (int i = 0; i < seedIDs.size(); i++){
+				V seed = graph.getVertex(seedIDs.get(i));
+				if (seed == null){
+					sendError(exchange, 404, "Unknown seed node: " + seedIDs.get(i));
+					return;
+				}
+				seeds.add(seed);
+			}
+
+			Community<V,E> community;
+			if (endpoint.heavy){
+				boolean acquired;
+				try {
+					acquired = heavyQueries.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+				} catch (InterruptedException e){
+					Thread.currentThread().interrupt();
+					endpoint.latencies.record(System.nanoTime() - arrival, false, true);
+					sendError(exchange, 503, "Interrupted");
+					return;
+				}
+				if (!acquired){
+					endpoint.latencies.reject();
+					sendError(exchange, 503, "Too many heavy queries");
+					return;
+				}
+				try {
+					community = detect(endpoint, seeds, deadline);
+				} finally {
+					heavyQueries.release();
+				}
+			} else {
+				community = detect(endpoint, seeds, deadline);
+			}
+			long latency = System.nanoTime() - arrival;
+			endpoint.latencies.record(latency, community.isTruncated(), false);
+
+			StringBuilder json = new StringBuilder();
+			json.append("{\"detector\":");
+			appendString(json, name);
+			json.append(",\"members\":[");
+			List<String> members = community.getMembers();
+			for (int i = 0; i < members.size(); i++){
+				if (i > 0) json.append(',');
+				appendString(json, members.get(i));
+			}
+			json.append("],\"truncated\":").append(community.isTruncated());
+			json.append(",\"millis\":").append(latency / 1e6).append('}');
+			send(exchange, 200, json.toString());
+		} catch (RuntimeException e){
+			/* the details stay on the server */
+			if (endpoint != null){
+				endpoint.latencies.record(System.nanoTime() - arrival, false, true);
+			}
+			ErrorHandler handler = errorHandler;
+			try {
+				if (handler != null){
+					handler.handleError(name, seedIDs, e);
+				}
+			} finally {
+				sendError(exchange, 500, "Internal error");
+			}
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private Community<V,E> detect(Endpoint<V,E> endpoint, List<V> seeds, long deadline){
+		DetectionBudget budget = new DetectionBudget();
+		budget.setDeadline(deadline);
+		if (seeds.size() > 1){
+			return endpoint.multiSeedDetector.getCommunity(graph, seeds, budget);
+		}
+		return endpoint.detector.getCommunity(graph, seeds.get(0), budget);
+	}
+
+	private void handleStats(HttpExchange exchange) throws IOException {
+		try {
+			double[] percentiles = {0.5, 0.9, 0.99, 1};
+			List<String> names = new ArrayList<String>(endpoints.keySet());
+			Collections.sort(names);
+			StringBuilder json = new StringBuilder();
+			json.append("{\"executor\":");
+			appendString(json, (executor == null) ? "" : executor.getClass().getName());
+			json.append(",\"detectors\":{");
+			for (int i = 0; i < names.size(); i++){
+				LatencyWindow latencies = endpoints.get(names.get(i)).latencies;
+				double[] values;
+				long[] counts;
+				synchronized (latencies){
+					values = latencies.getPercentiles(percentiles);
+					counts = new long[]{latencies.count, latencies.truncated, latencies.rejected, latencies.failed};
+				}
+				if (i > 0) json.append(',');
+				appendString(json, names.get(i));
+				json.append(":{\"count\":").append(counts[0]);
+				json.append(",\"truncated\":").append(counts[1]);
+				json.append(",\"rejected\":").append(counts[2]);
+				json.append(",\"failed\":").append(counts[3]);
+				json.append(",\"p50\":").append(values[0] / 1e6);
+				json.append(",\"p90\":").append(values[1] / 1e6);
+				json.append(",\"p99\":").append(values[2] / 1e6);
+				json.append(",\"max\":").append(values[3] / 1e6).append('}');
+			}
+			json.append("}}");
+			send(exchange, 200, json.toString());
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private static Map<String, List<String>> parseQuery(String query){
+		Map<String, List<String>> parameters = new HashMap<String, List<String>>();
+		if (query == null){
+			return parameters;
+		}
+		String[] pairs = query.split("&");
+		for (int i = 0; i < pairs.length; i++){
+			if (pairs[i].length() == 0) continue;
+			int separator = pairs[i].indexOf('=');
+			String key = decode((separator < 0) ? pairs[i] : pairs[i].substring(0, separator));
+			String value = (separator < 0) ? "" : decode(pairs[i].substring(separator + 1));
+			List<String> values = parameters.get(key);
+			if (values == null){
+				values = new ArrayList<String>();
+				parameters.put(key, values);
+			}
+			values.add(value);
+		}
+		return parameters;
+	}
+
+	private static String decode(String s){
+		try {
+			return URLDecoder.decode(s, "UTF-8");
+		} catch (UnsupportedEncodingException e){
+			/* UTF-8 is always supported */
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String getParameter(Map<String, List<String>> parameters, String key){
+		List<String> values = parameters.get(key);
+		return (values == null || values.isEmpty()) ? null : values.get(0);
+	}
+
+	private static void appendString(StringBuilder json, String s){
+		json.append('"');
+		for (int i = 0; i < s.length(); i++){
+			char c = s.charAt(i);
+			if (c == '"' || c == '\\'){
+				json.append('\\').append(c);
+			} else if (c < 0x20){
+				json.append(String.format("\\u%04x", (int)c));
+			} else {
+				json.append(c);
+			}
+		}
+		json.append('"');
+	}
+
+	private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+		StringBuilder json = new StringBuilder("{\"error\":");
+		appendString(json, (message == null) ? "" : message);
+		json.append('}');
+		send(exchange, status, json.toString());
+	}
+
+	private static void send(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] bytes = body.getBytes(UTF8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+		exchange.sendResponseHeaders(status, bytes.length);
+		OutputStream out = exchange.getResponseBody();
+		out.write(bytes);
+		out.close();
+	}
+
+	/* A registered detector and the latencies of its queries. */
+	private static class Endpoint<V extends StringIndexableVertex, E> {
+		final BudgetedCommunityDetector<V,E> detector;
+		/* The detector, if it accepts several seed nodes, null otherwise. */
+		final MultiSeedCommunityDetector<V,E> multiSeedDetector;
+		final boolean heavy;
+		final LatencyWindow latencies = new LatencyWindow();
+
+		Endpoint(BudgetedCommunityDetector<V,E> detector, MultiSeedCommunityDetector<V,E> multiSeedDetector,
+				boolean heavy){
+			this.detector = detector;
+			this.multiSeedDetector = multiSeedDetector;
+			this.heavy = heavy;
+		}
+	}
+
+	/* Latencies (in nanoseconds) of the most recent queries, in a circular buffer. Failed
+	 * queries are included, rejected ones (which did not run) are only counted. */
+	private static class LatencyWindow {
+		private final long[] latencies = new long[LATENCY_WINDOW];
+		long count = 0;
+		long truncated = 0;
+		long rejected = 0;
+		long failed = 0;
+
+		synchronized void record(long latency, boolean wasTruncated, boolean hasFailed){
+			latencies[(int)(count % LATENCY_WINDOW)] = latency;
+			count++;
+			if (wasTruncated) truncated++;
+			if (hasFailed) failed++;
+		}
+
+		synchronized void reject(){
+			rejected++;
+		}
+
+		/* The latencies at the given percentiles (nearest rank), 0 if there are none. */
+		synchronized double[] getPercentiles(double[] percentiles){
+			int size = (int)Math.min(count, LATENCY_WINDOW);
+			long[] sorted = Arrays.copyOf(latencies, size);
+			Arrays.sort(sorted);
+			double[] values = new double[percentiles.length];
+			for (int i = 0; i < percentiles.length && size > 0; i++){
+				int rank = (int)Math.ceil(percentiles[i] * size);
+				values[i] = sorted[Math.min(size, Math.max(1, rank)) - 1];
+			}
+			return values;
+		}
+	}
+}
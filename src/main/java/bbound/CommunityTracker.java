@@ -0,0 +1,322 @@
+/*
+  @(#) CommunityTracker.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import graph.Community;
+import jung.GraphUpdateListener;
+import jung.IndexableUndirectedSparseGraph;
+import jung.StringIndexableVertex;
+
+/**
+ * Maintains a set of Bridge Bounding communities while the underlying graph receives
+ * edge updates, without periodically recomputing all of them.
+ *
+ * A Bridge Bounding community is the connected component of its seed in the graph that
+ * remains after removing the edges whose bridging value exceeds the threshold. It can
+ * therefore only change when the classification (bridge or not) of an edge touching one
+ * of its members changes: an edge turning into a bridge may split the community, while an
+ * edge turning into a non-bridge may merge it with its surroundings. The tracker remembers
+ * the classification of the edges touching tracked members; after each update it
+ * re-classifies only the edges whose bridging value may have changed, and recomputes only
+ * the communities touching an edge that crossed the threshold. Registered listeners receive
+ * the resulting changes as CommunityDelta events.
+ *
+ * The tracker relies on an IncrementalMeasuresMaintainer to keep the bridging values
+ * up-to-date; it has to be created after the maintainer, so that it is notified about
+ * graph updates after the maintainer has processed them.
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class CommunityTracker<V extends StringIndexableVertex, E> implements GraphUpdateListener<V,E> {
+
+	private final IndexableUndirectedSparseGraph<V, E> graph;
+	private final EdgeMeasure measure;
+	private final double threshold;
+	private final BridgeBoundingDetector<V,E> detector;
+	private final NetworkTopologyMeasuresCalculator<V,E> calculator;
+
+	/* Members of the tracked communities, by seed id. */
+	private final Map<String, Set<String>> communities = new HashMap<String, Set<String>>();
+
+	/* Seeds of the tracked communities that contain a vertex, by vertex id. */
+	private final Map<String, List<String>> memberships = new HashMap<String, List<String>>();
+
+	/* Last known classification (true for non-bridges) of the edges touching tracked members. */
+	private final Map<E, Boolean> internalEdges = new HashMap<E, Boolean>();
+
+	private final List<CommunityChangeListener> listeners = new ArrayList<CommunityChangeListener>(2);
+
+	private long recomputations = 0;
+
+	/**
+	 * Create a tracker and register it with the graph of the maintainer.
+	 *
+	 * @param maintainer Maintainer of the bridging values of the graph.
+	 * @param threshold Bridging threshold of the tracked Bridge Bounding communities.
+	 */
+	public CommunityTracker(IncrementalMeasuresMaintainer<V,E> maintainer, double threshold){
+		this.graph = maintainer.getGraph();
+		this.measure = maintainer.getMeasure();
+		this.threshold = threshold;
+		this.detector = new BridgeBoundingDetector<V,E>(measure, threshold);
+		this.calculator = new NetworkTopologyMeasuresCalculator<V,E>(graph, measure);
+		graph.addGraphUpdateListener(this);
+	}
+
+	/**
+	 * Stop listening to updates of the graph.
+	 */
+	public void detach(){
+		graph.removeGraphUpdateListener(this);
+	}
+
+	public void addCommunityChangeListener(CommunityChangeListener listener){
+		listeners.add(listener);
+	}
+	public void removeCommunityChangeListener(CommunityChangeListener listener){
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Start tracking the community of the given seed.
+	 * @param seed
+	 * @return The current community of the seed.
+	 */
+	public Community<V,E> track(V seed){
+		if (!communities.containsKey(seed.getID())){
+			Set<String> members = new HashSet<String>(detector.getCommunity(graph, seed).getMembers());
+			communities.put(seed.getID(), members);
+			addMemberships(seed.getID(), members);
+			recomputations++;
+		}
+		return getCommunity(seed.getID());
+	}
+
+	/**
+	 * Stop tracking the community of the given seed.
+	 * @param seedID
+	 */
+	public void untrack(String seedID){
+		Set<String> members = communities.remove(seedID);
+		if (members != null){
+			removeMemberships(seedID, members);
+		}
+	}
+
+	/**
+	 * Get the current state of a tracked community.
+	 * @param seedID
+	 * @return The community or null if no community is tracked for the given seed.
+	 */
+	public Community<V,E> getCommunity(String seedID){
+		Set<String> members = communities.get(seedID);
+		if (members == null){
+			return null;
+		}
+		Community<V,E> community = new Community<V,E>(1, graph);
+		Iterator<String> mIter = members.iterator();
+		while (mIter.hasNext()){
+			String memberID = mIter.next();
+			if (graph.getVertex(memberID) != null){
+				community.addMemberByID(memberID);
+			}
+		}
+		return community;
+	}
+
+	public Set<String> getTrackedSeeds(){
+		return new HashSet<String>(communities.keySet());
+	}
+	public int getNumberOfTrackedCommunities(){
+		return communities.size();
+	}
+
+	/**
+	 * @return The number of community (re)computations performed so far.
+	 */
+	public long getNumberOfRecomputations(){
+		return recomputations;
+	}
+
+	public void edgeAdded(E edge, V v1, V v2) {
+		if (communities.isEmpty()) return;
+		Set<String> dirty = new LinkedHashSet<String>();
+		reclassifyAffectedEdges(v1, v2, dirty);
+		recompute(dirty);
+	}
+
+	public void edgeRemoved(E edge, V v1, V v2) {
+		if (communities.isEmpty()) return;
+		Set<String> dirty = new LinkedHashSet<String>();
+		Boolean wasInternal = internalEdges.remove(edge);
+		if ((wasInternal != null) && wasInternal){
+			/* the community may have lost its only internal path between v1 and v2 */
+			markDirty(v1, dirty);
+			markDirty(v2, dirty);
+		}
+		reclassifyAffectedEdges(v1, v2, dirty);
+		recompute(dirty);
+	}
+
+	/* Re-classify the edges whose bridging value may have changed after an update of edge
+	 * (v1,v2) and mark the communities touching an edge that crossed the threshold. */
+	private void reclassifyAffectedEdges(V v1, V v2, Set<String> dirty){
+		Set<V> centers = new LinkedHashSet<V>();
+		centers.add(v1);
+		centers.add(v2);
+		if (!measure.isLocal()){
+			/* e.g. ELB2 of an edge depends on the ELB of the edges around its endpoints */
+			centers.addAll(graph.getNeighbors(v1));
+			centers.addAll(graph.getNeighbors(v2));
+		}
+		Iterator<V> cIter = centers.iterator();
+		while (cIter.hasNext()){
+			V u = cIter.next();
+			boolean uTracked = memberships.containsKey(u.getID());
+			Iterator<E> eIter = graph.getIncidentEdges(u).iterator();
+			while (eIter.hasNext()){
+				E e = eIter.next();
+				V w = graph.getOpposite(u, e);
+				if (!uTracked && !memberships.containsKey(w.getID())) continue;
+				boolean internal = calculator.calculateMeasure(e) <= threshold;
+				Boolean before = internalEdges.put(e, internal);
+				if ((before == null) ? internal : (before.booleanValue() != internal)){
+					markDirty(u, dirty);
+					markDirty(w, dirty);
+				}
+			}
+		}
+	}
+
+	private void markDirty(V v, Set<String> dirty){
+		List<String> seeds = memberships.get(v.getID());
+		if (seeds != null){
+			dirty.addAll(seeds);
+		}
+	}
+
+	/* Recompute the given communities and notify the listeners about their changes. */
+	private void recompute(Set<String> dirty){
+		/* communities recomputed in this round; a seed that belongs to one of them shares it */
+		List<Set<String>> fresh = new ArrayList<Set<String>>(dirty.size());
+		Iterator<String> dIter = dirty.iterator();
+		while (dIter.hasNext()){
+			String seedID = dIter.next();
+			Set<String> oldMembers = communities.get(seedID);
+			Set<String> newMembers = null;
+			for (int i = 0; i < fresh.size() && newMembers == null; i++){
+				if (fresh.get(i).contains(seedID)){
+					newMembers = fresh.get(i);
+				}
+			}
+			if (newMembers == null){
+				V seed = graph.getVertex(seedID);
+				if (seed == null){
+					newMembers = new HashSet<String>();
+				} else {
+					newMembers = new HashSet<String>(detector.getCommunity(graph, seed).getMembers());
+					recomputations++;
+				}
+				fresh.add(newMembers);
+			}
+
+			List<String> joined = new ArrayList<String>();
+			List<String> left = new ArrayList<String>();
+			Iterator<String> mIter = newMembers.iterator();
+			while (mIter.hasNext()){
+				String memberID = mIter.next();
+				if (!oldMembers.contains(memberID)) joined.add(memberID);
+			}
+			mIter = oldMembers.iterator();
+			while (mIter.hasNext()){
+				String memberID = mIter.next();
+				if (!newMembers.contains(memberID)) left.add(memberID);
+			}
+			if (joined.isEmpty() && left.isEmpty()){
+				continue;
+			}
+
+			communities.put(seedID, newMembers);
+			addMemberships(seedID, joined);
+			removeMemberships(seedID, left);
+
+			CommunityDelta delta = new CommunityDelta(seedID, joined, left);
+			for (int i = 0; i < listeners.size(); i++){
+				listeners.get(i).communityChanged(delta);
+			}
+		}
+	}
+
+	/* Register the seed with the given members and remember the classification of their edges. */
+	private void addMemberships(String seedID, Iterable<String> members){
+		Iterator<String> mIter = members.iterator();
+		while (mIter.hasNext()){
+			String memberID = mIter.next();
+			List<String> seeds = memberships.get(memberID);
+			if (seeds == null){
+				seeds = new ArrayList<String>(1);
+				memberships.put(memberID, seeds);
+			}
+			seeds.add(seedID);
+			V member = graph.getVertex(memberID);
+			if (member == null) continue;
+			Iterator<E> eIter = graph.getIncidentEdges(member).iterator();
+			while (eIter.hasNext()){
+				E e = eIter.next();
+				if (!internalEdges.containsKey(e)){
+					internalEdges.put(e, calculator.calculateMeasure(e) <= threshold);
+				}
+			}
+		}
+	}
+
+	/* Unregister the seed from the given members and forget the edges that no longer touch
+	 * any tracked member. */
+	private void removeMemberships(String seedID, Iterable<String> members){
+		Iterator<String> mIter = members.iterator();
+		while (mIter.hasNext()){
+			String memberID = mIter.next();
+			List<String> seeds = memberships.get(memberID);
+			if (seeds == null) continue;
+			seeds.remove(seedID);
+			if (!seeds.isEmpty()) continue;
+			memberships.remove(memberID);
+			V member = graph.getVertex(memberID);
+			if (member == null) continue;
+			Iterator<E> eIter = graph.getIncidentEdges(member).iterator();
+			while (eIter.hasNext()){
+				E e = eIter.next();
+				if (!memberships.containsKey(graph.getOpposite(member, e).getID())){
+					internalEdges.remove(e);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,150 @@
+/*
+  @(#) ConductanceSweep.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import jung.IndexableGraph;
+import util.SparseVector;
+import util.VertexMarker;
+
+/**
+ * Sweep cut of a diffusion vector, shared by the diffusion-based detectors: the vertices
+ * with a positive value p(u) are sorted by decreasing p(u)/d(u), and the community is the
+ * prefix of minimum conductance among the prefixes that contain the seeds. The conductance
+ * of a set S is cut(S)/min(vol(S), vol(G)-vol(S)), where vol is the sum of degrees. The
+ * graph is treated as unweighted.
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+final class ConductanceSweep {
+
+	private static final ThreadLocal<VertexMarker> SWEPT = new ThreadLocal<VertexMarker>(){
+		protected VertexMarker initialValue(){
+			return new VertexMarker();
+		}
+	};
+
+	private ConductanceSweep(){
+	}
+
+	/**
+	 * @return The vertices with a positive value, in decreasing order of value per degree.
+	 */
+	static int[] getOrder(IndexableGraph<?,?> graph, SparseVector values){
+		final int[] vertices = new int[values.size()];
+		final double[] ratios = new double[values.size()];
+		int count = 0;
+		for (int i = 0; i < values.size(); i++){
+			double value = values.getValueAt(i);
+			if (value > 0){
+				int v = values.getIndex(i);
+				vertices[count] = v;
+				ratios[count++] = value / graph.getDegreeByIndex(v);
+			}
+		}
+		Integer[] positions = new Integer[count];
+		for (int i = 0; i < count; i++){
+			positions[i] = i;
+		}
+		/* ties are broken by vertex index */
+		Arrays.sort(positions, new Comparator<Integer>(){
+			public int compare(Integer i1, Integer i2){
+				int c = Double.compare(ratios[i2], ratios[i1]);
+				return (c != 0) ? c : Integer.compare(vertices[i1], vertices[i2]);
+			}
+		});
+		int[] order = new int[count];
+		for (int i = 0; i < count; i++){
+			order[i] = vertices[positions[i]];
+		}
+		return order;
+	}
+
+	/**
+	 * Find the prefix of minimum conductance of the order that contains all the seeds that
+	 * appear in the order. Each step counts the degree of the vertex as evaluated edges, and
+	 * the sweep stops when the budget is exhausted.
+	 * @param seeds Sorted seed indices.
+	 * @param order Sweep order; if no prefix qualifies, the seeds in it are moved to its front.
+	 * @return The length of the prefix, 0 if no seed appears in the order.
+	 */
+	static int sweep(IndexableGraph<?,?> graph, int[] seeds, int[] order, DetectionBudget budget){
+		int seedsInOrder = 0;
+		for (int k = 0; k < order.length; k++){
+			if (Arrays.binarySearch(seeds, order[k]) >= 0){
+				seedsInOrder++;
+			}
+		}
+		if (seedsInOrder == 0){
+			return 0;
+		}
+		VertexMarker swept = SWEPT.get();
+		swept.reset(graph.getVertexIndexBound());
+		long totalVolume = 2L * graph.getEdgeCount();
+		long volume = 0;
+		long cut = 0;
+		int seedsSwept = 0;
+		double bestConductance = Double.POSITIVE_INFINITY;
+		int bestSize = 0;
+		for (int k = 0; k < order.length; k++){
+			if (budget.isExhausted()){
+				break;
+			}
+			int v = order[k];
+			int degree = graph.getDegreeByIndex(v);
+			budget.evaluateEdges(degree);
+			int internal = 0;
+			for (int p = 0; p < degree; p++){
+				if (swept.isMarked(graph.getNeighborIndex(v, p))){
+					internal++;
+				}
+			}
+			swept.mark(v);
+			volume += degree;
+			cut += degree - 2*internal;
+			if (Arrays.binarySearch(seeds, v) >= 0){
+				seedsSwept++;
+			}
+			long complement = Math.min(volume, totalVolume - volume);
+			if (complement <= 0){
+				break;
+			}
+			double conductance = (double)cut / complement;
+			if (seedsSwept == seedsInOrder && conductance < bestConductance){
+				bestConductance = conductance;
+				bestSize = k + 1;
+			}
+		}
+		if (bestSize == 0){
+			/* the seeds were not all reached by the sweep */
+			for (int k = 0; k < order.length; k++){
+				if (Arrays.binarySearch(seeds, order[k]) >= 0){
+					int v = order[k];
+					order[k] = order[bestSize];
+					order[bestSize++] = v;
+				}
+			}
+		}
+		return bestSize;
+	}
+}
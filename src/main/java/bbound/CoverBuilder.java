@@ -0,0 +1,518 @@
+/*
+  @(#) CoverBuilder.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import graph.Community;
+import graph.CommunityCover;
+import graph.CompactCommunity;
+import jung.IndexableGraph;
+import jung.IndexableUndirectedSparseGraph;
+import jung.StringIndexableVertex;
+import jung.VertexOrdering;
+import util.IntArrayList;
+import util.IntersectionKernel;
+import util.MinHashIndex;
+
+/**
+ * Builds an overlapping cover of a graph (see CommunityCover) by running a local community
+ * detector from many seeds concurrently. Seeds are taken in decreasing order of degree;
+ * with SeedSelection.UNCOVERED_FIRST, a seed is skipped if it already belongs to an accepted
+ * community, so that the whole graph is covered with about one detection per community.
+ *
+ * With SeedSelection.COST, seeds are scheduled in decreasing order of their estimated cost
+ * (see estimateCost()), since the cost of greedy expansions such as Clauset and LWP grows
+ * with the size of the 2-hop neighbourhood of the seed. The workers take the next seed from
+ * a shared cursor, so an expensive seed that is scheduled first runs alongside many cheap
+ * ones, instead of being left for the end, where it would keep a single thread busy while
+ * the others are idle. A seed is skipped if it has been absorbed by an accepted community
+ * with high confidence, i.e. if the community also contains at least a given fraction of
+ * its neighbours (see setAbsorptionConfidence()); seeds on the boundary of the accepted
+ * communities are still expanded, as they may lead to overlapping communities. The
+ * estimated cost of the skipped seeds is reported as the work saved by the build.
+ *
+ * Local detections from different seeds of the same community often return (nearly) the same
+ * members. A detected community is dropped if its Jaccard similarity with an accepted one is
+ * at least the similarity threshold. The comparison is not made against every accepted
+ * community: the MinHash signatures of the accepted communities are indexed by LSH (see
+ * MinHashIndex), and only the candidates of the index are compared exactly, by intersecting
+ * the sorted member indices.
+ *
+ * The detector is shared by the worker threads, so its getCommunity() methods should be safe
+ * to call concurrently on a graph that is not modified (the detectors of this package are).
+ * With more than one thread, which of two near-duplicate communities is kept, and which
+ * seeds are skipped, depends on the timing of the threads; the communities of the cover
+ * are in the order of their seeds.
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class CoverBuilder<V extends StringIndexableVertex, E> {
+
+	/**
+	 * Strategies for choosing the seeds of a cover.
+	 */
+	public enum SeedSelection {
+		/* Every vertex, in decreasing order of degree. */
+		DEGREE,
+		/* Vertices in decreasing order of degree, skipping those already covered. */
+		UNCOVERED_FIRST,
+		/* Vertices in decreasing order of estimated cost, skipping those absorbed. */
+		COST
+	}
+
+	private final BudgetedCommunityDetector<V, E> detector;
+
+	private SeedSelection seedSelection = SeedSelection.UNCOVERED_FIRST;
+	private int numberOfThreads = Runtime.getRuntime().availableProcessors();
+	private int maxSeeds = Integer.MAX_VALUE;
+	private int minimumSize = 1;
+	private double similarityThreshold = 0.9;
+	private boolean compressed = false;
+	private double absorptionConfidence = 0.5;
+
+	/* Signatures of 20 bands of 5 rows (see MinHashIndex). */
+	private int bands = 20;
+	private int rows = 5;
+	private long hashSeed = 0x9E3779B97F4A7C15L;
+
+	/* Per-seed limits of the detections. */
+	private long seedTimeoutNanos = DetectionBudget.UNLIMITED;
+	private long maxVisitedVerticesPerSeed = DetectionBudget.UNLIMITED;
+	private long maxEvaluatedEdgesPerSeed = DetectionBudget.UNLIMITED;
+
+	/* Statistics of the most recent build. */
+	private int detections = 0;
+	private int skippedSeeds = 0;
+	private int duplicates = 0;
+	private int undersized = 0;
+	private long estimatedCost = 0;
+	private long estimatedSavings = 0;
+	private long evaluatedEdges = 0;
+
+	public CoverBuilder(BudgetedCommunityDetector<V, E> detector){
+		this.detector = detector;
+	}
+
+	public BudgetedCommunityDetector<V, E> getDetector(){
+		return detector;
+	}
+
+	public SeedSelection getSeedSelection() {
+		return seedSelection;
+	}
+	public void setSeedSelection(SeedSelection seedSelection) {
+		this.seedSelection = seedSelection;
+	}
+
+	public int getNumberOfThreads() {
+		return numberOfThreads;
+	}
+	public void setNumberOfThreads(int numberOfThreads) {
+		if (numberOfThreads < 1){
+			throw new IllegalArgumentException("The number of threads should be a positive number!");
+		}
+		this.numberOfThreads = numberOfThreads;
+	}
+
+	public int getMaxSeeds() {
+		return maxSeeds;
+	}
+	/**
+	 * Limit the number of seeds, i.e. only the first maxSeeds vertices in the order of the
+	 * seed selection (by degree or by cost) are considered as seeds.
+	 */
+	public void setMaxSeeds(int maxSeeds) {
+		if (maxSeeds < 0){
+			throw new IllegalArgumentException("The maximum number of seeds should be non-negative!");
+		}
+		this.maxSeeds = maxSeeds;
+	}
+
+	public int getMinimumSize() {
+		return minimumSize;
+	}
+	/**
+	 * Set the minimum number of members of the communities of the cover; smaller detected
+	 * communities are dropped.
+	 */
+	public void setMinimumSize(int minimumSize) {
+		this.minimumSize = minimumSize;
+	}
+
+	public double getSimilarityThreshold() {
+		return similarityThreshold;
+	}
+	/**
+	 * Set the Jaccard similarity above which a detected community is considered a duplicate
+	 * of an accepted one. A threshold of 1 only drops identical communities.
+	 */
+	public void setSimilarityThreshold(double similarityThreshold) {
+		if (similarityThreshold <= 0 || similarityThreshold > 1){
+			throw new IllegalArgumentException("The similarity threshold should be in (0, 1]!");
+		}
+		this.similarityThreshold = similarityThreshold;
+	}
+
+	/**
+	 * Set the shape of the MinHash signatures. The probability that a pair of communities
+	 * with similarity J is compared exactly is 1-(1-J^rows)^bands.
+	 */
+	public void setSignature(int bands, int rows, long hashSeed){
+		if (bands < 1 || rows < 1){
+			throw new IllegalArgumentException("The numbers of bands and rows should be positive!");
+		}
+		this.bands = bands;
+		this.rows = rows;
+		this.hashSeed = hashSeed;
+	}
+
+	public boolean isCompressed() {
+		return compressed;
+	}
+	/**
+	 * Set whether the member indices of the communities of the cover are compressed
+	 * (see CompactCommunity).
+	 */
+	public void setCompressed(boolean compressed) {
+		this.compressed = compressed;
+	}
+
+	public double getAbsorptionConfidence() {
+		return absorptionConfidence;
+	}
+	/**
+	 * Set the fraction of its neighbours that an accepted community should contain, along
+	 * with a seed, for the seed to be skipped by SeedSelection.COST. With 0, every covered
+	 * seed is skipped (as with UNCOVERED_FIRST).
+	 */
+	public void setAbsorptionConfidence(double absorptionConfidence) {
+		if (absorptionConfidence < 0 || absorptionConfidence > 1){
+			throw new IllegalArgumentException("The absorption confidence should be in [0, 1]!");
+		}
+		this.absorptionConfidence = absorptionConfidence;
+	}
+
+	/**
+	 * Limit the time of each detection.
+	 */
+	public void setSeedTimeout(long timeout, TimeUnit unit){
+		if (timeout < 0){
+			throw new IllegalArgumentException("Timeout should be a non-negative number!");
+		}
+		this.seedTimeoutNanos = unit.toNanos(timeout);
+	}
+	/**
+	 * Limit the work of each detection (see DetectionBudget).
+	 */
+	public void setSeedBudget(long maxVisitedVertices, long maxEvaluatedEdges){
+		if (maxVisitedVertices < 0 || maxEvaluatedEdges < 0){
+			throw new IllegalArgumentException("The limits of the budget should be non-negative!");
+		}
+		this.maxVisitedVerticesPerSeed = maxVisitedVertices;
+		this.maxEvaluatedEdgesPerSeed = maxEvaluatedEdges;
+	}
+
+	/**
+	 * @return The number of detections run by the most recent build.
+	 */
+	public int getDetections() {
+		return detections;
+	}
+	/**
+	 * @return The number of seeds skipped by the most recent build, since they were covered.
+	 */
+	public int getSkippedSeeds() {
+		return skippedSeeds;
+	}
+	/**
+	 * @return The number of communities dropped by the most recent build as near-duplicates.
+	 */
+	public int getDuplicates() {
+		return duplicates;
+	}
+	/**
+	 * @return The number of communities dropped by the most recent build as too small.
+	 */
+	public int getUndersized() {
+		return undersized;
+	}
+	/**
+	 * @return The sum of the estimated costs of all seeds of the most recent build.
+	 */
+	public long getEstimatedCost() {
+		return estimatedCost;
+	}
+	/**
+	 * @return The sum of the estimated costs of the seeds skipped by the most recent build.
+	 */
+	public long getEstimatedSavings() {
+		return estimatedSavings;
+	}
+	/**
+	 * @return The number of edges evaluated by the detections of the most recent build, as
+	 * reported to their budgets.
+	 */
+	public long getEvaluatedEdges() {
+		return evaluatedEdges;
+	}
+
+	/**
+	 * Estimate the cost of a detection from a seed as the number of paths of length 1 and 2
+	 * that start from it, i.e. its degree plus the degrees of its neighbours, which bounds
+	 * the size of its 2-hop neighbourhood.
+	 *
+	 * @param graph Input graph.
+	 * @param vertexIndex Index of the seed.
+	 * @return The estimated cost.
+	 */
+	public static long estimateCost(IndexableGraph<?,?> graph, int vertexIndex){
+		int deg = graph.getDegreeByIndex(vertexIndex);
+		long cost = deg;
+		for (int p = 0; p < deg; p++){
+			cost += graph.getDegreeByIndex(graph.getNeighborIndex(vertexIndex, p));
+		}
+		return cost;
+	}
+
+	/**
+	 * Build a cover of the graph. The graph should not be modified during the call.
+	 *
+	 * @param graph Input graph.
+	 * @return The cover, whose communities have consecutive ids (from 0) in the order of
+	 * their seeds.
+	 */
+	public CommunityCover<V, E> build(final IndexableUndirectedSparseGraph<V, E> graph){
+		final long[] costs = new long[graph.getVertexIndexBound()];
+		for (int v = 0; v < costs.length; v++){
+			if (graph.containsVertexIndex(v)){
+				costs[v] = estimateCost(graph, v);
+			}
+		}
+		final int[] seeds = (seedSelection == SeedSelection.COST) ? getCostOrder(graph, costs) :
+			VertexOrdering.DEGREE.getOrder(graph);
+		final int numSeeds = Math.min(seeds.length, maxSeeds);
+		final AtomicInteger cursor = new AtomicInteger();
+		final AtomicInteger detected = new AtomicInteger();
+		final AtomicInteger skipped = new AtomicInteger();
+		final AtomicInteger dropped = new AtomicInteger();
+		final AtomicInteger small = new AtomicInteger();
+		final AtomicLong saved = new AtomicLong();
+		final AtomicLong evaluated = new AtomicLong();
+		/* 1 + position in accepted of the first community that covers each vertex, 0 if the
+		 * vertex is not covered; written while holding the lock of the index */
+		final AtomicIntegerArray owners = new AtomicIntegerArray(graph.getVertexIndexBound());
+		final MinHashIndex index = new MinHashIndex(bands, rows, hashSeed);
+		/* accepted communities, by id in the index */
+		final List<Accepted> accepted = new ArrayList<Accepted>();
+
+		Runnable worker = new Runnable(){
+			public void run(){
+				IntArrayList candidates = new IntArrayList();
+				for (int rank = cursor.getAndIncrement(); rank < numSeeds; rank = cursor.getAndIncrement()){
+					int seed = seeds[rank];
+					if (isSkipped(graph, seed, owners)){
+						skipped.incrementAndGet();
+						saved.addAndGet(costs[seed]);
+						continue;
+					}
+					DetectionBudget budget = createBudget();
+					Community<V, E> community = detector.getCommunity(graph, graph.getVertexByIndex(seed), budget);
+					detected.incrementAndGet();
+					evaluated.addAndGet(budget.getEvaluatedEdges());
+					int[] members = getMemberIndices(graph, community);
+					if (members.length < minimumSize || members.length == 0){
+						small.incrementAndGet();
+						continue;
+					}
+					long[] signature = index.getSignature(members, members.length);
+					synchronized (index){
+						index.getCandidates(signature, candidates);
+						boolean duplicate = false;
+						for (int i = 0; i < candidates.size() && !duplicate; i++){
+							duplicate = isSimilar(members, accepted.get(candidates.get(i)).members);
+						}
+						if (duplicate){
+							dropped.incrementAndGet();
+							continue;
+						}
+						index.add(signature);
+						accepted.add(new Accepted(rank, members, community.isTruncated()));
+						for (int i = 0; i < members.length; i++){
+							if (owners.get(members[i]) == 0){
+								owners.set(members[i], accepted.size());
+							}
+						}
+					}
+				}
+			}
+		};
+
+		if (numberOfThreads == 1){
+			worker.run();
+		} else {
+			ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+			try {
+				List<Future<?>> futures = new ArrayList<Future<?>>(numberOfThreads);
+				for (int t = 0; t < numberOfThreads; t++){
+					futures.add(executor.submit(worker));
+				}
+				for (int t = 0; t < futures.size(); t++){
+					try {
+						futures.get(t).get();
+					} catch (ExecutionException e){
+						/* stop the other workers and report the failure */
+						cursor.set(numSeeds);
+						Throwable cause = e.getCause();
+						if (cause instanceof RuntimeException) throw (RuntimeException)cause;
+						if (cause instanceof Error) throw (Error)cause;
+						throw new IllegalStateException(cause);
+					}
+				}
+			} catch (InterruptedException e){
+				cursor.set(numSeeds);
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Cover construction was interrupted!", e);
+			} finally {
+				executor.shutdown();
+			}
+		}
+
+		this.detections = detected.get();
+		this.skippedSeeds = skipped.get();
+		this.duplicates = dropped.get();
+		this.undersized = small.get();
+		this.estimatedSavings = saved.get();
+		this.evaluatedEdges = evaluated.get();
+		long total = 0;
+		for (int i = 0; i < numSeeds; i++){
+			total += costs[seeds[i]];
+		}
+		this.estimatedCost = total;
+
+		Collections.sort(accepted, new Comparator<Accepted>(){
+			public int compare(Accepted a1, Accepted a2){
+				return (a1.rank < a2.rank) ? -1 : ((a1.rank == a2.rank) ? 0 : 1);
+			}
+		});
+		List<CompactCommunity<V, E>> communities = new ArrayList<CompactCommunity<V, E>>(accepted.size());
+		for (int i = 0; i < accepted.size(); i++){
+			Accepted a = accepted.get(i);
+			communities.add(new CompactCommunity<V, E>(i, graph, a.members, a.members.length, a.truncated, compressed));
+			accepted.set(i, null);
+		}
+		return new CommunityCover<V, E>(graph, communities);
+	}
+
+	/* The vertex indices in decreasing order of cost, ties broken by index. */
+	private static int[] getCostOrder(IndexableGraph<?,?> graph, long[] costs){
+		long[] keys = new long[graph.getVertexCount()];
+		int count = 0;
+		for (int v = 0; v < costs.length; v++){
+			if (graph.containsVertexIndex(v)){
+				keys[count++] = ((Integer.MAX_VALUE - Math.min(costs[v], Integer.MAX_VALUE)) << 32) | v;
+			}
+		}
+		Arrays.sort(keys, 0, count);
+		int[] order = new int[count];
+		for (int i = 0; i < count; i++){
+			order[i] = (int)keys[i];
+		}
+		return order;
+	}
+
+	/* Whether a seed is skipped, given the communities that cover the vertices so far. */
+	private boolean isSkipped(IndexableGraph<V, E> graph, int seed, AtomicIntegerArray owners){
+		int owner = owners.get(seed);
+		if (owner == 0 || seedSelection == SeedSelection.DEGREE){
+			return false;
+		}
+		if (seedSelection == SeedSelection.UNCOVERED_FIRST){
+			return true;
+		}
+		/* absorbed if enough of the neighbours belong to the first community of the seed */
+		int deg = graph.getDegreeByIndex(seed);
+		int absorbed = 0;
+		for (int p = 0; p < deg; p++){
+			if (owners.get(graph.getNeighborIndex(seed, p)) == owner){
+				absorbed++;
+			}
+		}
+		return absorbed >= absorptionConfidence * deg;
+	}
+
+	private DetectionBudget createBudget(){
+		DetectionBudget budget = new DetectionBudget();
+		if (seedTimeoutNanos != DetectionBudget.UNLIMITED){
+			budget.setTimeout(seedTimeoutNanos, TimeUnit.NANOSECONDS);
+		}
+		budget.setMaxVisitedVertices(maxVisitedVerticesPerSeed);
+		budget.setMaxEvaluatedEdges(maxEvaluatedEdgesPerSeed);
+		return budget;
+	}
+
+	/* Whether the Jaccard similarity of two sorted sets reaches the threshold. */
+	private boolean isSimilar(int[] a, int[] b){
+		/* the similarity is at most the ratio of the sizes */
+		if (Math.min(a.length, b.length) < similarityThreshold * Math.max(a.length, b.length)){
+			return false;
+		}
+		int common = IntersectionKernel.count(a, a.length, b, b.length);
+		return common >= similarityThreshold * (a.length + b.length - common);
+	}
+
+	/* The sorted vertex indices of the members of a community. */
+	private static <V extends StringIndexableVertex, E> int[] getMemberIndices(
+			IndexableUndirectedSparseGraph<V, E> graph, Community<V, E> community){
+		List<String> ids = community.getMembers();
+		int[] indices = new int[ids.size()];
+		for (int i = 0; i < indices.length; i++){
+			indices[i] = graph.getVertexIndex(graph.getVertex(ids.get(i)));
+		}
+		Arrays.sort(indices);
+		return indices;
+	}
+
+	/* A community accepted in the cover. */
+	private static class Accepted {
+		final int rank;
+		final int[] members;
+		final boolean truncated;
+
+		Accepted(int rank, int[] members, boolean truncated){
+			this.rank = rank;
+			this.members = members;
+			this.truncated = truncated;
+		}
+	}
+}
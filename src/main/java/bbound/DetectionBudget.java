@@ -0,0 +1,168 @@
+/*
+  @(#) DetectionBudget.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds the amount of work that a single local community detection call may perform.
+ * A budget combines an optional deadline, a maximum number of visited vertices, a maximum
+ * number of evaluated edges and an explicit cancellation flag. Detectors report their
+ * progress to the budget and stop expanding as soon as it is exhausted, returning the
+ * community found so far flagged as truncated (see Community.isTruncated()).
+ *
+ * A vertex counts as visited when a detector examines it as a candidate or expands its
+ * neighborhood; an edge counts as evaluated when a detector inspects it (e.g. computes its
+ * bridging value or checks whether its other endpoint belongs to the community).
+ *
+ * A budget keeps per-call counters, so a fresh instance should be used for each call.
+ * Only cancel() may be invoked from a thread other than the one running the detection.
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class DetectionBudget {
+
+	/* Value denoting that no limit is imposed. */
+	public static final long UNLIMITED = Long.MAX_VALUE;
+
+	/* Deadline expressed in System.nanoTime() units. */
+	private long deadline = UNLIMITED;
+
+	private long maxVisitedVertices = UNLIMITED;
+	private long maxEvaluatedEdges = UNLIMITED;
+
+	private long visitedVertices = 0;
+	private long evaluatedEdges = 0;
+
+	private volatile boolean cancelled = false;
+
+	/* Once the budget has been found exhausted it remains so. */
+	private boolean exhausted = false;
+
+	/**
+	 * Create an unlimited budget. Limits can be set afterwards with the respective setters.
+	 */
+	public DetectionBudget(){
+	}
+
+	/**
+	 * Create a budget that expires after the given amount of time (counted from now).
+	 * @param timeout
+	 * @param unit
+	 */
+	public DetectionBudget(long timeout, TimeUnit unit){
+		setTimeout(timeout, unit);
+	}
+
+	/**
+	 * Set the deadline of the budget to the given amount of time from now.
+	 * @param timeout
+	 * @param unit
+	 */
+	public void setTimeout(long timeout, TimeUnit unit){
+		if (timeout < 0){
+			throw new IllegalArgumentException("Timeout should be a non-negative number!");
+		}
+		long nanos = unit.toNanos(timeout);
+		/* guard against overflow for very long timeouts */
+		this.deadline = (nanos >= UNLIMITED / 2) ? UNLIMITED : System.nanoTime() + nanos;
+	}
+
+	/**
+	 * Set an absolute deadline expressed in System.nanoTime() units.
+	 * @param nanoTime
+	 */
+	public void setDeadline(long nanoTime){
+		this.deadline = nanoTime;
+	}
+	public long getDeadline(){
+		return deadline;
+	}
+
+	public long getMaxVisitedVertices() {
+		return maxVisitedVertices;
+	}
+	public void setMaxVisitedVertices(long maxVisitedVertices) {
+		if (maxVisitedVertices < 0){
+			throw new IllegalArgumentException("The maximum number of visited vertices should be non-negative!");
+		}
+		this.maxVisitedVertices = maxVisitedVertices;
+	}
+
+	public long getMaxEvaluatedEdges() {
+		return maxEvaluatedEdges;
+	}
+	public void setMaxEvaluatedEdges(long maxEvaluatedEdges) {
+		if (maxEvaluatedEdges < 0){
+			throw new IllegalArgumentException("The maximum number of evaluated edges should be non-negative!");
+		}
+		this.maxEvaluatedEdges = maxEvaluatedEdges;
+	}
+
+	/**
+	 * Request the detection that uses this budget to stop as soon as possible.
+	 * Safe to call from any thread.
+	 */
+	public void cancel(){
+		cancelled = true;
+	}
+	public boolean isCancelled(){
+		return cancelled;
+	}
+
+	public void visitVertex(){
+		visitedVertices++;
+	}
+	public void visitVertices(long count){
+		visitedVertices += count;
+	}
+	public void evaluateEdges(long count){
+		evaluatedEdges += count;
+	}
+	public long getVisitedVertices(){
+		return visitedVertices;
+	}
+	public long getEvaluatedEdges(){
+		return evaluatedEdges;
+	}
+
+	/**
+	 * Check whether any of the limits of the budget has been reached.
+	 * @return true if the detection should stop, false otherwise
+	 */
+	public boolean isExhausted(){
+		if (exhausted){
+			return true;
+		}
+		if (cancelled || (visitedVertices >= maxVisitedVertices) || (evaluatedEdges >= maxEvaluatedEdges)){
+			exhausted = true;
+		} else if ((deadline != UNLIMITED) && (System.nanoTime() - deadline >= 0)){
+			exhausted = true;
+		}
+		return exhausted;
+	}
+
+	@Override
+	public String toString() {
+		return "visited vertices: " + visitedVertices + ", evaluated edges: " + evaluatedEdges +
+			(exhausted ? " (exhausted)" : "");
+	}
+}
@@ -0,0 +1,303 @@
+/*
+  @(#) DiffusionCommunityDetector.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+
+import graph.Community;
+import jung.IndexableGraph;
+import jung.IndexableUndirectedSparseGraph;
+import jung.StringIndexableVertex;
+import util.SparseVector;
+
+/**
+ * Local community detection by a diffusion from a set of seed nodes, followed by a sweep
+ * cut (see ConductanceSweep): the community is the prefix of minimum conductance, among the
+ * prefixes that contain the seeds, of the vertices sorted by decreasing diffusion value per
+ * degree. The diffusion starts from the uniform distribution s on the seeds and is either
+ *
+ * - the heat kernel h = exp(-t) sum_k (t^k/k!) P^k s, where P is the random walk matrix,
+ *   truncated to N terms and approximated by the push procedure of hk-relax (K. Kloster,
+ *   D. F. Gleich, Heat Kernel Based Community Detection, KDD 2014): the residual of each
+ *   term is kept in a sparse vector, and the entries of term j that reach
+ *   exp(t)*epsilon*d(u)/(2*N*psi_j(t)) are pushed to term j+1, one term after the other, so
+ *   that the number of pushes is bounded independently of the size of the graph; or
+ * - the personalized PageRank vector of s (see PageRankCommunityDetector).
+ *
+ * The heat kernel favours the vertices within a few (about t) steps of the seeds, whereas
+ * PageRank decays geometrically with the distance. The vectors are kept in per-thread sparse
+ * vectors, so repeated calls do not allocate space proportional to the graph.
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class DiffusionCommunityDetector<V extends StringIndexableVertex,E> implements MultiSeedCommunityDetector<V,E> {
+
+	public static enum Diffusion {HEAT_KERNEL, PAGERANK}
+
+	/* Maximum temperature of the heat kernel, so that exp(t) is well within range. */
+	public static final double MAX_TEMPERATURE = 100;
+
+	private Diffusion diffusion = Diffusion.HEAT_KERNEL;
+
+	/* Heat kernel temperature (expected length of the walks). */
+	private double temperature = 5;
+
+	/* PageRank teleportation probability. */
+	private double alpha = 0.15;
+
+	/* Approximation threshold. */
+	private double epsilon = 1e-4;
+
+	/* Heat kernel push thresholds per unit of degree, one per term (derived from the
+	 * temperature and epsilon); the number of terms is its length. */
+	private double[] thresholds;
+
+	/* Per-thread state, reused across calls. */
+	private static final ThreadLocal<SparseVector> ESTIMATES = new ThreadLocal<SparseVector>(){
+		protected SparseVector initialValue(){
+			return new SparseVector();
+		}
+	};
+	private static final ThreadLocal<SparseVector> RESIDUALS = new ThreadLocal<SparseVector>(){
+		protected SparseVector initialValue(){
+			return new SparseVector();
+		}
+	};
+	private static final ThreadLocal<SparseVector> NEXT_RESIDUALS = new ThreadLocal<SparseVector>(){
+		protected SparseVector initialValue(){
+			return new SparseVector();
+		}
+	};
+
+	public DiffusionCommunityDetector(){
+		updateThresholds();
+	}
+
+	/**
+	 * @param diffusion The diffusion.
+	 * @param epsilon Approximation threshold, positive.
+	 */
+	public DiffusionCommunityDetector(Diffusion diffusion, double epsilon){
+		setDiffusion(diffusion);
+		setEpsilon(epsilon);
+	}
+
+	public Diffusion getDiffusion() {
+		return diffusion;
+	}
+	public void setDiffusion(Diffusion diffusion) {
+		if (diffusion == null){
+			throw new IllegalArgumentException("The diffusion should not be null!");
+		}
+		this.diffusion = diffusion;
+	}
+
+	public double getTemperature() {
+		return temperature;
+	}
+	public void setTemperature(double temperature) {
+		if (temperature <= 0 || temperature > MAX_TEMPERATURE){
+			throw new IllegalArgumentException("The temperature should be in (0, " + MAX_TEMPERATURE + "]!");
+		}
+		this.temperature = temperature;
+		updateThresholds();
+	}
+
+	public double getAlpha() {
+		return alpha;
+	}
+	public void setAlpha(double alpha) {
+		if (alpha <= 0 || alpha >= 1){
+			throw new IllegalArgumentException("The teleportation probability should be in (0, 1)!");
+		}
+		this.alpha = alpha;
+	}
+
+	public double getEpsilon() {
+		return epsilon;
+	}
+	public void setEpsilon(double epsilon) {
+		if (epsilon <= 0 || epsilon >= 1){
+			throw new IllegalArgumentException("The approximation threshold should be in (0, 1)!");
+		}
+		this.epsilon = epsilon;
+		updateThresholds();
+	}
+
+	/**
+	 * @return The number of terms N of the truncated heat kernel: the smallest N for which
+	 * the omitted terms carry at most epsilon/2 of the mass.
+	 */
+	public int getNumberOfTerms() {
+		return thresholds.length;
+	}
+
+	public Community<V,E> getCommunity(
+			IndexableUndirectedSparseGraph<V, E> graph, V seed) {
+		return getCommunity(graph, seed, new DetectionBudget());
+	}
+
+	public Community<V,E> getCommunity(
+			IndexableUndirectedSparseGraph<V, E> graph, V seed, DetectionBudget budget) {
+		return getCommunity(graph, Collections.singleton(seed), budget);
+	}
+
+	public Community<V,E> getCommunity(
+			IndexableUndirectedSparseGraph<V, E> graph, Collection<V> seeds) {
+		return getCommunity(graph, seeds, new DetectionBudget());
+	}
+
+	/**
+	 * Detect the community of a set of seed nodes, which all belong to it. Each push counts
+	 * as a visited vertex and its edges as evaluated edges, as does each step of the sweep.
+	 * When the budget is exhausted during the pushes, the sweep runs on the approximation
+	 * computed so far (and stops at the budget as well); the community is then flagged as
+	 * truncated.
+	 */
+	public Community<V,E> getCommunity(
+			IndexableUndirectedSparseGraph<V, E> graph, Collection<V> seeds, DetectionBudget budget) {
+		if (seeds.isEmpty()){
+			throw new IllegalArgumentException("The seed set should not be empty!");
+		}
+		int[] seedIndices = new int[seeds.size()];
+		int numSeeds = 0;
+		for (Iterator<V> it = seeds.iterator(); it.hasNext();){
+			int seedIndex = graph.getVertexIndex(it.next());
+			if (seedIndex < 0){
+				throw new IllegalArgumentException("Input graph does not contain seed node!");
+			}
+			seedIndices[numSeeds++] = seedIndex;
+		}
+		Arrays.sort(seedIndices);
+		numSeeds = 0;
+		for (int i = 0; i < seedIndices.length; i++){
+			if (i == 0 || seedIndices[i] != seedIndices[i-1]){
+				seedIndices[numSeeds++] = seedIndices[i];
+			}
+		}
+		if (numSeeds < seedIndices.length){
+			seedIndices = Arrays.copyOf(seedIndices, numSeeds);
+		}
+
+		SparseVector estimates = ESTIMATES.get();
+		estimates.clear();
+		SparseVector residuals = RESIDUALS.get();
+		residuals.clear();
+		for (int i = 0; i < numSeeds; i++){
+			/* isolated seeds take no part in the diffusion */
+			if (graph.getDegreeByIndex(seedIndices[i]) > 0){
+				residuals.add(seedIndices[i], 1.0 / numSeeds);
+			}
+		}
+		boolean truncated = false;
+		int[] order = new int[0];
+		int size = 0;
+		if (residuals.size() > 0){
+			if (diffusion == Diffusion.HEAT_KERNEL){
+				truncated = pushHeatKernel(graph, estimates, residuals, budget);
+			} else {
+				truncated = PageRankCommunityDetector.push(graph, estimates, residuals, alpha, epsilon, budget);
+			}
+			order = ConductanceSweep.getOrder(graph, estimates);
+			size = ConductanceSweep.sweep(graph, seedIndices, order, budget);
+			truncated |= budget.isExhausted();
+		}
+
+		int cId = 1;
+		Community<V,E> community = new Community<V,E>(cId, graph);
+		for (int i = 0; i < size; i++){
+			community.addMember(graph.getVertexByIndex(order[i]));
+		}
+		for (int i = 0; i < numSeeds; i++){
+			community.addMember(graph.getVertexByIndex(seedIndices[i]));
+		}
+		community.setTruncated(truncated);
+		return community;
+	}
+
+	/* Push the residuals of the heat kernel term by term; the estimates are scaled by
+	 * exp(t), which does not affect the sweep. Returns true if the budget stopped the pushes. */
+	private boolean pushHeatKernel(IndexableGraph<V, E> graph, SparseVector estimates,
+			SparseVector residuals, DetectionBudget budget){
+		double[] thresholds = this.thresholds;
+		int numTerms = thresholds.length;
+		SparseVector next = NEXT_RESIDUALS.get();
+		for (int j = 0; j < numTerms; j++){
+			next.clear();
+			double factor = temperature / (j + 1);
+			boolean last = (j + 1 == numTerms);
+			for (int i = 0; i < residuals.size(); i++){
+				int v = residuals.getIndex(i);
+				double mass = residuals.getValueAt(i);
+				int degree = graph.getDegreeByIndex(v);
+				if (mass < thresholds[j] * degree){
+					continue;
+				}
+				if (budget.isExhausted()){
+					return true;
+				}
+				budget.visitVertex();
+				budget.evaluateEdges(degree);
+				estimates.add(v, mass);
+				double share = factor * mass / degree;
+				for (int p = 0; p < degree; p++){
+					int u = graph.getNeighborIndex(v, p);
+					if (last){
+						/* the mass of the omitted terms is not propagated further */
+						estimates.add(u, share);
+					} else {
+						next.add(u, share);
+					}
+				}
+			}
+			/* the residuals of the next term become the current ones */
+			SparseVector current = residuals;
+			residuals = next;
+			next = current;
+		}
+		return false;
+	}
+
+	/* Compute the number of terms and the push thresholds of the heat kernel. */
+	private void updateThresholds(){
+		double total = Math.exp(temperature);
+		double term = 1;
+		double sum = 1;
+		int numTerms = 1;
+		while ((total - sum) / total > epsilon / 2){
+			term *= temperature / numTerms;
+			sum += term;
+			numTerms++;
+		}
+		/* psi_j(t) = sum_{m=0}^{N-j} j!/(j+m)! t^m, so psi_N = 1 and
+		 * psi_j = 1 + t/(j+1) psi_{j+1} */
+		double[] thresholds = new double[numTerms];
+		double psi = 1;
+		for (int j = numTerms - 1; j >= 0; j--){
+			psi = 1 + temperature / (j + 1) * psi;
+			thresholds[j] = total * epsilon / (2 * numTerms * psi);
+		}
+		this.thresholds = thresholds;
+	}
+}
@@ -0,0 +1,84 @@
+/*
+  @(#) EdgeMeasure.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+/**
+ * A network topology measure that associates a value with every edge of a graph. The
+ * values are computed by a NetworkTopologyMeasuresCalculator and kept in a column of the
+ * EdgeAttributeStore of the graph, keyed by the measure object itself.
+ *
+ * There are two kinds of measures:
+ * <ul>
+ * <li>Intersection measures, whose value for edge (u,v) is the sum of getContribution()
+ * over the common neighbours of u and v. All intersection measures needed by a calculator
+ * are computed together from a single intersection of the neighbourhoods of u and v.</li>
+ * <li>Derived measures, whose value is given by calculate(), typically from the values of
+ * the measures they depend on (obtained through the calculator) and the degrees of the
+ * edge endpoints.</li>
+ * </ul>
+ *
+ * Implementations should be stateless and usable as map keys (e.g. enum constants).
+ * The built-in measures are listed in NetworkTopologyMeasures.
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public interface EdgeMeasure {
+
+	public String getName();
+
+	/**
+	 * @return The measures whose values are used for computing this measure.
+	 */
+	public EdgeMeasure[] getDependencies();
+
+	/**
+	 * @return true if the value of edge (u,v) depends only on the edges incident to u or v
+	 * (and their weights), false if it depends on edges that are one more hop away (e.g.
+	 * on the degrees of the neighbours of u and v, or on measures of surrounding edges).
+	 */
+	public boolean isLocal();
+
+	public boolean isIntersectionMeasure();
+
+	/**
+	 * Contribution of a common neighbour of the edge endpoints to the value of an
+	 * intersection measure.
+	 *
+	 * @param calculator Calculator computing the measure.
+	 * @param commonNeighbour Index of the common neighbour.
+	 * @param weight1 Weight of the edge between the first endpoint and the common neighbour.
+	 * @param weight2 Weight of the edge between the second endpoint and the common neighbour.
+	 * @return
+	 */
+	public double getContribution(NetworkTopologyMeasuresCalculator<?,?> calculator,
+			int commonNeighbour, double weight1, double weight2);
+
+	/**
+	 * Compute the value of a derived measure.
+	 *
+	 * @param calculator Calculator computing the measure, which provides the values of the
+	 * dependencies.
+	 * @param edgeIndex Index of the edge.
+	 * @return
+	 */
+	public double calculate(NetworkTopologyMeasuresCalculator<?,?> calculator, int edgeIndex);
+
+}
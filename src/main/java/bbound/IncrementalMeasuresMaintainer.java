@@ -0,0 +1,192 @@
+/*
+  @(#) IncrementalMeasuresMaintainer.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import java.util.List;
+
+import jung.EdgeAttributeStore;
+import jung.GraphUpdateListener;
+import jung.IndexableUndirectedSparseGraph;
+import jung.StringIndexableVertex;
+import util.IntArrayList;
+
+/**
+ * Keeps the network topology measures that are memoized in the edge attribute store of a 
+ * graph (see NetworkTopologyMeasuresCalculator) consistent while edges are inserted into 
+ * and removed from the graph, so that the graph does not need to be rebuilt.
+ *
+ * Inserting or removing edge (a,b) changes the degrees of a and b and the number of
+ * common neighbours of the edges (a,x) and (b,x) for every common neighbour x of a and b.
+ * Hence, only the ELB values of the edges incident to a or b change: their common neighbour
+ * counts are updated in place and their ELB is re-derived from them, in O(deg(a)+deg(b)).
+ * The memoized values of all other measures of the edges incident to a or b are discarded
+ * and recomputed lazily. Measures that are not local (see EdgeMeasure.isLocal(), e.g. 
+ * ELB2, whose values depend on the ELB values of the surrounding edges) are also discarded 
+ * for all edges incident to the neighbours of a and b.
+ * 
+ * Changes of the weight (frequency) of an edge that remains in the graph are not tracked.
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class IncrementalMeasuresMaintainer<V extends StringIndexableVertex, E> implements GraphUpdateListener<V,E> {
+
+	private final IndexableUndirectedSparseGraph<V, E> graph;
+	
+	private final EdgeMeasure measure;
+	
+	private final EdgeAttributeStore store;
+	
+	/* Positions of the common neighbours of the updated endpoints in their neighbourhoods. */
+	private final IntArrayList positions1 = new IntArrayList();
+	private final IntArrayList positions2 = new IntArrayList();
+
+	private long updates = 0;
+
+	/**
+	 * Create a maintainer and register it with the graph.
+	 *
+	 * @param graph Graph whose memoized measures should be kept up-to-date.
+	 * @param measure The measure used by the detectors running on the graph.
+	 */
+	public IncrementalMeasuresMaintainer(IndexableUndirectedSparseGraph<V, E> graph,
+			EdgeMeasure measure){
+		this.graph = graph;
+		this.measure = measure;
+		this.store = graph.getEdgeAttributes();
+		graph.addGraphUpdateListener(this);
+	}
+
+	/**
+	 * Stop listening to updates of the graph.
+	 */
+	public void detach(){
+		graph.removeGraphUpdateListener(this);
+	}
+
+	public IndexableUndirectedSparseGraph<V, E> getGraph(){
+		return graph;
+	}
+	public EdgeMeasure getMeasure(){
+		return measure;
+	}
+
+	public long getNumberOfUpdates(){
+		return updates;
+	}
+
+	public void edgeAdded(E edge, V v1, V v2) {
+		int i1 = graph.getVertexIndex(v1);
+		int i2 = graph.getVertexIndex(v2);
+		int common = getCommonNeighbours(i1, i2);
+		store.getColumn(NetworkTopologyMeasures.CN).set(graph.getEdgeIndex(edge), common);
+		update(i1, i2, common, 1);
+	}
+
+	public void edgeRemoved(E edge, V v1, V v2) {
+		/* the removed edge does not affect the common neighbours of its endpoints */
+		int i1 = graph.getVertexIndex(v1);
+		int i2 = graph.getVertexIndex(v2);
+		int common = getCommonNeighbours(i1, i2);
+		update(i1, i2, common, -1);
+	}
+	
+	private void update(int i1, int i2, int common, int delta){
+		EdgeAttributeStore.Column cn = store.getExistingColumn(NetworkTopologyMeasures.CN);
+		for (int i = 0; i < common; i++){
+			updateCommonNeighbours(cn, graph.getIncidentEdgeIndex(i1, positions1.get(i)), delta);
+			updateCommonNeighbours(cn, graph.getIncidentEdgeIndex(i2, positions2.get(i)), delta);
+		}
+		
+		List<Object> keys = store.getKeys();
+		for (int k = 0; k < keys.size(); k++){
+			Object key = keys.get(k);
+			if (!(key instanceof EdgeMeasure) || NetworkTopologyMeasures.CN.equals(key)) continue;
+			EdgeAttributeStore.Column column = store.getColumn(key);
+			if (NetworkTopologyMeasures.ELB.equals(key)){
+				updateIncidentElb(column, cn, i1);
+				updateIncidentElb(column, cn, i2);
+			} else if (((EdgeMeasure)key).isLocal()){
+				invalidateIncident(column, i1);
+				invalidateIncident(column, i2);
+			} else {
+				invalidateAround(column, i1);
+				invalidateAround(column, i2);
+			}
+		}
+		updates++;
+	}
+
+	/* Find the common neighbours of two vertices, keeping their positions in the 
+	 * neighbourhoods of the two vertices. */
+	private int getCommonNeighbours(int i1, int i2){
+		if (i1 < 0 || i2 < 0){
+			positions1.clear();
+			positions2.clear();
+			return 0;
+		}
+		return graph.intersectNeighbors(i1, i2, positions1, positions2);
+	}
+
+	/* Adjust the memoized common neighbour count of an edge connecting an endpoint of the 
+	 * updated edge with one of their common neighbours. */
+	private void updateCommonNeighbours(EdgeAttributeStore.Column cn, int edgeIndex, int delta){
+		if (cn == null) return;
+		double count = cn.get(edgeIndex, Double.NaN);
+		if (!Double.isNaN(count)){
+			cn.set(edgeIndex, count + delta);
+		}
+	}
+
+	/* Re-derive the memoized ELB values of the edges incident to the given vertex (whose
+	 * degree has changed). */
+	private void updateIncidentElb(EdgeAttributeStore.Column elb, EdgeAttributeStore.Column cn, int v){
+		if (v < 0) return;
+		int deg = graph.getDegreeByIndex(v);
+		for (int p = 0; p < deg; p++){
+			int e = graph.getIncidentEdgeIndex(v, p);
+			if (!elb.contains(e)) continue;
+			double count = (cn == null) ? Double.NaN : cn.get(e, Double.NaN);
+			if (Double.isNaN(count)){
+				elb.remove(e);
+			} else {
+				int otherDeg = graph.getDegreeByIndex(graph.getNeighborIndex(v, p));
+				elb.set(e, NetworkTopologyMeasuresCalculator.getElb(count, deg, otherDeg));
+			}
+		}
+	}
+
+	/* Discard the values of the edges incident to v or to its neighbours. */
+	private void invalidateAround(EdgeAttributeStore.Column column, int v){
+		if (v < 0) return;
+		invalidateIncident(column, v);
+		int deg = graph.getDegreeByIndex(v);
+		for (int p = 0; p < deg; p++){
+			invalidateIncident(column, graph.getNeighborIndex(v, p));
+		}
+	}
+	private void invalidateIncident(EdgeAttributeStore.Column column, int v){
+		if (v < 0) return;
+		int deg = graph.getDegreeByIndex(v);
+		for (int p = 0; p < deg; p++){
+			column.remove(graph.getIncidentEdgeIndex(v, p));
+		}
+	}
+}
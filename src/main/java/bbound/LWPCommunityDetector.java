@@ -1,5 +1,9 @@
 package bbound;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -9,28 +13,224 @@ import graph.Community;
 import jung.IndexableGraph;
 import jung.IndexableUndirectedSparseGraph;
 import jung.StringIndexableVertex;
+import util.IndexedHeap;
+import util.IntArrayList;
+import util.SparseVector;
+import util.VertexMarker;
 
 /**
  * Class implementing the local community detection method by Luo, Wang and Promislow
  * appearing in the paper "Exploring Local Community Structures in Large Networks", WI 2006.
+ * For a set of seed nodes, the community is initialized with all of them, and the result
+ * is required to contain all of them. For a warm start, the community is initialized with
+ * the previous community, which the deletion steps of the method repair.
+ * 
+ * The addition step tries the vertices of the neighbour set in hash order, as in the
+ * original method, or the best linked to the community first (see setLinkOrder).
  * 
  * @author Symeon Papadopoulos
  *
  */
-public class LWPCommunityDetector<V extends StringIndexableVertex,E> implements LocalCommunityDetector<V,E> {
+public class LWPCommunityDetector<V extends StringIndexableVertex,E> implements MultiSeedCommunityDetector<V,E>, WarmStartCommunityDetector<V,E> {
+	
+	/* Number of members between two checks of the deadline during a modularity evaluation. */
+	private static final int EVALUATION_CHECK_INTERVAL = 32;
+	
+	/* Whether the modularity is computed on edge weights instead of edge counts. */
+	private boolean weighted = false;
+	
+	/* Whether the additions are evaluated lazily. */
+	private boolean lazy = false;
+	
+	/* Whether the addition step tries the best linked vertices first. */
+	private boolean linkOrder = false;
+	
+	/* Per-thread state, reused across calls. */
+	private static final ThreadLocal<IndexedHeap> FRONTIER = new ThreadLocal<IndexedHeap>(){
+		protected IndexedHeap initialValue(){
+			return new IndexedHeap();
+		}
+	};
+	private static final ThreadLocal<SparseVector> INTERNAL = new ThreadLocal<SparseVector>(){
+		protected SparseVector initialValue(){
+			return new SparseVector();
+		}
+	};
+	private static final ThreadLocal<VertexMarker> RELINKED = new ThreadLocal<VertexMarker>(){
+		protected VertexMarker initialValue(){
+			return new VertexMarker();
+		}
+	};
+	private static final ThreadLocal<VertexMarker> PARKED = new ThreadLocal<VertexMarker>(){
+		protected VertexMarker initialValue(){
+			return new VertexMarker();
+		}
+	};
+	
+	/**
+	 * Use the weights (frequencies) of the edges instead of their number when computing
+	 * the LWP modularity. By default the graph is treated as unweighted. Note that, unlike 
+	 * the unweighted in-degree, the internal weight of each member is not rounded, so with
+	 * unit weights the two variants may differ slightly.
+	 */
+	public void setWeighted(boolean weighted) {
+		this.weighted = weighted;
+	}
+	public boolean isWeighted() {
+		return weighted;
+	}
 	
+	/**
+	 * Evaluate the additions lazily, in the spirit of CELF (J. Leskovec et al., Cost-effective
+	 * Outbreak Detection in Networks, KDD 2007): a vertex rejected by an addition step keeps
+	 * its verdict, and is parked (skipped in hash order, moved to the bottom of the neighbour
+	 * set in link order) instead of being evaluated again by every later addition step, until
+	 * a vertex joins or leaves the community next to it or to one of its neighbours in the 
+	 * community. Every accepted move increases the modularity M, and whether adding a vertex
+	 * increases M only depends on M, on the links and degree of the vertex and on the internal
+	 * degrees of its neighbours in the community (which the unweighted modularity rounds), so
+	 * a parked vertex would be rejected again.
+	 * 
+	 * In hash order, the result is the same as that of the exhaustive evaluation. In link 
+	 * order it may differ, as the vertices that are put back in line during an addition step
+	 * are only tried in the next one, which changes the order of the evaluations.
+	 */
+	public void setLazy(boolean lazy) {
+		this.lazy = lazy;
+	}
+	public boolean isLazy() {
+		return lazy;
+	}
+	
+	/**
+	 * Let the addition step try the vertices of the neighbour set with the most links to the
+	 * community first (ties by vertex index), keeping the neighbour set in an indexed heap 
+	 * (see IndexedHeap), instead of in hash order as in the original method. This changes 
+	 * the communities found; on graphs with planted communities, it finds them slightly 
+	 * more accurately. Disabled by default.
+	 */
+	public void setLinkOrder(boolean linkOrder) {
+		this.linkOrder = linkOrder;
+	}
+	public boolean isLinkOrder() {
+		return linkOrder;
+	}
 
 	public Community<V,E> getCommunity(
 			IndexableUndirectedSparseGraph<V, E> graph, V seed) {
-		
+		return getCommunity(graph, seed, new DetectionBudget());
+	}
+	
+	/**
+	 * Detect the community of the seed node. Every tentative addition or deletion counts
+	 * against the budget; when the budget is exhausted, the community as it stands after the 
+	 * last completed move is returned, flagged as truncated.
+	 */
+	public Community<V,E> getCommunity(
+			IndexableUndirectedSparseGraph<V, E> graph, V seed, DetectionBudget budget) {
+		return getCommunity(graph, Collections.singletonList(seed), budget);
+	}
+	
+	public Community<V,E> getCommunity(
+			IndexableUndirectedSparseGraph<V, E> graph, Collection<V> seeds) {
+		return getCommunity(graph, seeds, new DetectionBudget());
+	}
+	
+	/**
+	 * Detect the community of the seed nodes. Every tentative addition or deletion counts
+	 * against the budget; when the budget is exhausted, the community as it stands after the 
+	 * last completed move is returned, flagged as truncated.
+	 */
+	public Community<V,E> getCommunity(
+			IndexableUndirectedSparseGraph<V, E> graph, Collection<V> seeds, DetectionBudget budget) {
+		if (seeds.isEmpty()){
+			throw new IllegalArgumentException("The seed set should not be empty!");
+		}
+		return expand(graph, seeds, seeds, budget);
+	}
+	
+	public Community<V,E> getCommunity(
+			IndexableUndirectedSparseGraph<V, E> graph, V seed, Community<?,?> previous) {
+		return getCommunity(graph, seed, previous, new DetectionBudget());
+	}
+	
+	/**
+	 * Detect the community of the seed node, starting from its previous community. Every 
+	 * tentative addition or deletion counts against the budget, as in a cold start.
+	 */
+	public Community<V,E> getCommunity(
+			IndexableUndirectedSparseGraph<V, E> graph, V seed, Community<?,?> previous, 
+			DetectionBudget budget) {
+		return expand(graph, WarmStart.getInitialMembers(graph, seed, previous), 
+				Collections.singletonList(seed), budget);
+	}
+	
+	/* Run the method from the initial members; the result should contain the anchors. */
+	private Community<V,E> expand(IndexableUndirectedSparseGraph<V, E> graph, 
+			Collection<V> initial, Collection<V> anchors, DetectionBudget budget) {
 		int cId = 1;
 		Community<V,E> community = new Community<V,E>(cId, graph);
-		community.addMember(seed);
-		Set<V> neighbourSet = new HashSet<V>(graph.getNeighbors(seed));
+		Iterator<V> seedIter = initial.iterator();
+		while (seedIter.hasNext()){
+			V seed = seedIter.next();
+			if (graph.getVertexIndex(seed) < 0){
+				throw new IllegalArgumentException("Input graph does not contain seed node!");
+			}
+			community.addMember(seed);
+		}
+		/* the neighbour set, in hash order as in the original method: built from the
+		 * neighbours of the initial members, in the order of the graph */
+		Set<V> candidates = null;
+		/* with the link order, the neighbour set is a heap instead, best linked to the
+		 * community first, and the links of the vertices to the community are kept up to
+		 * date with its members */
+		IndexedHeap neighbourSet = null;
+		SparseVector internal = null;
+		if (linkOrder){
+			internal = INTERNAL.get();
+			internal.clear();
+			List<String> memberIDs = community.getMembers();
+			for (int i = 0; i < memberIDs.size(); i++){
+				link(graph, graph.getVertexIndex(graph.getVertex(memberIDs.get(i))), 1, null, internal);
+			}
+			neighbourSet = FRONTIER.get();
+			neighbourSet.reset(graph.getVertexIndexBound());
+			for (int i = 0; i < internal.size(); i++){
+				int u = internal.getIndex(i);
+				if (internal.getValueAt(i) > 0 && !community.contains(graph.getVertexByIndex(u))){
+					neighbourSet.update(u, getKey(internal.getValueAt(i)));
+				}
+			}
+		} else {
+			List<V> seedNeighbours = new ArrayList<V>();
+			seedIter = initial.iterator();
+			while (seedIter.hasNext()){
+				Iterator<V> neighbourIter = graph.getNeighbors(seedIter.next()).iterator();
+				while (neighbourIter.hasNext()){
+					V neighbour = neighbourIter.next();
+					if (!community.contains(neighbour)){
+						seedNeighbours.add(neighbour);
+					}
+				}
+			}
+			candidates = new HashSet<V>(seedNeighbours);
+		}
+		/* for the lazy evaluation, the vertices that were rejected and have not been linked
+		 * further since are parked: marked in hash order, at the bottom of the heap (with
+		 * key 0) in link order */
+		VertexMarker parked = null;
+		if (lazy && !linkOrder){
+			parked = PARKED.get();
+			parked.reset(graph.getVertexIndexBound());
+		}
+		IntArrayList rejected = new IntArrayList();
+		/* the vertices put back in line during an addition step, in link order */
+		VertexMarker relinked = RELINKED.get();
 		
 		//int counter = 0;
 		
 		Set<V> Q = new HashSet<V>();
+		boolean truncated = false;
 		
 		do {
 			Q = new HashSet<V>();
@@ -39,28 +239,87 @@ public class LWPCommunityDetector<V extends StringIndexableVertex,E> implements
 			//System.out.println(++counter + " " + lastModularity);
 			
 			/* addition step */
-			Iterator<V> nIter = neighbourSet.iterator();
-			Set<V> toRemove = new HashSet<V>();
-			while (nIter.hasNext()){
-				V uj = nIter.next();
-				if (toRemove.contains(uj)){
-					continue;
+			if (linkOrder){
+				rejected.clear();
+				relinked.reset(graph.getVertexIndexBound());
+				while (!neighbourSet.isEmpty()){
+					if (lazy && neighbourSet.getKey(neighbourSet.peek()) >= 0){
+						/* only parked vertices are left */
+						break;
+					}
+					if (chargeMove(community, budget)){
+						truncated = true;
+						break;
+					}
+					int ujIndex = neighbourSet.poll();
+					V uj = graph.getVertexByIndex(ujIndex);
+					community.addMember(uj);
+					double newModularity = getLWPModularity(community, budget);
+					if (Double.isNaN(newModularity)){
+						/* the deadline passed during the evaluation: undo the move */
+						community.removeMember(uj);
+						truncated = true;
+						break;
+					}
+					//System.out.println("\tADD " + newModularity + " " + community.getNumberOfMembers());
+					if (newModularity > lastModularity){
+						lastModularity = newModularity;
+						Q.add(uj);
+						link(graph, ujIndex, 1, neighbourSet, internal);
+						if (lazy){
+							unpark(graph, community, ujIndex, neighbourSet, internal, relinked, null);
+						}
+					} else {
+						community.removeMember(uj);
+						rejected.add(ujIndex);
+					}
 				}
-				community.addMember(uj);
-				double newModularity = getLWPModularity(community);
-				//System.out.println("\tADD " + newModularity + " " + community.getNumberOfMembers());
-				if (newModularity > lastModularity){
-					lastModularity = newModularity;
-					Q.add(uj);
-					toRemove.add(uj);
-				} else {
-					community.removeMember(uj);
+				/* the rejected vertices remain in the neighbour set (parked, for the lazy evaluation) */
+				for (int i = 0; i < rejected.size(); i++){
+					int u = rejected.get(i);
+					neighbourSet.update(u, (lazy && !relinked.isMarked(u)) ? 0 : getKey(internal.get(u)));
+				}
+			} else {
+				Iterator<V> nIter = candidates.iterator();
+				Set<V> toRemove = new HashSet<V>();
+				while (nIter.hasNext()){
+					V uj = nIter.next();
+					int ujIndex = graph.getVertexIndex(uj);
+					if (lazy && parked.isMarked(ujIndex)){
+						continue;
+					}
+					if (chargeMove(community, budget)){
+						truncated = true;
+						break;
+					}
+					community.addMember(uj);
+					double newModularity = getLWPModularity(community, budget);
+					if (Double.isNaN(newModularity)){
+						community.removeMember(uj);
+						truncated = true;
+						break;
+					}
+					//System.out.println("\tADD " + newModularity + " " + community.getNumberOfMembers());
+					if (newModularity > lastModularity){
+						lastModularity = newModularity;
+						Q.add(uj);
+						toRemove.add(uj);
+						if (lazy){
+							unpark(graph, community, ujIndex, null, null, null, parked);
+						}
+					} else {
+						community.removeMember(uj);
+						if (lazy){
+							parked.mark(ujIndex);
+						}
+					}
+				}
+				Iterator<V> removeIter = toRemove.iterator();
+				while (removeIter.hasNext()){
+					candidates.remove(removeIter.next());
 				}
 			}
-			Iterator<V> removeIter = toRemove.iterator();
-			while (removeIter.hasNext()){
-				neighbourSet.remove(removeIter.next());
-			}
+			if (truncated) break;
 			
 			/* deletion step */
 			Set<V> deleteQ = new HashSet<V>();
@@ -68,9 +327,18 @@ public class LWPCommunityDetector<V extends StringIndexableVertex,E> implements
 				deleteQ = new HashSet<V>();
 				List<String> vsIDs = community.getMembers();
 				for (int i = 0; i < vsIDs.size(); i++){
+					if (chargeMove(community, budget)){
+						truncated = true;
+						break;
+					}
 					String viID = vsIDs.get(i);
 					community.removeMemberByID(viID);
-					double newModularity = getLWPModularity(community);
+					double newModularity = getLWPModularity(community, budget);
+					if (Double.isNaN(newModularity)){
+						community.addMemberByID(viID);
+						truncated = true;
+						break;
+					}
 					//System.out.println("\tDEL " + newModularity + " " + community.getNumberOfMembers());
 					if ( (newModularity > lastModularity) && (community.isConnected()) ){
 						lastModularity = newModularity;
@@ -79,35 +347,141 @@ public class LWPCommunityDetector<V extends StringIndexableVertex,E> implements
 						if (Q.contains(vi)){
 							Q.remove(vi);
 						}
+						int viIndex = graph.getVertexIndex(vi);
+						if (linkOrder){
+							link(graph, viIndex, -1, neighbourSet, internal);
+						}
+						if (lazy){
+							unpark(graph, community, viIndex, neighbourSet, internal, relinked, parked);
+						}
 					} else {
 						community.addMemberByID(viID);
 					}
 				}
-			} while (!deleteQ.isEmpty() );
+			} while (!deleteQ.isEmpty() && !truncated);
+			if (truncated) break;
 			
 			/* add vertices to neighbourSet */
 			Iterator<V> nIterK = Q.iterator();
 			while (nIterK.hasNext()){
-				Iterator<V> candIterator = graph.getNeighbors(nIterK.next()).iterator();
-				while (candIterator.hasNext()){
-					V al = candIterator.next();
-					if ((!community.contains(al)) && (!neighbourSet.contains(al))){
-						neighbourSet.add(al);
+				int qIndex = graph.getVertexIndex(nIterK.next());
+				int qDegree = graph.getDegreeByIndex(qIndex);
+				for (int p = 0; p < qDegree; p++){
+					int alIndex = graph.getNeighborIndex(qIndex, p);
+					V al = graph.getVertexByIndex(alIndex);
+					if (linkOrder){
+						if ((!neighbourSet.contains(alIndex)) && (!community.contains(al))){
+							neighbourSet.update(alIndex, getKey(internal.get(alIndex)));
+						}
+					} else if ((!community.contains(al)) && (!candidates.contains(al))){
+						candidates.add(al);
 					}
 				}
 			}
 			
 		} while (!Q.isEmpty());
 		
-		if (getLWPModularity(community) > 0.0 && community.contains(seed)){
+		if (truncated){
+			/* return the best community found so far, as long as it is still anchored at the seeds */
+			if (!containsAll(community, anchors)){
+				community = new Community<V,E>(cId, graph);
+			}
+			community.setTruncated(true);
+			return community;
+		}
+		
+		if (getLWPModularity(community) > 0.0 && containsAll(community, anchors)){
 			return community;
 		} else {
 			System.err.println("Empty community returned, because the output community does not" +
-					" contain the seed node!");
+					" contain the seed nodes!");
 			return new Community<V,E>(cId, graph);
 		}		
 	}
 
+	private boolean containsAll(Community<V,E> community, Collection<V> seeds){
+		Iterator<V> seedIter = seeds.iterator();
+		while (seedIter.hasNext()){
+			if (!community.contains(seedIter.next())){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/* Add delta to the links of the neighbours of a vertex that joins (1) or leaves (-1) the
+	 * community, and update the keys of those in the neighbour set (if given) that are not
+	 * parked. */
+	private void link(IndexableGraph<V, E> graph, int v, int delta, IndexedHeap neighbourSet, 
+			SparseVector internal){
+		int degree = graph.getDegreeByIndex(v);
+		for (int p = 0; p < degree; p++){
+			int u = graph.getNeighborIndex(v, p);
+			if (u == v) continue;
+			double links = internal.add(u, delta);
+			if (neighbourSet != null && neighbourSet.contains(u) && neighbourSet.getKey(u) < 0){
+				neighbourSet.update(u, getKey(links));
+			}
+		}
+	}
+	
+	/* Put back in line the parked vertices whose gain may have changed after a vertex joined
+	 * or left the community: its neighbours, and those of its neighbours in the community, 
+	 * whose internal degrees changed. In link order (neighbourSet given), rejected vertices 
+	 * out of the neighbour set are marked as relinked instead; in hash order, the vertices
+	 * are unmarked as parked. */
+	private void unpark(IndexableGraph<V, E> graph, Community<V,E> community, int v, 
+			IndexedHeap neighbourSet, SparseVector internal, VertexMarker relinked, VertexMarker parked){
+		unparkNeighbours(graph, v, neighbourSet, internal, relinked, parked);
+		int degree = graph.getDegreeByIndex(v);
+		for (int p = 0; p < degree; p++){
+			int w = graph.getNeighborIndex(v, p);
+			if (w != v && community.contains(graph.getVertexByIndex(w))){
+				unparkNeighbours(graph, w, neighbourSet, internal, relinked, parked);
+			}
+		}
+	}
+	
+	private void unparkNeighbours(IndexableGraph<V, E> graph, int v, IndexedHeap neighbourSet, 
+			SparseVector internal, VertexMarker relinked, VertexMarker parked){
+		int degree = graph.getDegreeByIndex(v);
+		for (int p = 0; p < degree; p++){
+			int u = graph.getNeighborIndex(v, p);
+			if (neighbourSet == null){
+				parked.unmark(u);
+			} else if (!neighbourSet.contains(u)){
+				relinked.mark(u);
+			} else if (neighbourSet.getKey(u) >= 0){
+				neighbourSet.update(u, getKey(internal.get(u)));
+			}
+		}
+	}
+	
+	/* Key of a vertex of the neighbour set with the given links to the community; negative,
+	 * so that parked vertices (key 0) come last. */
+	private static double getKey(double links){
+		return -(links + 1);
+	}
+
+	/**
+	 * Account for a tentative move (addition or deletion) on the budget. Each move requires
+	 * a modularity evaluation, which checks all pairs of community members. The deadline
+	 * is checked here and again during the evaluation (see getLWPModularity), so it is 
+	 * overshot by at most EVALUATION_CHECK_INTERVAL members, plus one connectivity check of
+	 * the community after a deletion.
+	 * 
+	 * @return true if the budget was already exhausted and the move should not take place
+	 */
+	private boolean chargeMove(Community<V,E> community, DetectionBudget budget){
+		if (budget.isExhausted()){
+			return true;
+		}
+		long M = community.getNumberOfMembers();
+		budget.visitVertex();
+		budget.evaluateEdges(M*(M-1));
+		return false;
+	}
+
 	/**
 	 * Compute the LPW modularity measure introduced by Luo, Wang and Promislow. This method
 	 * has been made public so that other algorithms can use the same measure (but a different
@@ -117,6 +491,12 @@ public class LWPCommunityDetector<V extends StringIndexableVertex,E> implements
 	 * @return
 	 */
 	public double getLWPModularity(Community<V,E> community){
+		return getLWPModularity(community, null);
+	}
+	
+	/* As above, checking the deadline of the budget (if given) every EVALUATION_CHECK_INTERVAL
+	 * members; returns NaN if it has passed. */
+	private double getLWPModularity(Community<V,E> community, DetectionBudget budget){
 		/* check community validity*/
 		if (!community.isValid()) throw new IllegalArgumentException(
 				"You should provide a valid community as argument to the algorithm!");
@@ -125,21 +505,46 @@ public class LWPCommunityDetector<V extends StringIndexableVertex,E> implements
 		
 		List<String> memberIDs = community.getMembers();
 		int M = community.getNumberOfMembers();
-		int indS = 0;
-		int outdS = 0;
+		/* the member indices in increasing order, to be intersected with the neighbourhoods */
+		int[] members = new int[M];
+		for (int i = 0; i < M; i++){
+			members[i] = graph.getVertexIndex(graph.getVertex(memberIDs.get(i)));
+		}
+		Arrays.sort(members);
+		IntArrayList inPositions = new IntArrayList();
+		double indS = 0;
+		double outdS = 0;
 		for (int i = 0; i < M; i++){
-			V currentMember = graph.getVertex(memberIDs.get(i));
-			int currentMemberInDegree = 0;
-			for (int j = 0; j < M; j++){
-				if (i==j) continue;
-				if (graph.findEdge(currentMember, graph.getVertex(memberIDs.get(j)))!= null){
-					currentMemberInDegree++;
+			if (budget != null && i % EVALUATION_CHECK_INTERVAL == EVALUATION_CHECK_INTERVAL-1 
+					&& budget.isExhausted()){
+				return Double.NaN;
+			}
+			int currentMember = members[i];
+			int currentMemberDegree = graph.getDegreeByIndex(currentMember);
+			double currentMemberStrength = currentMemberDegree;
+			if (weighted){
+				currentMemberStrength = 0;
+				for (int p = 0; p < currentMemberDegree; p++){
+					currentMemberStrength += graph.getEdgeWeightByIndex(graph.getIncidentEdgeIndex(currentMember, p));
+				}
+			}
+			double currentMemberInDegree = 0;
+			int in = graph.intersectNeighbors(currentMember, members, M, inPositions);
+			for (int q = 0; q < in; q++){
+				int p = inPositions.get(q);
+				if (graph.getNeighborIndex(currentMember, p) != currentMember){
+					currentMemberInDegree += weighted ? 
+							graph.getEdgeWeightByIndex(graph.getIncidentEdgeIndex(currentMember, p)) : 1.0;
 				}
 			}
 			/* update out- and in-degree counts of community */
-			outdS += graph.degree(currentMember) - currentMemberInDegree;
+			outdS += currentMemberStrength - currentMemberInDegree;
 			/* in-edges were counted twice so divide by 2 */
-			indS += (int)Math.round(currentMemberInDegree/2.0); 
+			if (weighted){
+				indS += currentMemberInDegree/2.0;
+			} else {
+				indS += Math.round(currentMemberInDegree/2.0);
+			}
 		}
 		if ((outdS == 0) && (indS > 0)){
 			return Double.MAX_VALUE;
@@ -148,7 +553,7 @@ public class LWPCommunityDetector<V extends StringIndexableVertex,E> implements
 			 * the returned value should be 1.0 or 0.0 respectively */
 			return 0.0;	
 		} else {
-			return (double)indS/(double)outdS;
+			return indS/outdS;
 		}
 	}
 
@@ -0,0 +1,61 @@
+/*
+  @(#) MultiSeedCommunityDetector.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import java.util.Collection;
+
+import graph.Community;
+import jung.IndexableUndirectedSparseGraph;
+import jung.StringIndexableVertex;
+
+/**
+ * This interface extends local community detection to a set of seed nodes that are known
+ * to belong to the same community: a single expansion starts from all of them, instead of
+ * one expansion per seed node. For a single seed node, the result is the same as that of
+ * getCommunity(graph, seed).
+ * 
+ * @author Symeon Papadopoulos
+ *
+ */
+public interface MultiSeedCommunityDetector<V extends StringIndexableVertex, E> extends BudgetedCommunityDetector<V,E> {
+
+	/**
+	 * Create a community around the given seed nodes, which are members of the input graph.
+	 * 
+	 * @param graph Input graph where the local community detection is applied.
+	 * @param seeds Non-empty set of seed nodes for initiating the local community detection method.
+	 * @return The identified community around the input seed nodes.
+	 */
+	public Community<V,E> getCommunity(IndexableUndirectedSparseGraph<V, E> graph, Collection<V> seeds);
+	
+	/**
+	 * Create a community around the given seed nodes, performing at most the amount of work
+	 * allowed by the given budget. If the budget is exhausted before the detection completes,
+	 * the best community found so far is returned and flagged as truncated.
+	 * 
+	 * @param graph Input graph where the local community detection is applied.
+	 * @param seeds Non-empty set of seed nodes for initiating the local community detection method.
+	 * @param budget Work budget (deadline, visited vertices, evaluated edges) of the call.
+	 * @return The identified (possibly truncated) community around the input seed nodes.
+	 */
+	public Community<V,E> getCommunity(IndexableUndirectedSparseGraph<V, E> graph, Collection<V> seeds, 
+			DetectionBudget budget);
+	
+}
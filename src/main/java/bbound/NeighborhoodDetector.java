@@ -19,52 +19,153 @@
 */
 package bbound;
 
-import java.util.Collection;
-import java.util.Iterator;
-
-import edu.uci.ics.jung.algorithms.filters.KNeighborhoodFilter;
-import edu.uci.ics.jung.graph.Graph;
 import graph.Community;
+import jung.IndexableGraph;
 import jung.IndexableUndirectedSparseGraph;
+import jung.ParallelBreadthFirstSearch;
 import jung.StringIndexableVertex;
+import util.IntArrayList;
+import util.VertexMarker;
 
 /**
  * Class implementing the LocalCommunityDetector interface as a n-hop neighborhood
  * identification problem.
  * 
+ * The neighborhood is collected by a breadth-first traversal on vertex indices, bounded to
+ * the given number of hops, that reuses a per-thread epoch-stamped visited set, so no
+ * intermediate graph is built. Optionally, the traversal stops as soon as the neighborhood
+ * reaches a maximum size (the community is then flagged as truncated). Once a level of the 
+ * traversal has at least parallelThreshold vertices, the following levels are expanded by
+ * a ParallelBreadthFirstSearch, which switches between top-down and bottom-up expansion 
+ * depending on the size of the frontier.
+ * 
  * @author Symeon Papadopoulos
  *
  */
-public class NeighborhoodDetector<V extends StringIndexableVertex,E> implements LocalCommunityDetector<V,E> {
+public class NeighborhoodDetector<V extends StringIndexableVertex,E> implements BudgetedCommunityDetector<V,E> {
 
+	/* Value denoting that the size of the neighborhood is not limited. */
+	public static final int UNLIMITED = Integer.MAX_VALUE;
+	
 	/* Number of hops to allowed to reach nodes belonging to the neighbourhood. */
 	private int numberOfHops = 1;
 	
+	/* Maximum number of members of the neighborhood. */
+	private int maxNeighborhoodSize = UNLIMITED;
+	
+	/* Size of a level from which the traversal is continued in parallel. */
+	private int parallelThreshold = 16384;
+	
+	/* Per-thread traversal state, reused across calls. */
+	private static final ThreadLocal<VertexMarker> VISITED = new ThreadLocal<VertexMarker>(){
+		protected VertexMarker initialValue(){
+			return new VertexMarker();
+		}
+	};
+	private static final ThreadLocal<IntArrayList> FOUND = new ThreadLocal<IntArrayList>(){
+		protected IntArrayList initialValue(){
+			return new IntArrayList();
+		}
+	};
+	
 	/**
 	 * Create the n-hop neighborhood around the input seed node. 
 	 */
 	public Community<V,E> getCommunity(
 			IndexableUndirectedSparseGraph<V, E> graph, V seed) {
+		return getCommunity(graph, seed, new DetectionBudget());
+	}
+	
+	/**
+	 * Create the n-hop neighborhood around the input seed node. The budget is checked 
+	 * before each vertex is added to the neighborhood, except for the levels that are 
+	 * expanded in parallel, where it is checked once per level.
+	 */
+	public Community<V,E> getCommunity(
+			IndexableUndirectedSparseGraph<V, E> graph, V seed, DetectionBudget budget) {
 		if (!graph.containsVertex(seed)){
 			throw new IllegalArgumentException("Input graph does not contain seed node!");
 		}
 		
-		KNeighborhoodFilter<V, E> filter = 
-			new KNeighborhoodFilter<V, E>(seed, numberOfHops, 
-					KNeighborhoodFilter.EdgeType.IN_OUT);
-		Graph<V, E> neighbourhoodGraph = filter.transform(graph);
-		
-		Collection<V> neighbourCollection = neighbourhoodGraph.getVertices();//graph.getNeighbors(seed);
-		Iterator<V> neighbourIter = neighbourCollection.iterator();
 		Community<V,E> neighbourhood = new Community<V,E>(1, graph);
 		neighbourhood.setName(seed.getID().toString());
+		if (budget.isExhausted()){
+			neighbourhood.setTruncated(true);
+			return neighbourhood;
+		}
 		
-		while (neighbourIter.hasNext()){
-			V v = neighbourIter.next();
-			neighbourhood.addMember(v);
+		IntArrayList found = FOUND.get();
+		boolean truncated = expand(graph, graph.getVertexIndex(seed), budget, found);
+		for (int i = 0; i < found.size(); i++){
+			neighbourhood.addMember(graph.getVertexByIndex(found.get(i)));
 		}
+		neighbourhood.setTruncated(truncated);
 		return neighbourhood;
 	}
+	
+	/* Collect the indices of the neighborhood in found, in order of distance from the seed;
+	 * returns true if the traversal was stopped by the size limit or the budget. */
+	private boolean expand(IndexableGraph<V, E> graph, int seedIndex, DetectionBudget budget,
+			IntArrayList found){
+		VertexMarker visited = VISITED.get();
+		visited.reset(graph.getVertexIndexBound());
+		found.clear();
+		
+		visited.mark(seedIndex);
+		found.add(seedIndex);
+		budget.visitVertex();
+		int levelStart = 0;
+		for (int hop = 0; hop < numberOfHops && levelStart < found.size(); hop++){
+			int levelEnd = found.size();
+			if (levelEnd - levelStart >= parallelThreshold){
+				return expandParallel(graph, levelStart, numberOfHops - hop, budget, found);
+			}
+			for (int i = levelStart; i < levelEnd; i++){
+				int v = found.get(i);
+				int degree = graph.getDegreeByIndex(v);
+				budget.evaluateEdges(degree);
+				for (int p = 0; p < degree; p++){
+					int x = graph.getNeighborIndex(v, p);
+					if (!visited.mark(x)) continue;
+					if (found.size() >= maxNeighborhoodSize || budget.isExhausted()){
+						return true;
+					}
+					found.add(x);
+					budget.visitVertex();
+				}
+			}
+			levelStart = levelEnd;
+		}
+		return false;
+	}
+	
+	/* Expand the given number of levels in parallel, starting from the level of found that 
+	 * begins at levelStart and ends at the end of found. */
+	private boolean expandParallel(IndexableGraph<V, E> graph, int levelStart, int hops,
+			DetectionBudget budget, IntArrayList found){
+		ParallelBreadthFirstSearch search = new ParallelBreadthFirstSearch(graph, null, 0, 
+				found.toArray(), found.size(), levelStart);
+		for (int hop = 0; hop < hops; hop++){
+			long inspectedEdges = search.getInspectedEdges();
+			levelStart = found.size();
+			if (!search.expandLevel()){
+				return search.isInterrupted();
+			}
+			budget.evaluateEdges(search.getInspectedEdges() - inspectedEdges);
+			for (int i = levelStart; i < search.getNumberOfVisited(); i++){
+				if (found.size() >= maxNeighborhoodSize){
+					budget.visitVertices(found.size() - levelStart);
+					return true;
+				}
+				found.add(search.getVisited(i));
+			}
+			budget.visitVertices(found.size() - levelStart);
+			if (budget.isExhausted()){
+				return true;
+			}
+		}
+		return false;
+	}
 
 	public int getNumberOfHops() {
 		return numberOfHops;
@@ -73,5 +174,31 @@ public class NeighborhoodDetector<V extends StringIndexableVertex,E> implements
 		this.numberOfHops = numberOfHops;
 	}
 
-	
+	public int getMaxNeighborhoodSize() {
+		return maxNeighborhoodSize;
+	}
+	/**
+	 * Stop the traversal as soon as the neighborhood has the given number of members; the
+	 * members are then the seed and the closest vertices to it.
+	 */
+	public void setMaxNeighborhoodSize(int maxNeighborhoodSize) {
+		if (maxNeighborhoodSize < 1){
+			throw new IllegalArgumentException("The maximum neighborhood size should be a positive number!");
+		}
+		this.maxNeighborhoodSize = maxNeighborhoodSize;
+	}
+
+	public int getParallelThreshold() {
+		return parallelThreshold;
+	}
+	/**
+	 * Set the size of a level of the traversal from which the following levels are expanded
+	 * in parallel; UNLIMITED keeps the traversal sequential.
+	 */
+	public void setParallelThreshold(int parallelThreshold) {
+		if (parallelThreshold < 1){
+			throw new IllegalArgumentException("The parallel threshold should be a positive number!");
+		}
+		this.parallelThreshold = parallelThreshold;
+	}
 }
@@ -0,0 +1,237 @@
+/*
+  @(#) NeighbourhoodSketches.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import jung.GraphUpdateListener;
+import jung.IndexableUndirectedSparseGraph;
+
+/**
+ * Bottom-k MinHash sketches of the neighbourhoods of high-degree vertices, used for
+ * estimating the number of common neighbours of edges incident to hubs in O(k) time
+ * instead of O(degree).
+ *
+ * The sketch of a vertex holds the k smallest hash values of its neighbours. The k smallest
+ * values of the union of two sketches are a uniform sample of the union of the two
+ * neighbourhoods, hence the fraction of them that appears in both sketches estimates the
+ * Jaccard similarity J of the neighbourhoods, with a standard error of about
+ * sqrt(J(1-J)/k). The number of common neighbours is then J(d1+d2)/(1+J). If the union of
+ * the neighbourhoods has at most k vertices, the estimate is exact.
+ *
+ * The relative error of such estimates is only small if the neighbourhoods have comparable
+ * sizes, so they are used for pairs of vertices that both reach the degree threshold. When
+ * only one of them is a hub, the common neighbours are counted exactly by the graph, in
+ * O(min degree) time for a hub that keeps a neighbourhood bitmap and O(d log(D/d)) time 
+ * otherwise.
+ *
+ * Sketches are built lazily, only for vertices whose degree reaches the degree threshold,
+ * and are discarded when an edge of the vertex is added or removed; hence, the object
+ * should be registered with the graph, which happens on construction.
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class NeighbourhoodSketches<V, E> implements GraphUpdateListener<V,E> {
+
+	private final IndexableUndirectedSparseGraph<V, E> graph;
+	private final int k;
+	private final int degreeThreshold;
+	private final long seed;
+
+	/* Sketches by vertex index. */
+	private final ConcurrentMap<Integer, long[]> sketches = new ConcurrentHashMap<Integer, long[]>();
+
+	/**
+	 * Create the sketches and register them with the graph.
+	 *
+	 * @param graph Input graph.
+	 * @param k Size of the sketches; the error of the estimates decreases with sqrt(k).
+	 * @param degreeThreshold Minimum degree of a vertex for its edges to be estimated.
+	 */
+	public NeighbourhoodSketches(IndexableUndirectedSparseGraph<V, E> graph, int k, int degreeThreshold){
+		this(graph, k, degreeThreshold, 0x9E3779B97F4A7C15L);
+	}
+
+	/**
+	 * @param seed Seed of the hash function.
+	 */
+	public NeighbourhoodSketches(IndexableUndirectedSparseGraph<V, E> graph, int k, int degreeThreshold,
+			long seed){
+		if (k < 1){
+			throw new IllegalArgumentException("The size of the sketches should be a positive number!");
+		}
+		this.graph = graph;
+		this.k = k;
+		this.degreeThreshold = degreeThreshold;
+		this.seed = seed;
+		graph.addGraphUpdateListener(this);
+	}
+
+	/**
+	 * Stop listening to updates of the graph.
+	 */
+	public void detach(){
+		graph.removeGraphUpdateListener(this);
+		sketches.clear();
+	}
+
+	public IndexableUndirectedSparseGraph<V, E> getGraph(){
+		return graph;
+	}
+	public int getSketchSize(){
+		return k;
+	}
+	public int getDegreeThreshold(){
+		return degreeThreshold;
+	}
+	public long getSeed(){
+		return seed;
+	}
+	public int getNumberOfSketches(){
+		return sketches.size();
+	}
+
+	/**
+	 * @param v1 Index of the first vertex.
+	 * @param v2 Index of the second vertex.
+	 * @return true if the common neighbours of the vertices are estimated, i.e. if both of 
+	 * them have at least the threshold degree.
+	 */
+	public boolean isEstimated(int v1, int v2){
+		return Math.min(graph.getDegreeByIndex(v1), graph.getDegreeByIndex(v2)) >= degreeThreshold;
+	}
+	
+	/**
+	 * @param v1 Index of the first vertex.
+	 * @param v2 Index of the second vertex.
+	 * @return true if one of the vertices has at least the threshold degree.
+	 */
+	public boolean isHubPair(int v1, int v2){
+		return Math.max(graph.getDegreeByIndex(v1), graph.getDegreeByIndex(v2)) >= degreeThreshold;
+	}
+	
+	/**
+	 * Get the number of common neighbours of two vertices: estimated from the sketches if
+	 * both are hubs, counted exactly by the graph otherwise (which gallops the smaller
+	 * neighbourhood into the larger one, or probes it against its bitmap).
+	 * 
+	 * @param v1 Index of the first vertex.
+	 * @param v2 Index of the second vertex.
+	 * @return
+	 */
+	public double getCommonNeighbours(int v1, int v2){
+		if (isEstimated(v1, v2)){
+			return estimateCommonNeighbours(v1, v2);
+		}
+		return graph.countCommonNeighbors(v1, v2);
+	}
+
+	/**
+	 * Estimate the number of common neighbours of two vertices.
+	 *
+	 * @param v1 Index of the first vertex.
+	 * @param v2 Index of the second vertex.
+	 * @return
+	 */
+	public double estimateCommonNeighbours(int v1, int v2){
+		long[] a = getSketch(v1);
+		long[] b = getSketch(v2);
+		int i = 0;
+		int j = 0;
+		int seen = 0;
+		int common = 0;
+		/* merge the two sketches up to the k smallest values of their union */
+		while ((seen < k) && (i < a.length) && (j < b.length)){
+			if (a[i] == b[j]){
+				common++;
+				i++;
+				j++;
+			} else if (a[i] < b[j]){
+				i++;
+			} else {
+				j++;
+			}
+			seen++;
+		}
+		seen += Math.min(k-seen, (a.length-i) + (b.length-j));
+		if (seen == 0 || common == 0){
+			return 0.0;
+		}
+		double jaccard = (double)common / (double)seen;
+		int deg1 = graph.getDegreeByIndex(v1);
+		int deg2 = graph.getDegreeByIndex(v2);
+		/* the vertices are neighbours of each other but not of themselves */
+		return Math.min(jaccard * (deg1 + deg2) / (1.0 + jaccard), Math.min(deg1, deg2) - 1);
+	}
+
+	/**
+	 * Get the sketch of a vertex, building it if necessary.
+	 * @param vertexIndex
+	 * @return The hash values of the sketch, in increasing order.
+	 */
+	public long[] getSketch(int vertexIndex){
+		long[] sketch = sketches.get(vertexIndex);
+		if (sketch == null){
+			sketch = buildSketch(vertexIndex);
+			sketches.put(vertexIndex, sketch);
+		}
+		return sketch;
+	}
+
+	private long[] buildSketch(int vertexIndex){
+		int deg = graph.getDegreeByIndex(vertexIndex);
+		long[] hashes = new long[deg];
+		for (int p = 0; p < deg; p++){
+			hashes[p] = hash(graph.getNeighborIndex(vertexIndex, p));
+		}
+		Arrays.sort(hashes);
+		return (deg <= k) ? hashes : Arrays.copyOf(hashes, k);
+	}
+
+	/* 64-bit mixing function (finalizer of MurmurHash3). Values are compared as signed longs,
+	 * which keeps them uniformly ordered. */
+	private long hash(int vertexIndex){
+		long h = vertexIndex ^ seed;
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+
+	public void edgeAdded(E edge, V v1, V v2) {
+		discard(v1, v2);
+	}
+
+	public void edgeRemoved(E edge, V v1, V v2) {
+		discard(v1, v2);
+	}
+
+	private void discard(V v1, V v2){
+		int i1 = graph.getVertexIndex(v1);
+		if (i1 >= 0) sketches.remove(i1);
+		int i2 = graph.getVertexIndex(v2);
+		if (i2 >= 0) sketches.remove(i2);
+	}
+}
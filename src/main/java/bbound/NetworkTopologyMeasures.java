@@ -19,15 +19,170 @@
 */
 package bbound;
 
+import jung.IndexableGraph;
+
 /**
  * Available measures for estimating properties of the local graph topology.
- * Each measure that is listed here should be accompanied by a respective implementation
- * of its calculation in class NetworkTopologyMeasuresCalculator.
+ * Each measure that is listed here implements its calculation through the EdgeMeasure 
+ * interface; NetworkTopologyMeasuresCalculator takes care of memoizing the values and of 
+ * computing them in bulk. Further measures can be plugged in by implementing EdgeMeasure.
  * 
  * @author Symeon Papadopoulos
  *
  */
-public enum NetworkTopologyMeasures {
-	ELB,
-	ELB2
+public enum NetworkTopologyMeasures implements EdgeMeasure {
+	/* Edge local bridging (equivalent to: 1.0-edge clustering coefficient). */
+	ELB {
+		public EdgeMeasure[] getDependencies() {
+			return new EdgeMeasure[]{CN};
+		}
+		public double calculate(NetworkTopologyMeasuresCalculator<?,?> calculator, int edgeIndex) {
+			IndexableGraph<?,?> graph = calculator.getGraph();
+			int deg1 = graph.getDegreeByIndex(graph.getFirstEndpointIndex(edgeIndex));
+			int deg2 = graph.getDegreeByIndex(graph.getSecondEndpointIndex(edgeIndex));
+			if (Math.min(deg1-1, deg2-1) == 1){
+				return 1.0;
+			}
+			return NetworkTopologyMeasuresCalculator.getElb(calculator.getValue(CN, edgeIndex), deg1, deg2);
+		}
+	},
+	/* 2nd order edge local bridging (average between the local bridging of the edge and the 
+	 * bridging values of the surrounding edges). */
+	ELB2 {
+		public EdgeMeasure[] getDependencies() {
+			return new EdgeMeasure[]{ELB};
+		}
+		public boolean isLocal() {
+			return false;
+		}
+		public double calculate(NetworkTopologyMeasuresCalculator<?,?> calculator, int edgeIndex) {
+			return getSecondOrder(calculator, ELB, edgeIndex);
+		}
+	},
+	/* Weighted variants of ELB and ELB2, which take into account the weights (frequencies)
+	 * of the edges. */
+	WELB {
+		public EdgeMeasure[] getDependencies() {
+			return new EdgeMeasure[]{WCN};
+		}
+		public double calculate(NetworkTopologyMeasuresCalculator<?,?> calculator, int edgeIndex) {
+			IndexableGraph<?,?> graph = calculator.getGraph();
+			return NetworkTopologyMeasuresCalculator.getWelb(calculator.getValue(WCN, edgeIndex),
+					calculator.getStrength(graph.getFirstEndpointIndex(edgeIndex)),
+					calculator.getStrength(graph.getSecondEndpointIndex(edgeIndex)),
+					graph.getEdgeWeightByIndex(edgeIndex));
+		}
+	},
+	WELB2 {
+		public EdgeMeasure[] getDependencies() {
+			return new EdgeMeasure[]{WELB};
+		}
+		public boolean isLocal() {
+			return false;
+		}
+		public double calculate(NetworkTopologyMeasuresCalculator<?,?> calculator, int edgeIndex) {
+			return getSecondOrder(calculator, WELB, edgeIndex);
+		}
+	},
+	/* Number of common neighbours of the edge endpoints. It is the building block of ELB
+	 * and is not meant to be used as a bridging measure on its own. */
+	CN {
+		public boolean isIntersectionMeasure() {
+			return true;
+		}
+		public double getContribution(NetworkTopologyMeasuresCalculator<?,?> calculator,
+				int commonNeighbour, double weight1, double weight2) {
+			return 1.0;
+		}
+	},
+	/* Weight shared by the edge endpoints with their common neighbours, i.e. the sum of 
+	 * min(w_1x, w_2x) over the common neighbours x. It is the building block of WELB. */
+	WCN {
+		public boolean isIntersectionMeasure() {
+			return true;
+		}
+		public double getContribution(NetworkTopologyMeasuresCalculator<?,?> calculator,
+				int commonNeighbour, double weight1, double weight2) {
+			return Math.min(weight1, weight2);
+		}
+	},
+	/* Jaccard similarity of the neighbourhoods of the edge endpoints (each excluding the 
+	 * other endpoint). */
+	JACCARD {
+		public EdgeMeasure[] getDependencies() {
+			return new EdgeMeasure[]{CN};
+		}
+		public double calculate(NetworkTopologyMeasuresCalculator<?,?> calculator, int edgeIndex) {
+			IndexableGraph<?,?> graph = calculator.getGraph();
+			int deg1 = graph.getDegreeByIndex(graph.getFirstEndpointIndex(edgeIndex));
+			int deg2 = graph.getDegreeByIndex(graph.getSecondEndpointIndex(edgeIndex));
+			double countCommon = calculator.getValue(CN, edgeIndex);
+			double union = (deg1-1) + (deg2-1) - countCommon;
+			return (union > 0) ? countCommon / union : 0.0;
+		}
+	},
+	/* Adamic-Adar index of the edge endpoints: sum of 1/log(degree) over their common 
+	 * neighbours. */
+	ADAMIC_ADAR {
+		public boolean isIntersectionMeasure() {
+			return true;
+		}
+		public boolean isLocal() {
+			return false;
+		}
+		public double getContribution(NetworkTopologyMeasuresCalculator<?,?> calculator,
+				int commonNeighbour, double weight1, double weight2) {
+			/* a common neighbour has degree 2 or more */
+			return 1.0 / Math.log(calculator.getGraph().getDegreeByIndex(commonNeighbour));
+		}
+	};
+	
+	/* Weight of the value of the edge itself in second order measures. */
+	private static final double ALPHA = 0.5;
+	
+	public String getName() {
+		return name();
+	}
+	
+	public EdgeMeasure[] getDependencies() {
+		return new EdgeMeasure[0];
+	}
+	
+	public boolean isLocal() {
+		return true;
+	}
+	
+	public boolean isIntersectionMeasure() {
+		return false;
+	}
+	
+	public double getContribution(NetworkTopologyMeasuresCalculator<?,?> calculator,
+			int commonNeighbour, double weight1, double weight2) {
+		throw new UnsupportedOperationException(name() + " is not an intersection measure!");
+	}
+	
+	public double calculate(NetworkTopologyMeasuresCalculator<?,?> calculator, int edgeIndex) {
+		throw new UnsupportedOperationException(name() + " is an intersection measure!");
+	}
+	
+	/* Average between the first order value of the edge and the values of the edges 
+	 * incident to its endpoints (including the edge itself, once per endpoint). */
+	private static double getSecondOrder(NetworkTopologyMeasuresCalculator<?,?> calculator, 
+			EdgeMeasure firstOrder, int edgeIndex){
+		IndexableGraph<?,?> graph = calculator.getGraph();
+		double thisValue = calculator.getValue(firstOrder, edgeIndex);
+		int v1 = graph.getFirstEndpointIndex(edgeIndex);
+		int v2 = graph.getSecondEndpointIndex(edgeIndex);
+		int deg1 = graph.getDegreeByIndex(v1);
+		int deg2 = graph.getDegreeByIndex(v2);
+		
+		double sum = 0.0;
+		for (int i = 0; i < deg1; i++){
+			sum += calculator.getValue(firstOrder, graph.getIncidentEdgeIndex(v1, i));
+		}
+		for (int i = 0; i < deg2; i++){
+			sum += calculator.getValue(firstOrder, graph.getIncidentEdgeIndex(v2, i));
+		}
+		return ALPHA*thisValue + (1.0-ALPHA)*sum/(deg1+deg2);
+	}
 }
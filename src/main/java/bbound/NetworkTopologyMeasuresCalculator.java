@@ -19,118 +19,324 @@
 package bbound;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
 
-import edu.uci.ics.jung.graph.util.Pair;
-import jung.WalkableWeightedEdge;
-import jung.IndexableUndirectedSparseGraph;
+import jung.EdgeAttributeStore;
+import jung.IndexableGraph;
 import jung.StringIndexableVertex;
+import util.IntArrayList;
 
 /**
  * This class calculates a series of predefined network topology measures
  * around a given edge or node.
  * 
+ * Measures are computed lazily (edge by edge) and memoized in the EdgeAttributeStore of 
+ * the graph, one column per measure. Alternatively, calculateAllMeasures() computes the 
+ * measures of all edges in a single pass over the graph, optionally pruning weak edges 
+ * beforehand. In both cases, the intersection measures (see EdgeMeasure) that the measure
+ * of the calculator depends on are computed together, from a single intersection of the 
+ * neighbourhoods of the edge endpoints. Neighbourhoods are intersected by the graph (see
+ * IndexableGraph.intersectNeighbors()); when common neighbours only need to be counted, 
+ * the graph may also use the neighbourhood bitmaps of high-degree vertices.
+ * 
+ * The weighted measures use the weight (frequency) of the edges: the weighted edge local 
+ * bridging of edge (u,v) is 1 - sum_x min(w_ux, w_vx) / min(s_u - w_uv, s_v - w_uv), where
+ * x ranges over the common neighbours of u and v and s denotes the strength (total edge 
+ * weight) of a vertex. For unit weights the numerator is CN and the denominator that of
+ * ELB, min(d_u - 1, d_v - 1), so WELB equals ELB when the denominator is at least 2. They
+ * differ in the degenerate cases: when it is 1, ELB is 1 by convention whereas WELB is 
+ * 1 - CN (0 if the endpoints share their other neighbour), and when it is 0, ELB is NaN
+ * (0/0) whereas WELB is 1.
+ * 
  * @author Symeon Papadopoulos
  *
  */
 public class NetworkTopologyMeasuresCalculator<V extends StringIndexableVertex, E> {
 
-	private final NetworkTopologyMeasures measure;
-	private IndexableUndirectedSparseGraph<V, E> referenceGraph = null;
-	private final double alpha = 0.5;
+	private final EdgeMeasure measure;
+	private IndexableGraph<V, E> referenceGraph = null;
+	private final EdgeAttributeStore store;
+	
+	/* The measure and its (transitive) dependencies, dependencies first. */
+	private final List<EdgeMeasure> measures;
+	
+	/* The intersection measures among the above, which are computed together. */
+	private final EdgeMeasure[] intersectionMeasures;
+	
+	/* Per-thread scratch space receiving the positions of the common neighbours in the 
+	 * neighbourhoods of the two edge endpoints. */
+	private static final ThreadLocal<IntArrayList[]> POSITIONS = new ThreadLocal<IntArrayList[]>(){
+		protected IntArrayList[] initialValue(){
+			return new IntArrayList[]{new IntArrayList(), new IntArrayList()};
+		}
+	};
+	
+	/* Per-thread scratch space receiving the sums of the intersection measures of an edge; 
+	 * replaced by a larger array when a calculator fuses more measures. */
+	private static final ThreadLocal<double[]> SUMS = new ThreadLocal<double[]>(){
+		protected double[] initialValue(){
+			return new double[NetworkTopologyMeasures.values().length];
+		}
+	};
 	
 	public NetworkTopologyMeasuresCalculator(
-			IndexableUndirectedSparseGraph<V,E> g, NetworkTopologyMeasures measure){
+			IndexableGraph<V,E> g, EdgeMeasure measure){
+		this(g, new EdgeMeasure[]{measure});
+	}
+	
+	/**
+	 * Create a calculator for several measures; the first one is the measure returned by 
+	 * calculateMeasure(), and all of them are computed by calculateAllMeasures().
+	 * @param g
+	 * @param measures
+	 */
+	public NetworkTopologyMeasuresCalculator(
+			IndexableGraph<V,E> g, EdgeMeasure... measures){
+		if (measures.length == 0){
+			throw new IllegalArgumentException("At least one network measure should be provided!");
+		}
 		this.referenceGraph = g;
-		this.measure = measure;
+		this.store = g.getEdgeAttributes();
+		this.measure = measures[0];
+		this.measures = new ArrayList<EdgeMeasure>();
+		for (int i = 0; i < measures.length; i++){
+			resolve(measures[i], new ArrayList<EdgeMeasure>());
+		}
+		List<EdgeMeasure> intersection = new ArrayList<EdgeMeasure>();
+		for (int i = 0; i < this.measures.size(); i++){
+			if (this.measures.get(i).isIntersectionMeasure()){
+				intersection.add(this.measures.get(i));
+			}
+		}
+		this.intersectionMeasures = intersection.toArray(new EdgeMeasure[intersection.size()]);
+	}
+	
+	/* Add the measure after its dependencies (depth-first). */
+	private void resolve(EdgeMeasure m, List<EdgeMeasure> path){
+		if (measures.contains(m)) return;
+		if (path.contains(m)){
+			throw new IllegalArgumentException("Cyclic dependency of network measure " + m.getName() + "!");
+		}
+		path.add(m);
+		EdgeMeasure[] dependencies = m.getDependencies();
+		for (int i = 0; i < dependencies.length; i++){
+			resolve(dependencies[i], path);
+		}
+		path.remove(path.size()-1);
+		measures.add(m);
+	}
+	
+	public IndexableGraph<V, E> getGraph(){
+		return referenceGraph;
+	}
+	public EdgeMeasure getMeasure(){
+		return measure;
 	}
 	
 	public double calculateMeasure(E edge){
-		if (NetworkTopologyMeasures.ELB.equals(measure)){
-			return calculateElb(edge);
-		} else if (NetworkTopologyMeasures.ELB2.equals(measure)) {
-			return calculateElb2(edge);
-		} else {
-			throw new IllegalArgumentException("Unsupported network measure!");
+		int edgeIndex = referenceGraph.getEdgeIndex(edge);
+		if (edgeIndex < 0){
+			throw new IllegalArgumentException("Input graph does not contain the edge!");
 		}
+		return getValue(measure, edgeIndex);
 	}
 	
 	/**
-	 * Calculate edge local bridging (equivalent to: 1.0-edge clustering coefficient)
+	 * Get the value of a measure for an edge, computing it if it is not memoized.
 	 * 
-	 * @param edge
+	 * @param m The measure.
+	 * @param edgeIndex Index of the edge.
 	 * @return
 	 */
-	private double calculateElb(E edge){
-		if (edge instanceof WalkableWeightedEdge){
-			Double elb = ((WalkableWeightedEdge)edge).getNetworkTopologyMeasure(NetworkTopologyMeasures.ELB);
-			if (elb != null){
-				return elb;
-			}
+	public double getValue(EdgeMeasure m, int edgeIndex){
+		EdgeAttributeStore.Column column = store.getColumn(m);
+		/* a single read, since the column may grow concurrently; a memoized NaN is recomputed */
+		double memoized = column.get(edgeIndex, Double.NaN);
+		if (!Double.isNaN(memoized)){
+			return memoized;
 		}
-		
-		Pair<V> endpoints = referenceGraph.getEndpoints(edge);
-		V v1 = endpoints.getFirst();
-		V v2 = endpoints.getSecond();
-		int deg1 = referenceGraph.degree(v1);
-		int deg2 = referenceGraph.degree(v2);
-		int denominator = Math.min(deg1-1, deg2-1);
-		if (denominator == 1){
-			return 1.0;
+		if (m.isIntersectionMeasure()){
+			return intersect(m, edgeIndex);
+		}
+		double value = m.calculate(this, edgeIndex);
+		column.set(edgeIndex, value);
+		return value;
+	}
+	
+	/**
+	 * Get the strength (total weight of the edges) of a vertex.
+	 * @param vertexIndex
+	 * @return
+	 */
+	public double getStrength(int vertexIndex){
+		double strength = 0.0;
+		int deg = referenceGraph.getDegreeByIndex(vertexIndex);
+		for (int i = 0; i < deg; i++){
+			strength += referenceGraph.getEdgeWeightByIndex(referenceGraph.getIncidentEdgeIndex(vertexIndex, i));
+		}
+		return strength;
+	}
+	
+	/* Intersect the neighbourhoods of the edge endpoints and store the values of all 
+	 * intersection measures of the calculator (plus the requested one). */
+	private double intersect(EdgeMeasure requested, int edgeIndex){
+		EdgeMeasure[] fused = intersectionMeasures;
+		boolean included = false;
+		for (int k = 0; k < fused.length && !included; k++){
+			included = fused[k].equals(requested);
+		}
+		if (!included){
+			fused = new EdgeMeasure[]{requested};
 		}
 		
-		Set<V> neighborhood1Set = new HashSet<V>(referenceGraph.getNeighbors(v1));
-		List<V> neighborhood2 = new ArrayList<V>(referenceGraph.getNeighbors(v2));
+		double[] sums = SUMS.get();
+		if (sums.length < fused.length){
+			sums = new double[fused.length];
+			SUMS.set(sums);
+		}
+		Arrays.fill(sums, 0, fused.length, 0.0);
+		accumulate(fused, edgeIndex, sums);
 		
-		int countCommon = 0;
-		for (int i = 0; i < neighborhood2.size(); i++) {
-			if (neighborhood1Set.contains(neighborhood2.get(i))){
-				countCommon++;
+		double value = 0.0;
+		for (int k = 0; k < fused.length; k++){
+			store.getColumn(fused[k]).set(edgeIndex, sums[k]);
+			if (fused[k].equals(requested)){
+				value = sums[k];
 			}
 		}
-		double elb = (1.0-(double)countCommon / (double)denominator);
-		if (edge instanceof WalkableWeightedEdge){
-			((WalkableWeightedEdge)edge).setNetworkTopologyMeasure(NetworkTopologyMeasures.ELB, elb);
+		return value;
+	}
+	
+	/* Sum the contributions of the common neighbours of the edge endpoints to the given 
+	 * intersection measures. */
+	private void accumulate(EdgeMeasure[] fused, int edgeIndex, double[] sums){
+		IndexableGraph<V, E> graph = referenceGraph;
+		int v1 = graph.getFirstEndpointIndex(edgeIndex);
+		int v2 = graph.getSecondEndpointIndex(edgeIndex);
+		if (fused.length == 1 && NetworkTopologyMeasures.CN.equals(fused[0])){
+			/* only a count is needed */
+			sums[0] = graph.countCommonNeighbors(v1, v2);
+			return;
+		}
+		IntArrayList[] positions = POSITIONS.get();
+		int common = graph.intersectNeighbors(v1, v2, positions[0], positions[1]);
+		for (int i = 0; i < common; i++){
+			int p1 = positions[0].get(i);
+			int p2 = positions[1].get(i);
+			int x = graph.getNeighborIndex(v1, p1);
+			double weight1 = graph.getEdgeWeightByIndex(graph.getIncidentEdgeIndex(v1, p1));
+			double weight2 = graph.getEdgeWeightByIndex(graph.getIncidentEdgeIndex(v2, p2));
+			for (int k = 0; k < fused.length; k++){
+				sums[k] += fused[k].getContribution(this, x, weight1, weight2);
+			}
 		}
-		return elb;
 	}
 	
 	/**
-	 * Calculate 2nd order edge local bridging (average between the local bridging of
-	 * the edge and the bridging values of the surrounding edges)
+	 * Compute and memoize the measures of all edges of the graph in one pass.
 	 * 
-	 * @param edge
-	 * @return
+	 * @see #calculateAllMeasures(double)
 	 */
-	private double calculateElb2(E edge){
-		if (edge instanceof WalkableWeightedEdge){
-			Double elb2 = ((WalkableWeightedEdge)edge).getNetworkTopologyMeasure(NetworkTopologyMeasures.ELB2);
-			if (elb2 != null){
-				return elb2;
+	public void calculateAllMeasures(){
+		calculateAllMeasures(Double.NEGATIVE_INFINITY);
+	}
+	
+	/**
+	 * Remove the edges whose weight is lower than minWeight from the graph and then compute 
+	 * the measures of the calculator (and their dependencies) for all remaining edges. All 
+	 * intersection measures are computed in a single pass, which intersects the 
+	 * neighbourhoods of the endpoints of every edge once; the derived measures are then computed from the memoized values, 
+	 * dependencies first. Previously memoized values of these measures are discarded.
+	 * 
+	 * @param minWeight Minimum weight (frequency) of an edge to be kept in the graph.
+	 * @return The number of pruned edges.
+	 */
+	public int calculateAllMeasures(double minWeight){
+		IndexableGraph<V, E> graph = referenceGraph;
+		
+		/* prune weak edges (through the graph, so that its listeners are notified) */
+		List<E> weakEdges = new ArrayList<E>();
+		for (int e = 0; e < graph.getEdgeIndexBound(); e++){
+			if (graph.getEdgeByIndex(e) != null && graph.getEdgeWeightByIndex(e) < minWeight){
+				weakEdges.add(graph.getEdgeByIndex(e));
 			}
 		}
+		for (int i = 0; i < weakEdges.size(); i++){
+			graph.removeEdge(weakEdges.get(i));
+		}
 		
-		Pair<V> endpoints = referenceGraph.getEndpoints(edge);
-		double thisElb = calculateElb(edge);
-		V v1 = endpoints.getFirst();
-		V v2 = endpoints.getSecond();
-		List<E> edges1 = new ArrayList<E>(referenceGraph.getIncidentEdges(v1));
-		List<E> edges2 = new ArrayList<E>(referenceGraph.getIncidentEdges(v2));
+		for (int i = 0; i < measures.size(); i++){
+			store.getColumn(measures.get(i)).clear();
+		}
 		
-		double sum = 0.0;
-		for (int i = 0; i < edges1.size(); i++){
-			sum += calculateElb(edges1.get(i));
+		int m = graph.getEdgeIndexBound();
+		
+		/* intersect the neighbourhoods of the endpoints of every edge once */
+		EdgeMeasure[] fused = intersectionMeasures;
+		if (fused.length > 0){
+			EdgeAttributeStore.Column[] columns = new EdgeAttributeStore.Column[fused.length];
+			for (int k = 0; k < fused.length; k++){
+				columns[k] = store.getColumn(fused[k]);
+			}
+			double[] sums = new double[fused.length];
+			for (int e = 0; e < m; e++){
+				if (graph.getEdgeByIndex(e) == null) continue;
+				Arrays.fill(sums, 0.0);
+				accumulate(fused, e, sums);
+				for (int k = 0; k < fused.length; k++){
+					columns[k].set(e, sums[k]);
+				}
+			}
 		}
-		for (int i = 0; i < edges2.size(); i++){
-			sum += calculateElb(edges2.get(i));
+		
+		/* derived measures, in dependency order */
+		for (int i = 0; i < measures.size(); i++){
+			EdgeMeasure derived = measures.get(i);
+			if (derived.isIntersectionMeasure()) continue;
+			for (int e = 0; e < m; e++){
+				if (graph.getEdgeByIndex(e) != null){
+					getValue(derived, e);
+				}
+			}
+		}
+		return weakEdges.size();
+	}
+	
+	/**
+	 * Compute edge local bridging from the number of common neighbours and the degrees
+	 * of the edge endpoints.
+	 * 
+	 * @param countCommon Number of common neighbours of the edge endpoints (possibly estimated).
+	 * @param deg1 Degree of the first endpoint.
+	 * @param deg2 Degree of the second endpoint.
+	 * @return
+	 */
+	public static double getElb(double countCommon, int deg1, int deg2){
+		int denominator = Math.min(deg1-1, deg2-1);
+		if (denominator == 1){
+			return 1.0;
 		}
-		double elb2 = alpha*thisElb + (1.0-alpha)*sum/(edges1.size()+edges2.size());
-		if (edge instanceof WalkableWeightedEdge){
-			((WalkableWeightedEdge)edge).setNetworkTopologyMeasure(NetworkTopologyMeasures.ELB2, elb2);
+		return (1.0-countCommon / (double)denominator);
+	}
+	
+	/**
+	 * Compute weighted edge local bridging from the weight shared with the common neighbours
+	 * and the strengths of the edge endpoints.
+	 * 
+	 * @param overlap Sum over the common neighbours x of min(w_1x, w_2x).
+	 * @param strength1 Total weight of the edges of the first endpoint.
+	 * @param strength2 Total weight of the edges of the second endpoint.
+	 * @param weight Weight of the edge itself.
+	 * @return
+	 */
+	public static double getWelb(double overlap, double strength1, double strength2, double weight){
+		double denominator = Math.min(strength1-weight, strength2-weight);
+		if (denominator <= 0.0){
+			/* one of the endpoints has no other connections */
+			return 1.0;
 		}
-		return elb2;
+		return (1.0-overlap / denominator);
 	}
 	
 }
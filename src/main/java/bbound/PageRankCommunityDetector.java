@@ -0,0 +1,194 @@
+/*
+  @(#) PageRankCommunityDetector.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import graph.Community;
+import jung.IndexableGraph;
+import jung.IndexableUndirectedSparseGraph;
+import jung.StringIndexableVertex;
+import util.IntArrayList;
+import util.SparseVector;
+
+/**
+ * Local community detection by approximate personalized PageRank (R. Andersen, F. Chung,
+ * K. Lang, Local Graph Partitioning using PageRank Vectors, FOCS 2006).
+ *
+ * The PageRank vector p of the seed, with teleportation probability alpha, is approximated
+ * by the push procedure: starting from a residual r that holds all the probability mass on
+ * the seed, any vertex u with r(u) >= epsilon*d(u) keeps alpha*r(u) in p(u), keeps half of
+ * the rest in r(u) and spreads the other half evenly to the residuals of its neighbours
+ * (lazy random walk). Each push moves at least alpha*epsilon*d(u) of mass and inspects d(u)
+ * edges, so the total work is at most 1/(alpha*epsilon) edge inspections, independently of
+ * the size of the graph, and only the vertices that receive mass are touched.
+ *
+ * The community is then the prefix of minimum conductance of the vertices sorted by
+ * decreasing p(u)/d(u) (see ConductanceSweep), among the prefixes that contain the seed.
+ * The graph is treated as unweighted.
+ *
+ * The vectors are kept in per-thread sparse vectors (see SparseVector), so repeated calls
+ * do not allocate space proportional to the graph.
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class PageRankCommunityDetector<V extends StringIndexableVertex,E> implements BudgetedCommunityDetector<V,E> {
+
+	/* Teleportation probability. */
+	private double alpha = 0.15;
+
+	/* Residual per unit of degree below which a vertex is not pushed. */
+	private double epsilon = 1e-4;
+
+	/* Per-thread state, reused across calls. */
+	private static final ThreadLocal<SparseVector> ESTIMATES = new ThreadLocal<SparseVector>(){
+		protected SparseVector initialValue(){
+			return new SparseVector();
+		}
+	};
+	private static final ThreadLocal<SparseVector> RESIDUALS = new ThreadLocal<SparseVector>(){
+		protected SparseVector initialValue(){
+			return new SparseVector();
+		}
+	};
+	private static final ThreadLocal<IntArrayList> QUEUE = new ThreadLocal<IntArrayList>(){
+		protected IntArrayList initialValue(){
+			return new IntArrayList();
+		}
+	};
+
+	public PageRankCommunityDetector(){
+	}
+
+	/**
+	 * @param alpha Teleportation probability, in (0, 1).
+	 * @param epsilon Approximation threshold (residual per unit of degree), positive.
+	 */
+	public PageRankCommunityDetector(double alpha, double epsilon){
+		setAlpha(alpha);
+		setEpsilon(epsilon);
+	}
+
+	public double getAlpha() {
+		return alpha;
+	}
+	public void setAlpha(double alpha) {
+		if (alpha <= 0 || alpha >= 1){
+			throw new IllegalArgumentException("The teleportation probability should be in (0, 1)!");
+		}
+		this.alpha = alpha;
+	}
+
+	public double getEpsilon() {
+		return epsilon;
+	}
+	public void setEpsilon(double epsilon) {
+		if (epsilon <= 0){
+			throw new IllegalArgumentException("The approximation threshold should be a positive number!");
+		}
+		this.epsilon = epsilon;
+	}
+
+	public Community<V,E> getCommunity(
+			IndexableUndirectedSparseGraph<V, E> graph, V seed) {
+		return getCommunity(graph, seed, new DetectionBudget());
+	}
+
+	/**
+	 * Detect the community of the seed node. Each push counts as a visited vertex and its
+	 * edges as evaluated edges, as does each step of the sweep. When the budget is exhausted
+	 * during the pushes, the sweep runs on the approximation computed so far (and stops at
+	 * the budget as well); the community is then flagged as truncated.
+	 */
+	public Community<V,E> getCommunity(
+			IndexableUndirectedSparseGraph<V, E> graph, V seed, DetectionBudget budget) {
+		int seedIndex = graph.getVertexIndex(seed);
+		if (seedIndex < 0){
+			throw new IllegalArgumentException("Input graph does not contain seed node!");
+		}
+		int cId = 1;
+		Community<V,E> community = new Community<V,E>(cId, graph);
+		community.addMember(seed);
+		if (graph.getDegreeByIndex(seedIndex) == 0){
+			return community;
+		}
+
+		SparseVector estimates = ESTIMATES.get();
+		estimates.clear();
+		SparseVector residuals = RESIDUALS.get();
+		residuals.clear();
+		residuals.set(seedIndex, 1.0);
+		boolean truncated = push(graph, estimates, residuals, alpha, epsilon, budget);
+
+		int[] order = ConductanceSweep.getOrder(graph, estimates);
+		int size = ConductanceSweep.sweep(graph, new int[]{seedIndex}, order, budget);
+		truncated |= budget.isExhausted();
+		for (int i = 0; i < size; i++){
+			community.addMember(graph.getVertexByIndex(order[i]));
+		}
+		community.setTruncated(truncated);
+		return community;
+	}
+
+	/**
+	 * Push residual mass until every residual is below epsilon times the degree.
+	 * @param estimates Receives the estimates.
+	 * @param residuals Initial residuals (the distribution of the seeds), updated in place.
+	 * @return true if the budget stopped the pushes
+	 */
+	static boolean push(IndexableGraph<?,?> graph, SparseVector estimates, SparseVector residuals,
+			double alpha, double epsilon, DetectionBudget budget){
+		IntArrayList queue = QUEUE.get();
+		queue.clear();
+		/* a vertex is queued iff its residual has reached the threshold */
+		for (int i = 0; i < residuals.size(); i++){
+			int v = residuals.getIndex(i);
+			if (residuals.getValueAt(i) >= epsilon * graph.getDegreeByIndex(v)){
+				queue.add(v);
+			}
+		}
+		while (!queue.isEmpty()){
+			if (budget.isExhausted()){
+				return true;
+			}
+			int u = queue.pop();
+			int degree = graph.getDegreeByIndex(u);
+			double mass = residuals.get(u);
+			budget.visitVertex();
+			budget.evaluateEdges(degree);
+
+			estimates.add(u, alpha * mass);
+			double remaining = (1 - alpha) * mass / 2;
+			residuals.set(u, remaining);
+			double share = remaining / degree;
+			for (int p = 0; p < degree; p++){
+				int x = graph.getNeighborIndex(u, p);
+				double threshold = epsilon * graph.getDegreeByIndex(x);
+				double after = residuals.add(x, share);
+				if (after >= threshold && after - share < threshold && x != u){
+					queue.add(x);
+				}
+			}
+			if (residuals.get(u) >= epsilon * degree){
+				queue.add(u);
+			}
+		}
+		return false;
+	}
+}
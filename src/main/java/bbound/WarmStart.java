@@ -0,0 +1,81 @@
+/*
+  @(#) WarmStart.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import graph.Community;
+import jung.IndexableGraph;
+import jung.StringIndexableVertex;
+import util.VertexMarker;
+
+/**
+ * Validation of a previous community for the detectors that support a warm start (see
+ * WarmStartCommunityDetector).
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+final class WarmStart {
+
+	private static final ThreadLocal<VertexMarker> REACHED = new ThreadLocal<VertexMarker>(){
+		protected VertexMarker initialValue(){
+			return new VertexMarker();
+		}
+	};
+
+	private WarmStart(){
+	}
+
+	/**
+	 * @return The seed node followed by the members of the previous community that exist in
+	 * the graph and are connected to the seed node through such members, in breadth-first order.
+	 */
+	static <V extends StringIndexableVertex, E> List<V> getInitialMembers(IndexableGraph<V, E> graph, 
+			V seed, Community<?,?> previous){
+		int seedIndex = graph.getVertexIndex(seed);
+		if (seedIndex < 0){
+			throw new IllegalArgumentException("Input graph does not contain seed node!");
+		}
+		if (previous == null){
+			throw new IllegalArgumentException("The previous community should not be null!");
+		}
+		VertexMarker reached = REACHED.get();
+		reached.reset(graph.getVertexIndexBound());
+		List<V> members = new ArrayList<V>(previous.getNumberOfMembers() + 1);
+		members.add(seed);
+		reached.mark(seedIndex);
+		for (int head = 0; head < members.size(); head++){
+			int v = graph.getVertexIndex(members.get(head));
+			int degree = graph.getDegreeByIndex(v);
+			for (int p = 0; p < degree; p++){
+				int x = graph.getNeighborIndex(v, p);
+				if (reached.isMarked(x)) continue;
+				V neighbour = graph.getVertexByIndex(x);
+				if (previous.containsID(neighbour.getID())){
+					reached.mark(x);
+					members.add(neighbour);
+				}
+			}
+		}
+		return members;
+	}
+}
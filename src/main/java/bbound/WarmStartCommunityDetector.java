@@ -0,0 +1,78 @@
+/*
+  @(#) WarmStartCommunityDetector.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import graph.Community;
+import jung.IndexableUndirectedSparseGraph;
+import jung.StringIndexableVertex;
+
+/**
+ * This interface extends local community detection with a warm start: the detection starts
+ * from a previously detected community of the seed node (e.g. on an earlier version of the
+ * graph) instead of the seed node alone. The previous community is first validated against
+ * the graph: members that no longer exist, or that are no longer connected to the seed node
+ * through other members, are dropped. The remaining members are then repaired with the
+ * moves that the algorithm has, so the repair is specific to each detector:
+ * <ul>
+ * <li>ClausetCommunityDetector removes members one at a time as long as the removal
+ * increases the local modularity R, then resumes the agglomeration.</li>
+ * <li>LWPCommunityDetector repairs the community with the deletion steps of the method,
+ * which alternate with its addition steps as usual.</li>
+ * <li>BagrowCommunityDetector has no removal move: it keeps all the validated members and
+ * resumes the agglomeration past the first cusp of Mout, so it only adds members, and stops
+ * as soon as an addition increases Mout.</li>
+ * </ul>
+ * When the graph has changed little, the detection then takes a fraction of the steps of
+ * a detection from the seed node alone.
+ * 
+ * @author Symeon Papadopoulos
+ *
+ */
+public interface WarmStartCommunityDetector<V extends StringIndexableVertex, E> extends BudgetedCommunityDetector<V,E> {
+
+	/**
+	 * Create a community containing the given seed node, starting from a previous community.
+	 * 
+	 * @param graph Input graph where the local community detection is applied.
+	 * @param seed Seed node for initiating the local community detection method.
+	 * @param previous Previous community of the seed node; its members are matched to the
+	 * vertices of the input graph by id, so it may refer to another version of the graph.
+	 * @return The identified community around the input seed node.
+	 */
+	public Community<V,E> getCommunity(IndexableUndirectedSparseGraph<V, E> graph, V seed, 
+			Community<?,?> previous);
+	
+	/**
+	 * Create a community containing the given seed node, starting from a previous community
+	 * and performing at most the amount of work allowed by the given budget. If the budget
+	 * is exhausted before the detection completes, the best community found so far is 
+	 * returned and flagged as truncated.
+	 * 
+	 * @param graph Input graph where the local community detection is applied.
+	 * @param seed Seed node for initiating the local community detection method.
+	 * @param previous Previous community of the seed node; its members are matched to the
+	 * vertices of the input graph by id, so it may refer to another version of the graph.
+	 * @param budget Work budget (deadline, visited vertices, evaluated edges) of the call.
+	 * @return The identified (possibly truncated) community around the input seed node.
+	 */
+	public Community<V,E> getCommunity(IndexableUndirectedSparseGraph<V, E> graph, V seed, 
+			Community<?,?> previous, DetectionBudget budget);
+	
+}
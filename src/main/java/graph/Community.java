@@ -29,6 +29,7 @@ import java.util.Stack;
 
 import jung.IndexableGraph;
 import jung.IndexableUndirectedSparseGraph;
+import jung.ParallelBreadthFirstSearch;
 import jung.StringIndexableVertex;
 
 
@@ -45,11 +46,18 @@ import jung.StringIndexableVertex;
  */
 public class Community<V extends StringIndexableVertex, E> {
 
+	/* Number of members from which connectivity is checked by a ParallelBreadthFirstSearch. */
+	private static final int PARALLEL_CONNECTIVITY_THRESHOLD = 16384;
+	
 	private int id = -1;
 	private String name = null;
 	private Set<String> members = new HashSet<String>(10);
 	private final IndexableGraph<V, E> referenceGraph;
 	
+	/* Set when the community was produced by a detection process that stopped
+	 * before completion (e.g. because its work budget was exhausted). */
+	private boolean truncated = false;
+	
 	/**
 	 * When this constructor is used, it is assumed that a new
 	 * empty community is needed
@@ -95,6 +103,18 @@ public class Community<V extends StringIndexableVertex, E> {
 		return id;
 	}
 	
+	/**
+	 * Check whether this community is a partial result, i.e. the detection process
+	 * that produced it was stopped before it could complete.
+	 * @return true if the community is partial, false otherwise
+	 */
+	public boolean isTruncated() {
+		return truncated;
+	}
+	public void setTruncated(boolean truncated) {
+		this.truncated = truncated;
+	}
+	
 	public void addMember(V t){
 		if (referenceGraph == null){
 			throw new IllegalStateException("The community object has not been properly initialized!");
@@ -155,12 +175,38 @@ public class Community<V extends StringIndexableVertex, E> {
 	}
 	
 	/**
-	 * Check whether the community is connected (single-component).
+	 * Check whether the community is connected (single-component). Large communities are
+	 * traversed by a ParallelBreadthFirstSearch restricted to their members; if the thread
+	 * is interrupted during that traversal, the check is completed sequentially and the 
+	 * interrupt status is kept.
 	 * @return true if connected, false otherwise
 	 */
 	public boolean isConnected(){
 		if (members.size() < 1) return false;
 		
+		if (members.size() >= PARALLEL_CONNECTIVITY_THRESHOLD){
+			int[] indices = new int[members.size()];
+			int count = 0;
+			Iterator<String> idIter = members.iterator();
+			while (idIter.hasNext()){
+				V member = referenceGraph.getVertex(idIter.next());
+				if (member == null){
+					/* a member outside the graph cannot be reached */
+					return false;
+				}
+				indices[count++] = referenceGraph.getVertexIndex(member);
+			}
+			ParallelBreadthFirstSearch search = new ParallelBreadthFirstSearch(referenceGraph, 
+					indices, count, indices, 1, 0);
+			boolean expanded = true;
+			while (expanded){
+				expanded = search.expandLevel();
+			}
+			if (!search.isInterrupted()){
+				return search.getNumberOfVisited() == members.size();
+			}
+		}
+		
 		/* visit all possible nodes starting from an arbitrary node of the community */
 		Set<V> reachableNodes = new HashSet<V>();
 		Set<String> visited = new HashSet<String>();
@@ -171,9 +217,10 @@ public class Community<V extends StringIndexableVertex, E> {
 			V cand = frontier.pop();
 			visited.add(cand.getID());
 			reachableNodes.add(cand);
-			Iterator<V> nIter = referenceGraph.getNeighbors(cand).iterator();
-			while(nIter.hasNext()){
-				V ni = nIter.next();
+			int candIndex = referenceGraph.getVertexIndex(cand);
+			int candDegree = referenceGraph.getDegreeByIndex(candIndex);
+			for (int p = 0; p < candDegree; p++){
+				V ni = referenceGraph.getVertexByIndex(referenceGraph.getNeighborIndex(candIndex, p));
 				if (visited.contains(ni.getID())){
 					continue;
 				}
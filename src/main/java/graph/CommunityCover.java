@@ -0,0 +1,186 @@
+/*
+  @(#) CommunityCover.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import jung.IndexableGraph;
+import jung.StringIndexableVertex;
+
+/**
+ * Overlapping cover of a graph: a list of communities where, unlike in a GraphPartition, a
+ * vertex may belong to any number of communities (or to none). Along with the communities,
+ * the cover keeps an index from every vertex to the positions of the communities it belongs
+ * to, stored as two int arrays (offsets by vertex index and community positions), so that
+ * the lookup takes constant time and the index takes 4 bytes per membership.
+ *
+ * The cover is immutable and refers to the vertex indices of the reference graph (see
+ * CompactCommunity).
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class CommunityCover<V extends StringIndexableVertex, E> {
+
+	private static final int[] EMPTY = new int[0];
+
+	private final IndexableGraph<V, E> referenceGraph;
+	private final List<CompactCommunity<V, E>> communities;
+
+	/* The communities of vertex v are at positions memberships[offsets[v]..offsets[v+1]). */
+	private final int[] offsets;
+	private final int[] memberships;
+
+	private final int coveredVertices;
+
+	/**
+	 * @param graph Reference graph.
+	 * @param communities Communities of the cover, whose members belong to the graph.
+	 */
+	public CommunityCover(IndexableGraph<V, E> graph, List<CompactCommunity<V, E>> communities){
+		this.referenceGraph = graph;
+		this.communities = Collections.unmodifiableList(new ArrayList<CompactCommunity<V, E>>(communities));
+		int bound = graph.getVertexIndexBound();
+		long total = 0;
+		for (int c = 0; c < communities.size(); c++){
+			if (communities.get(c).getReferenceGraph() != graph){
+				throw new IllegalArgumentException("Community " + communities.get(c).getId() +
+						" does not refer to the graph of the cover!");
+			}
+			total += communities.get(c).getNumberOfMembers();
+		}
+		if (total > Integer.MAX_VALUE - 8){
+			throw new IllegalArgumentException("Too many memberships for a cover: " + total + "!");
+		}
+
+		/* counting pass, then placement in increasing order of community position; the members
+		 * are decoded once per pass, so that at most one community is expanded at a time */
+		offsets = new int[bound+1];
+		for (int c = 0; c < communities.size(); c++){
+			int[] members = communities.get(c).getMemberIndices();
+			for (int i = 0; i < members.length; i++){
+				if (members[i] >= bound){
+					throw new IllegalArgumentException("Vertex index " + members[i] + " does not belong to the graph!");
+				}
+				offsets[members[i]+1]++;
+			}
+		}
+		int covered = 0;
+		for (int v = 0; v < bound; v++){
+			if (offsets[v+1] > 0){
+				covered++;
+			}
+			offsets[v+1] += offsets[v];
+		}
+		this.coveredVertices = covered;
+		memberships = new int[(int)total];
+		int[] next = new int[bound];
+		System.arraycopy(offsets, 0, next, 0, bound);
+		for (int c = 0; c < communities.size(); c++){
+			int[] members = communities.get(c).getMemberIndices();
+			for (int i = 0; i < members.length; i++){
+				memberships[next[members[i]]++] = c;
+			}
+		}
+	}
+
+	public IndexableGraph<V, E> getReferenceGraph() {
+		return referenceGraph;
+	}
+
+	public int getNumberOfCommunities(){
+		return communities.size();
+	}
+	public CompactCommunity<V, E> getCommunity(int i){
+		if (i < 0 || i >= communities.size()){
+			throw new IllegalArgumentException("Community " + i + " does not exist in this cover!");
+		}
+		return communities.get(i);
+	}
+
+	/**
+	 * @return An unmodifiable list of the communities of the cover.
+	 */
+	public List<CompactCommunity<V, E>> getCommunities(){
+		return communities;
+	}
+
+	/**
+	 * @return The number of vertices that belong to at least one community.
+	 */
+	public int getNumberOfCoveredVertices(){
+		return coveredVertices;
+	}
+
+	/**
+	 * @return The sum of the sizes of the communities.
+	 */
+	public int getNumberOfMemberships(){
+		return memberships.length;
+	}
+
+	/**
+	 * @param vertexIndex Index of a vertex of the reference graph.
+	 * @return The number of communities where the vertex belongs.
+	 */
+	public int getNumberOfCommunities(int vertexIndex){
+		if (vertexIndex < 0 || vertexIndex >= offsets.length-1){
+			return 0;
+		}
+		return offsets[vertexIndex+1] - offsets[vertexIndex];
+	}
+
+	/**
+	 * @param vertexIndex Index of a vertex of the reference graph.
+	 * @return The positions (in getCommunities()) of the communities where the vertex
+	 * belongs, in increasing order.
+	 */
+	public int[] getCommunityIndices(int vertexIndex){
+		int count = getNumberOfCommunities(vertexIndex);
+		if (count == 0){
+			return EMPTY;
+		}
+		int[] indices = new int[count];
+		System.arraycopy(memberships, offsets[vertexIndex], indices, 0, count);
+		return indices;
+	}
+
+	/**
+	 * @param v Vertex of the reference graph.
+	 * @return The communities where the vertex belongs.
+	 */
+	public List<CompactCommunity<V, E>> getCommunities(V v){
+		int vertexIndex = referenceGraph.getVertexIndex(v);
+		int count = getNumberOfCommunities(vertexIndex);
+		List<CompactCommunity<V, E>> result = new ArrayList<CompactCommunity<V, E>>(count);
+		for (int i = 0; i < count; i++){
+			result.add(communities.get(memberships[offsets[vertexIndex]+i]));
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return "CommunityCover (" + communities.size() + " communities, " + coveredVertices +
+			" covered vertices, " + memberships.length + " memberships)";
+	}
+}
@@ -0,0 +1,257 @@
+/*
+  @(#) CompactCommunity.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package graph;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+import jung.IndexableGraph;
+import jung.StringIndexableVertex;
+
+/**
+ * Immutable community whose members are kept as the sorted array of their vertex indices
+ * in the reference graph (see IndexableGraph), instead of a set of String ids. Optionally,
+ * the array is compressed: the gaps between consecutive indices are stored as variable-length
+ * integers (7 bits per byte), which takes one or two bytes per member when the members have
+ * close indices (e.g. after VertexOrdering).
+ *
+ * The ids of the members are only materialized when they are requested, one at a time.
+ * Since vertex indices are never reused, a compact community remains valid while the
+ * reference graph is modified, as long as its members are not removed.
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class CompactCommunity<V extends StringIndexableVertex, E> {
+
+	private static final int[] EMPTY = new int[0];
+
+	private final int id;
+	private final IndexableGraph<V, E> referenceGraph;
+	private final boolean truncated;
+	private final int size;
+
+	/* Sorted member indices, or null if the community is compressed. */
+	private final int[] members;
+
+	/* Variable-length encoded gaps between the sorted member indices, or null. */
+	private final byte[] encoded;
+
+	/**
+	 * Create a compact copy of a community.
+	 * @param community Input community.
+	 * @param compressed Whether the member indices are compressed.
+	 */
+	public CompactCommunity(Community<V, E> community, boolean compressed){
+		this(community.getId(), community.getReferenceGraph(), getIndices(community),
+				community.getNumberOfMembers(), community.isTruncated(), compressed);
+	}
+
+	/**
+	 * @param id Community id.
+	 * @param graph Reference graph.
+	 * @param memberIndices Vertex indices of the members (in any order; duplicates are ignored).
+	 * @param length Number of indices.
+	 * @param truncated Whether the community is a partial detection result.
+	 * @param compressed Whether the member indices are compressed.
+	 */
+	public CompactCommunity(int id, IndexableGraph<V, E> graph, int[] memberIndices, int length,
+			boolean truncated, boolean compressed){
+		if (id < 0){
+			throw new IllegalArgumentException("Community id should be a non-negative integer!");
+		}
+		int[] sorted = Arrays.copyOf(memberIndices, length);
+		Arrays.sort(sorted);
+		int distinct = 0;
+		for (int i = 0; i < length; i++){
+			if (!graph.containsVertexIndex(sorted[i])){
+				throw new IllegalArgumentException("Vertex index " + sorted[i] + " does not belong to the graph!");
+			}
+			if (distinct == 0 || sorted[i] != sorted[distinct-1]){
+				sorted[distinct++] = sorted[i];
+			}
+		}
+		this.id = id;
+		this.referenceGraph = graph;
+		this.truncated = truncated;
+		this.size = distinct;
+		if (compressed){
+			this.members = null;
+			this.encoded = encode(sorted, distinct);
+		} else {
+			this.members = (distinct == 0) ? EMPTY : Arrays.copyOf(sorted, distinct);
+			this.encoded = null;
+		}
+	}
+
+	private static <V extends StringIndexableVertex, E> int[] getIndices(Community<V, E> community){
+		IndexableGraph<V, E> graph = community.getReferenceGraph();
+		List<String> ids = community.getMembers();
+		int[] indices = new int[ids.size()];
+		for (int i = 0; i < indices.length; i++){
+			V vertex = graph.getVertex(ids.get(i));
+			if (vertex == null){
+				throw new IllegalArgumentException("Member " + ids.get(i) + " does not belong to the graph!");
+			}
+			indices[i] = graph.getVertexIndex(vertex);
+		}
+		return indices;
+	}
+
+	private static byte[] encode(int[] sorted, int length){
+		byte[] buffer = new byte[5*length];
+		int position = 0;
+		int previous = 0;
+		for (int i = 0; i < length; i++){
+			int gap = sorted[i] - previous;
+			previous = sorted[i];
+			while ((gap & ~0x7f) != 0){
+				buffer[position++] = (byte)((gap & 0x7f) | 0x80);
+				gap >>>= 7;
+			}
+			buffer[position++] = (byte)gap;
+		}
+		return Arrays.copyOf(buffer, position);
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public IndexableGraph<V, E> getReferenceGraph(){
+		return referenceGraph;
+	}
+
+	public boolean isTruncated() {
+		return truncated;
+	}
+
+	public boolean isCompressed(){
+		return encoded != null;
+	}
+
+	public int getNumberOfMembers(){
+		return size;
+	}
+
+	/**
+	 * @return The number of bytes taken by the member indices.
+	 */
+	public int getEncodedSize(){
+		return (encoded != null) ? encoded.length : 4*members.length;
+	}
+
+	/**
+	 * @return The vertex indices of the members, in increasing order (a fresh array).
+	 */
+	public int[] getMemberIndices(){
+		if (members != null){
+			return members.clone();
+		}
+		int[] indices = new int[size];
+		int position = 0;
+		int previous = 0;
+		for (int i = 0; i < size; i++){
+			int gap = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = encoded[position++];
+				gap |= (b & 0x7f) << shift;
+				shift += 7;
+			} while (b < 0);
+			previous += gap;
+			indices[i] = previous;
+		}
+		return indices;
+	}
+
+	/**
+	 * @param vertexIndex Index of a vertex of the reference graph.
+	 * @return true if the vertex is a member of the community.
+	 */
+	public boolean contains(int vertexIndex){
+		if (members != null){
+			return Arrays.binarySearch(members, vertexIndex) >= 0;
+		}
+		int position = 0;
+		int current = 0;
+		for (int i = 0; i < size && current <= vertexIndex; i++){
+			int gap = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = encoded[position++];
+				gap |= (b & 0x7f) << shift;
+				shift += 7;
+			} while (b < 0);
+			current += gap;
+			if (current == vertexIndex){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public boolean contains(V vertex){
+		int index = referenceGraph.getVertexIndex(vertex);
+		return (index >= 0) && contains(index);
+	}
+
+	public boolean containsID(String id){
+		V vertex = referenceGraph.getVertex(id);
+		return (vertex != null) && contains(vertex);
+	}
+
+	/**
+	 * Get the ids of the members, in increasing order of vertex index. The list is an
+	 * unmodifiable view, which looks up each id when it is accessed.
+	 */
+	public List<String> getMembers(){
+		final int[] indices = (members != null) ? members : getMemberIndices();
+		return new AbstractList<String>(){
+			public String get(int i){
+				return referenceGraph.getVertexByIndex(indices[i]).getID();
+			}
+			public int size(){
+				return indices.length;
+			}
+		};
+	}
+
+	/**
+	 * @return A (modifiable) Community with the same id, members and truncation flag.
+	 */
+	public Community<V, E> toCommunity(){
+		Community<V, E> community = new Community<V, E>(id, referenceGraph);
+		int[] indices = (members != null) ? members : getMemberIndices();
+		for (int i = 0; i < indices.length; i++){
+			community.addMember(referenceGraph.getVertexByIndex(indices[i]));
+		}
+		community.setTruncated(truncated);
+		return community;
+	}
+
+	@Override
+	public String toString() {
+		return "CompactCommunity " + id + " (" + size + " members)";
+	}
+}
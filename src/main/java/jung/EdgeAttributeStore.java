@@ -0,0 +1,189 @@
+/*
+  @(#) EdgeAttributeStore.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package jung;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Graph-level store of numeric edge attributes (e.g. network topology measures), kept in
+ * columns: every attribute is a primitive array addressed by edge index (see IndexableGraph).
+ * A value may be absent, i.e. not computed yet.
+ *
+ * Since edge indices are reused, the graph removes the values of an edge from all columns
+ * whenever the edge is added or removed.
+ *
+ * Columns can be read and filled concurrently, e.g. by detectors memoizing values while
+ * running in parallel: a value written concurrently with the growth of its column may be
+ * lost, in which case it is simply computed again. Removing values should not take place
+ * concurrently with other accesses.
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class EdgeAttributeStore implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final ConcurrentMap<Object, Column> columns = new ConcurrentHashMap<Object, Column>();
+
+	/**
+	 * Get the column of an attribute, creating it if necessary.
+	 * @param key Key identifying the attribute.
+	 * @return
+	 */
+	public Column getColumn(Object key){
+		Column column = columns.get(key);
+		if (column == null){
+			Column created = createColumn(key);
+			column = columns.putIfAbsent(key, created);
+			if (column == null){
+				column = created;
+			}
+		}
+		return column;
+	}
+
+	/**
+	 * Create the column of an attribute. Stores that keep their values elsewhere (e.g. in
+	 * memory-mapped files) override this method.
+	 * @param key Key identifying the attribute.
+	 * @return
+	 */
+	protected Column createColumn(Object key){
+		return new Column();
+	}
+
+	/**
+	 * @param key Key identifying the attribute.
+	 * @return The column of the attribute or null if no value has been stored for it.
+	 */
+	public Column getExistingColumn(Object key){
+		return columns.get(key);
+	}
+
+	public List<Object> getKeys(){
+		return new ArrayList<Object>(columns.keySet());
+	}
+
+	/**
+	 * Remove the values of an edge from all columns.
+	 * @param edgeIndex
+	 */
+	public void removeEdge(int edgeIndex){
+		Iterator<Column> cIter = columns.values().iterator();
+		while (cIter.hasNext()){
+			cIter.next().remove(edgeIndex);
+		}
+	}
+
+	/**
+	 * Drop a column.
+	 * @param key Key identifying the attribute.
+	 */
+	public void remove(Object key){
+		columns.remove(key);
+	}
+
+	public void clear(){
+		columns.clear();
+	}
+
+
+	/**
+	 * Values of a single attribute, addressed by edge index. Subclasses that keep the values
+	 * elsewhere override all public methods.
+	 */
+	public static class Column implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		/* Bits of a signalling NaN, which marks absent values. Stored values never have these
+		 * bits, since NaN values are stored in their canonical form. */
+		static final long ABSENT = 0x7ff0000000000001L;
+
+		private volatile long[] values = new long[0];
+
+		public boolean contains(int edgeIndex){
+			long[] v = values;
+			return (edgeIndex < v.length) && (v[edgeIndex] != ABSENT);
+		}
+
+		/**
+		 * @param edgeIndex
+		 * @return The value of the edge; the result is unspecified if the value is absent.
+		 */
+		public double get(int edgeIndex){
+			return Double.longBitsToDouble(values[edgeIndex]);
+		}
+
+		/**
+		 * Get the value of an edge with a single read of the column, unlike contains()
+		 * followed by get(), between which a concurrent set() that grows the column may
+		 * replace the array that is read.
+		 * @param edgeIndex
+		 * @param absentValue Value returned if the edge has no value.
+		 * @return The value of the edge, or absentValue.
+		 */
+		public double get(int edgeIndex, double absentValue){
+			long[] v = values;
+			if (edgeIndex >= v.length || v[edgeIndex] == ABSENT){
+				return absentValue;
+			}
+			return Double.longBitsToDouble(v[edgeIndex]);
+		}
+
+		public void set(int edgeIndex, double value){
+			long[] v = values;
+			if (edgeIndex >= v.length){
+				v = grow(edgeIndex);
+			}
+			v[edgeIndex] = Double.doubleToLongBits(value);
+		}
+
+		public void remove(int edgeIndex){
+			long[] v = values;
+			if (edgeIndex < v.length){
+				v[edgeIndex] = ABSENT;
+			}
+		}
+
+		public synchronized void clear(){
+			values = new long[0];
+		}
+
+		private synchronized long[] grow(int edgeIndex){
+			long[] v = values;
+			if (edgeIndex < v.length){
+				return v;
+			}
+			int oldLength = v.length;
+			v = Arrays.copyOf(v, Math.max(Math.max(16, edgeIndex+1), 2*oldLength));
+			Arrays.fill(v, oldLength, v.length, ABSENT);
+			values = v;
+			return v;
+		}
+	}
+}
@@ -0,0 +1,51 @@
+/*
+  @(#) GraphUpdateListener.java	1.0,	19/10/2026
+  
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+  
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package jung;
+
+/**
+ * Listener that is notified about the edges added to or removed from an
+ * IndexableUndirectedSparseGraph. Notifications are delivered synchronously,
+ * after the graph has been modified. Removing a vertex results in a notification
+ * for each of its incident edges.
+ * 
+ * @author Symeon Papadopoulos
+ *
+ * @param <V>	Vertex
+ * @param <E>	Edge
+ */
+public interface GraphUpdateListener<V, E> {
+
+	/**
+	 * Called after an edge has been added to the graph.
+	 * @param edge The new edge.
+	 * @param v1 First endpoint of the edge.
+	 * @param v2 Second endpoint of the edge.
+	 */
+	public void edgeAdded(E edge, V v1, V v2);
+	
+	/**
+	 * Called after an edge has been removed from the graph.
+	 * @param edge The removed edge.
+	 * @param v1 First endpoint of the edge.
+	 * @param v2 Second endpoint of the edge.
+	 */
+	public void edgeRemoved(E edge, V v1, V v2);
+	
+}
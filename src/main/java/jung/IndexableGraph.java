@@ -20,8 +20,24 @@ package jung;
 
 import edu.uci.ics.jung.graph.Hypergraph;
 
+import util.IntArrayList;
+
 /**
+ * Graph whose vertices can be looked up by their String id. In addition, vertices and
+ * edges are mapped to dense integer indices, which give access to the neighbourhood of 
+ * a vertex without allocating collections or iterators: the neighbours of the vertex with 
+ * index v are getNeighborIndex(v, 0) ... getNeighborIndex(v, getDegreeByIndex(v)-1) and
+ * getIncidentEdgeIndex(v, p) is the index of the edge leading to the p-th neighbour.
+ * Neighbours are listed in increasing order of their index, so that neighbourhoods can be
+ * intersected by countCommonNeighbors() and intersectNeighbors() without hashing.
+ * Indices lie in [0, getVertexIndexBound()) and [0, getEdgeIndexBound()) respectively; 
+ * indices of removed elements map to null.
+ * 
+ * The weight of an edge is the frequency of a WalkableWeightedEdge and 1 for any other
+ * type of edge.
  * 
+ * Numeric edge attributes (such as network topology measures) can be kept in the 
+ * EdgeAttributeStore of the graph, addressed by edge index.
  *
  * @author Symeon Papadopoulos
  *
@@ -33,4 +49,60 @@ public interface IndexableGraph<V, E> extends Hypergraph<V,E>{
 	public V getVertex(String id);
 	public boolean removeVertex(String id);
 	
+	public int getVertexIndex(V vertex);
+	public V getVertexByIndex(int index);
+	public int getVertexIndexBound();
+	
+	/**
+	 * @param index A vertex index.
+	 * @return true if the index lies in [0, getVertexIndexBound()) and its vertex has not 
+	 * been removed. Graphs that create vertex objects on demand override this, so that 
+	 * the check does not allocate a vertex.
+	 */
+	public default boolean containsVertexIndex(int index){
+		return index >= 0 && index < getVertexIndexBound() && getVertexByIndex(index) != null;
+	}
+	
+	public int getDegreeByIndex(int index);
+	public int getNeighborIndex(int index, int position);
+	public int getIncidentEdgeIndex(int index, int position);
+	
+	public int getEdgeIndex(E edge);
+	public E getEdgeByIndex(int edgeIndex);
+	public int getEdgeIndexBound();
+	public int getFirstEndpointIndex(int edgeIndex);
+	public int getSecondEndpointIndex(int edgeIndex);
+	public double getEdgeWeightByIndex(int edgeIndex);
+	
+	/**
+	 * Count the common neighbours of two vertices.
+	 * @param index1 Index of the first vertex.
+	 * @param index2 Index of the second vertex.
+	 * @return
+	 */
+	public int countCommonNeighbors(int index1, int index2);
+	
+	/**
+	 * Find the common neighbours of two vertices.
+	 * @param index1 Index of the first vertex.
+	 * @param index2 Index of the second vertex.
+	 * @param positions1 Receives the positions of the common neighbours in the neighbourhood 
+	 * of the first vertex (see getNeighborIndex(), getIncidentEdgeIndex()).
+	 * @param positions2 Receives their positions in the neighbourhood of the second vertex.
+	 * @return The number of common neighbours.
+	 */
+	public int intersectNeighbors(int index1, int index2, IntArrayList positions1, IntArrayList positions2);
+	
+	/**
+	 * Find the neighbours of a vertex that belong to a set of vertices.
+	 * @param index Index of the vertex.
+	 * @param sortedIndices Indices of the vertices of the set, in increasing order.
+	 * @param length Number of vertices in the set.
+	 * @param positions Receives the positions of the neighbours that belong to the set.
+	 * @return The number of such neighbours.
+	 */
+	public int intersectNeighbors(int index, int[] sortedIndices, int length, IntArrayList positions);
+	
+	public EdgeAttributeStore getEdgeAttributes();
+	
 }
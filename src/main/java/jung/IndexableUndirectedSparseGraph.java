@@ -19,17 +19,24 @@
 */
 package jung;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 
 import edu.uci.ics.jung.graph.UndirectedSparseGraph;
+import edu.uci.ics.jung.graph.util.EdgeType;
+import edu.uci.ics.jung.graph.util.Pair;
+import util.IntArrayList;
+import util.IntersectionKernel;
 
 
 
 /**
  * This class extends the JUNG sparse undirected graph class 
- * to support lookup of nodes by some key.
+ * to support lookup of nodes by some key. It also keeps a primitive, 
+ * index-based copy of the adjacency structure (see IndexableGraph).
  * 
  * @author Symeon Papadopoulos
  *
@@ -43,13 +50,49 @@ public class IndexableUndirectedSparseGraph<V, E>
 	
 	protected Map<String,V> vertexIDs;
 	
+	private IndexedAdjacency<V,E> adjacency = new IndexedAdjacency<V,E>();
+	
+	private EdgeAttributeStore edgeAttributes = new EdgeAttributeStore();
+	
+	/* Incremented on every structural modification of the graph, so that results 
+	 * derived from the graph (e.g. cached communities) can detect that they are stale. */
+	private long version = 0;
+	
+	/* Listeners notified about edge insertions and removals. */
+	private List<GraphUpdateListener<V,E>> listeners = new ArrayList<GraphUpdateListener<V,E>>(2);
+	
+	/* Per-thread scratch list for the positions that intersectNeighbors() does not report. */
+	private static final ThreadLocal<IntArrayList> SET_POSITIONS = new ThreadLocal<IntArrayList>(){
+		protected IntArrayList initialValue(){
+			return new IntArrayList();
+		}
+	};
+	
 	public IndexableUndirectedSparseGraph() {
 		super();
 		vertexIDs = new HashMap<String,V>();
 	}
+	
+	/**
+	 * Get the current version of the graph. The version changes whenever a vertex
+	 * or an edge is added to or removed from the graph.
+	 * @return The graph version.
+	 */
+	public long getVersion() {
+		return version;
+	}
+	
+	public void addGraphUpdateListener(GraphUpdateListener<V,E> listener) {
+		listeners.add(listener);
+	}
+	public void removeGraphUpdateListener(GraphUpdateListener<V,E> listener) {
+		listeners.remove(listener);
+	}
 
 	public boolean addVertex(V vertex) {
 		if (super.addVertex(vertex)) {
+			adjacency.addVertex(vertex);
+			version++;
 			if (vertex instanceof StringIndexableVertex){
 				vertexIDs.put(((StringIndexableVertex)vertex).getID(), vertex);
 				return true;
@@ -79,9 +122,142 @@ public class IndexableUndirectedSparseGraph<V, E>
 		}	
 	}
 
+	public boolean removeVertex(V vertex) {
+		if (super.removeVertex(vertex)) {
+			adjacency.removeVertex(vertex);
+			if (vertex instanceof StringIndexableVertex){
+				vertexIDs.remove(((StringIndexableVertex)vertex).getID());
+			}
+			version++;
+			return true;
+		}
+		return false;
+	}
+	
+	public boolean addEdge(E edge, Pair<? extends V> endpoints, EdgeType edgeType) {
+		if (super.addEdge(edge, endpoints, edgeType)) {
+			Pair<V> added = getEndpoints(edge);
+			/* the index may have belonged to a removed edge */
+			edgeAttributes.removeEdge(adjacency.addEdge(edge, added.getFirst(), added.getSecond()));
+			version++;
+			if (!listeners.isEmpty()) {
+				for (int i = 0; i < listeners.size(); i++) {
+					listeners.get(i).edgeAdded(edge, added.getFirst(), added.getSecond());
+				}
+			}
+			return true;
+		}
+		return false;
+	}
+	
+	public boolean removeEdge(E edge) {
+		Pair<V> removed = getEndpoints(edge);
+		if (super.removeEdge(edge)) {
+			edgeAttributes.removeEdge(adjacency.getEdgeIndex(edge));
+			adjacency.removeEdge(edge);
+			version++;
+			for (int i = 0; i < listeners.size(); i++) {
+				listeners.get(i).edgeRemoved(edge, removed.getFirst(), removed.getSecond());
+			}
+			return true;
+		}
+		return false;
+	}
+
 	public V getVertex(String id) {
 		return vertexIDs.get(id); 
 	}
+	
+	public int getVertexIndex(V vertex) {
+		return adjacency.getVertexIndex(vertex);
+	}
+	
+	public V getVertexByIndex(int index) {
+		return adjacency.getVertex(index);
+	}
+	
+	public int getVertexIndexBound() {
+		return adjacency.getVertexIndexBound();
+	}
+	
+	public int getDegreeByIndex(int index) {
+		return adjacency.getDegree(index);
+	}
+	
+	public int getNeighborIndex(int index, int position) {
+		return adjacency.getNeighbor(index, position);
+	}
+	
+	public int getIncidentEdgeIndex(int index, int position) {
+		return adjacency.getIncidentEdge(index, position);
+	}
+	
+	public int getEdgeIndex(E edge) {
+		return adjacency.getEdgeIndex(edge);
+	}
+	
+	public E getEdgeByIndex(int edgeIndex) {
+		return adjacency.getEdge(edgeIndex);
+	}
+	
+	public int getEdgeIndexBound() {
+		return adjacency.getEdgeIndexBound();
+	}
+	
+	public int getFirstEndpointIndex(int edgeIndex) {
+		return adjacency.getFirstEndpoint(edgeIndex);
+	}
+	
+	public int getSecondEndpointIndex(int edgeIndex) {
+		return adjacency.getSecondEndpoint(edgeIndex);
+	}
+	
+	public double getEdgeWeightByIndex(int edgeIndex) {
+		E edge = adjacency.getEdge(edgeIndex);
+		if (edge instanceof WalkableWeightedEdge){
+			return ((WalkableWeightedEdge)edge).getFrequency();
+		}
+		return 1.0;
+	}
+	
+	/**
+	 * The strategy depends on the two neighbourhoods: the smaller one is probed against the 
+	 * bitmap of the larger one if it keeps one, two bitmaps are intersected word by word if
+	 * that is cheaper, and sorted arrays are merged or galloped otherwise (see 
+	 * IntersectionKernel).
+	 */
+	public int countCommonNeighbors(int index1, int index2) {
+		int deg1 = adjacency.getDegree(index1);
+		int deg2 = adjacency.getDegree(index2);
+		if (deg1 > deg2) {
+			return countCommonNeighbors(index2, index1);
+		}
+		long[] bitmap2 = adjacency.getBitmap(index2);
+		if (bitmap2 != null) {
+			long[] bitmap1 = adjacency.getBitmap(index1);
+			if (bitmap1 != null && Math.min(bitmap1.length, bitmap2.length) < deg1) {
+				return IntersectionKernel.count(bitmap1, bitmap2);
+			}
+			return IntersectionKernel.count(adjacency.getNeighbors(index1), deg1, bitmap2);
+		}
+		return IntersectionKernel.count(adjacency.getNeighbors(index1), deg1, 
+				adjacency.getNeighbors(index2), deg2);
+	}
+	
+	public int intersectNeighbors(int index1, int index2, IntArrayList positions1, IntArrayList positions2) {
+		return IntersectionKernel.intersect(adjacency.getNeighbors(index1), adjacency.getDegree(index1), 
+				adjacency.getNeighbors(index2), adjacency.getDegree(index2), positions1, positions2);
+	}
+	
+	public int intersectNeighbors(int index, int[] sortedIndices, int length, IntArrayList positions) {
+		IntArrayList setPositions = SET_POSITIONS.get();
+		return IntersectionKernel.intersect(adjacency.getNeighbors(index), adjacency.getDegree(index), 
+				sortedIndices, length, positions, setPositions);
+	}
+	
+	public EdgeAttributeStore getEdgeAttributes() {
+		return edgeAttributes;
+	}
 
 
 	public boolean containsVertex(V vertex) {
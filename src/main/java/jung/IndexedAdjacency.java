@@ -0,0 +1,250 @@
+/*
+  @(#) IndexedAdjacency.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package jung;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Primitive adjacency structure that mirrors the vertices and edges of a graph with
+ * dense integer indices, so that neighbourhoods can be traversed without allocating
+ * collections or iterators. Every vertex index holds an array with the indices of its
+ * neighbours, sorted in increasing order, and a parallel array with the indices of the 
+ * respective edges. Vertices whose degree reaches a fraction of the number of vertices 
+ * (see BITMAP_DENSITY) additionally keep their neighbourhood as a bitmap, which is 
+ * maintained on every subsequent update. Sorted arrays and bitmaps are intersected with 
+ * the IntersectionKernel.
+ *
+ * Vertex indices are never reused, so that indices held by clients keep referring to the
+ * same vertex. Indices of removed edges are reused by subsequently added edges.
+ *
+ * @author Symeon Papadopoulos
+ *
+ * @param <V>	Vertex
+ * @param <E>	Edge
+ */
+class IndexedAdjacency<V, E> implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final int[] EMPTY = new int[0];
+
+	/* Minimum degree of a vertex for its neighbourhood to be kept as a bitmap. */
+	static final int BITMAP_MIN_DEGREE = 256;
+
+	/* A bitmap is kept if the degree is at least 1/BITMAP_DENSITY of the number of vertices,
+	 * i.e. if the bitmap takes at most as many words as the sorted array takes ints. */
+	static final int BITMAP_DENSITY = 64;
+
+	private final Map<V, Integer> vertexIndices = new HashMap<V, Integer>();
+	private final List<V> vertices = new ArrayList<V>();
+	private int[] degrees = new int[16];
+	private int[][] neighbors = new int[16][];
+	private int[][] incidentEdges = new int[16][];
+	private long[][] bitmaps = new long[16][];
+
+	private final Map<E, Integer> edgeIndices = new HashMap<E, Integer>();
+	private final List<E> edges = new ArrayList<E>();
+	private int[] firstEndpoints = new int[16];
+	private int[] secondEndpoints = new int[16];
+	private int[] freeEdgeIndices = new int[16];
+	private int freeEdgeCount = 0;
+
+	int addVertex(V vertex){
+		Integer existing = vertexIndices.get(vertex);
+		if (existing != null){
+			return existing;
+		}
+		int index = vertices.size();
+		vertices.add(vertex);
+		vertexIndices.put(vertex, index);
+		if (index == degrees.length){
+			int capacity = 2*index;
+			degrees = Arrays.copyOf(degrees, capacity);
+			neighbors = Arrays.copyOf(neighbors, capacity);
+			incidentEdges = Arrays.copyOf(incidentEdges, capacity);
+			bitmaps = Arrays.copyOf(bitmaps, capacity);
+		}
+		neighbors[index] = EMPTY;
+		incidentEdges[index] = EMPTY;
+		return index;
+	}
+
+	/* The edges of the vertex are expected to have been removed already. */
+	void removeVertex(V vertex){
+		Integer index = vertexIndices.remove(vertex);
+		if (index != null){
+			vertices.set(index, null);
+			degrees[index] = 0;
+			neighbors[index] = EMPTY;
+			incidentEdges[index] = EMPTY;
+			bitmaps[index] = null;
+		}
+	}
+
+	int addEdge(E edge, V v1, V v2){
+		int i1 = addVertex(v1);
+		int i2 = addVertex(v2);
+		int index;
+		if (freeEdgeCount > 0){
+			index = freeEdgeIndices[--freeEdgeCount];
+			edges.set(index, edge);
+		} else {
+			index = edges.size();
+			edges.add(edge);
+			if (index == firstEndpoints.length){
+				firstEndpoints = Arrays.copyOf(firstEndpoints, 2*index);
+				secondEndpoints = Arrays.copyOf(secondEndpoints, 2*index);
+			}
+		}
+		edgeIndices.put(edge, index);
+		firstEndpoints[index] = i1;
+		secondEndpoints[index] = i2;
+		insert(i1, i2, index);
+		if (i1 != i2){
+			insert(i2, i1, index);
+		}
+		return index;
+	}
+
+	void removeEdge(E edge){
+		Integer index = edgeIndices.remove(edge);
+		if (index == null){
+			return;
+		}
+		int i1 = firstEndpoints[index];
+		int i2 = secondEndpoints[index];
+		remove(i1, i2, index);
+		if (i1 != i2){
+			remove(i2, i1, index);
+		}
+		edges.set(index, null);
+		if (freeEdgeCount == freeEdgeIndices.length){
+			freeEdgeIndices = Arrays.copyOf(freeEdgeIndices, 2*freeEdgeCount);
+		}
+		freeEdgeIndices[freeEdgeCount++] = index;
+	}
+
+	/* Insert the neighbour at its sorted position. */
+	private void insert(int vertex, int neighbor, int edge){
+		int degree = degrees[vertex];
+		if (degree == neighbors[vertex].length){
+			int capacity = Math.max(4, 2*degree);
+			neighbors[vertex] = Arrays.copyOf(neighbors[vertex], capacity);
+			incidentEdges[vertex] = Arrays.copyOf(incidentEdges[vertex], capacity);
+		}
+		int[] vNeighbors = neighbors[vertex];
+		int[] vEdges = incidentEdges[vertex];
+		int position = Arrays.binarySearch(vNeighbors, 0, degree, neighbor);
+		if (position < 0){
+			position = -position-1;
+		}
+		System.arraycopy(vNeighbors, position, vNeighbors, position+1, degree-position);
+		System.arraycopy(vEdges, position, vEdges, position+1, degree-position);
+		vNeighbors[position] = neighbor;
+		vEdges[position] = edge;
+		degrees[vertex] = degree+1;
+		
+		if (bitmaps[vertex] != null){
+			setBit(vertex, neighbor);
+		} else if (degree+1 >= BITMAP_MIN_DEGREE && 
+				(long)(degree+1) * BITMAP_DENSITY >= vertices.size()){
+			for (int p = 0; p <= degree; p++){
+				setBit(vertex, vNeighbors[p]);
+			}
+		}
+	}
+
+	private void remove(int vertex, int neighbor, int edge){
+		int[] vNeighbors = neighbors[vertex];
+		int[] vEdges = incidentEdges[vertex];
+		int degree = degrees[vertex];
+		int position = Arrays.binarySearch(vNeighbors, 0, degree, neighbor);
+		if (position < 0 || vEdges[position] != edge){
+			return;
+		}
+		System.arraycopy(vNeighbors, position+1, vNeighbors, position, degree-position-1);
+		System.arraycopy(vEdges, position+1, vEdges, position, degree-position-1);
+		degrees[vertex] = degree-1;
+		long[] bitmap = bitmaps[vertex];
+		if (bitmap != null){
+			bitmap[neighbor >>> 6] &= ~(1L << neighbor);
+		}
+	}
+
+	private void setBit(int vertex, int neighbor){
+		long[] bitmap = bitmaps[vertex];
+		int word = neighbor >>> 6;
+		if (bitmap == null || word >= bitmap.length){
+			int length = Math.max(word+1, (vertices.size()+63) >>> 6);
+			bitmap = (bitmap == null) ? new long[length] : Arrays.copyOf(bitmap, Math.max(length, 2*bitmap.length));
+			bitmaps[vertex] = bitmap;
+		}
+		bitmap[word] |= 1L << neighbor;
+	}
+
+	int getVertexIndex(V vertex){
+		Integer index = vertexIndices.get(vertex);
+		return (index == null) ? -1 : index;
+	}
+	V getVertex(int index){
+		return vertices.get(index);
+	}
+	int getVertexIndexBound(){
+		return vertices.size();
+	}
+	int getDegree(int index){
+		return degrees[index];
+	}
+	int getNeighbor(int index, int position){
+		return neighbors[index][position];
+	}
+	/* The backing array of the sorted neighbours, valid up to the degree of the vertex. */
+	int[] getNeighbors(int index){
+		return neighbors[index];
+	}
+	/* The neighbourhood bitmap of the vertex, or null if it does not keep one. */
+	long[] getBitmap(int index){
+		return bitmaps[index];
+	}
+	int getIncidentEdge(int index, int position){
+		return incidentEdges[index][position];
+	}
+	int getEdgeIndex(E edge){
+		Integer index = edgeIndices.get(edge);
+		return (index == null) ? -1 : index;
+	}
+	E getEdge(int index){
+		return edges.get(index);
+	}
+	int getEdgeIndexBound(){
+		return edges.size();
+	}
+	int getFirstEndpoint(int edgeIndex){
+		return firstEndpoints[edgeIndex];
+	}
+	int getSecondEndpoint(int edgeIndex){
+		return secondEndpoints[edgeIndex];
+	}
+}
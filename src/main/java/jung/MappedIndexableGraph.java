@@ -0,0 +1,842 @@
+/*
+  @(#) MappedIndexableGraph.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package jung;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import edu.uci.ics.jung.graph.util.EdgeType;
+import edu.uci.ics.jung.graph.util.Pair;
+import util.IntArrayList;
+import util.IntersectionKernel;
+
+/**
+ * Read-only graph whose structure lives off-heap, in a memory-mapped file written by
+ * write(). Several processes can open the same file and share its pages through the page
+ * cache, while the heap only holds the state of the computations running on the graph.
+ *
+ * The file holds the adjacency in compressed sparse row form (per-vertex offsets into the
+ * sorted neighbour indices and the parallel incident edge indices), the endpoints and the
+ * weights of the edges, and the String ids of the vertices together with their indices
+ * sorted by id, which are used for looking up vertices. Vertex and edge indices are dense:
+ * the vertices are 0 ... getVertexCount()-1 and the edges 0 ... getEdgeCount()-1, in the
+ * index order of the graph that was written.
+ *
+ * Vertices are StringIndexableVertex objects created on demand from the stored ids (they
+ * are compared by id); edges are identified by their index. The values of the edge
+ * attribute store are kept in memory-mapped files as well (see getEdgeAttributes()),
+ * unless the graph is opened with private attributes. The header of the file holds a
+ * fingerprint of the graph, a hash of its adjacency and weights, which is also stored in
+ * the column files, so that the columns computed for another graph written to the same file
+ * are discarded instead of being read as values of this graph.
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class MappedIndexableGraph implements IndexableGraph<StringIndexableVertex, Integer> {
+
+	private static final int MAGIC = 0x4D474242; /* "BBGM" */
+	private static final int VERSION = 2;
+	private static final int HEADER_SIZE = 64;
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private final File file;
+	private final MappedSegments segments;
+
+	private final int vertexCount;
+	private final int edgeCount;
+	private final long fingerprint;
+
+	/* Byte positions of the sections of the file. */
+	private final long offsetsStart;
+	private final long neighborsStart;
+	private final long incidentEdgesStart;
+	private final long firstEndpointsStart;
+	private final long secondEndpointsStart;
+	private final long weightsStart;
+	private final long idOffsetsStart;
+	private final long idOrderStart;
+	private final long idBytesStart;
+
+	private final EdgeAttributeStore edgeAttributes;
+
+	/* Per-thread copies of neighbourhoods, which are intersected by the IntersectionKernel. */
+	private static final ThreadLocal<int[][]> NEIGHBORS = new ThreadLocal<int[][]>(){
+		protected int[][] initialValue(){
+			return new int[][]{new int[16], new int[16]};
+		}
+	};
+
+	/* Per-thread list receiving the positions that the caller of an intersection does not need. */
+	private static final ThreadLocal<IntArrayList> IGNORED_POSITIONS = new ThreadLocal<IntArrayList>(){
+		protected IntArrayList initialValue(){
+			return new IntArrayList();
+		}
+	};
+
+	/**
+	 * Open a graph file, with the edge attributes mapped to files next to it.
+	 * @param file File written by write().
+	 * @throws IOException
+	 */
+	public MappedIndexableGraph(File file) throws IOException {
+		this(file, true);
+	}
+
+	/**
+	 * @param sharedAttributes If true, the columns of the edge attribute store are mapped to
+	 * files next to the graph file, so that values computed by one process are seen by the
+	 * others; if false, they are kept on the heap of this process.
+	 */
+	public MappedIndexableGraph(File file, boolean sharedAttributes) throws IOException {
+		this.file = file;
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		try {
+			FileChannel channel = raf.getChannel();
+			if (channel.size() < HEADER_SIZE){
+				throw new IllegalArgumentException(file + " is not a mapped graph file!");
+			}
+			segments = new MappedSegments(channel, FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} finally {
+			/* the mapping remains valid after the channel is closed */
+			raf.close();
+		}
+		if (segments.getInt(0) != MAGIC || segments.getInt(4) != VERSION){
+			throw new IllegalArgumentException(file + " is not a mapped graph file!");
+		}
+		vertexCount = segments.getInt(8);
+		edgeCount = segments.getInt(12);
+		long adjacencyLength = segments.getLong(16);
+		fingerprint = segments.getLong(32);
+		offsetsStart = HEADER_SIZE;
+		neighborsStart = align(offsetsStart + 8L*(vertexCount+1));
+		incidentEdgesStart = align(neighborsStart + 4L*adjacencyLength);
+		firstEndpointsStart = align(incidentEdgesStart + 4L*adjacencyLength);
+		secondEndpointsStart = align(firstEndpointsStart + 4L*edgeCount);
+		weightsStart = align(secondEndpointsStart + 4L*edgeCount);
+		idOffsetsStart = align(weightsStart + 8L*edgeCount);
+		idOrderStart = align(idOffsetsStart + 8L*(vertexCount+1));
+		idBytesStart = align(idOrderStart + 4L*vertexCount);
+		edgeAttributes = sharedAttributes ? new MappedEdgeAttributeStore(file, edgeCount, fingerprint) : new EdgeAttributeStore();
+	}
+
+	/**
+	 * Write a graph to a file that can be opened as a MappedIndexableGraph. Vertex and edge
+	 * indices are compacted, keeping their order.
+	 *
+	 * @param graph Input graph.
+	 * @param file Output file.
+	 * @throws IOException
+	 */
+	public static void write(IndexableGraph<? extends StringIndexableVertex, ?> graph, File file) throws IOException {
+		int vertexBound = graph.getVertexIndexBound();
+		int[] vertexMap = new int[vertexBound];
+		int n = 0;
+		long adjacencyLength = 0;
+		for (int v = 0; v < vertexBound; v++){
+			if (!graph.containsVertexIndex(v)){
+				vertexMap[v] = -1;
+			} else {
+				vertexMap[v] = n++;
+				adjacencyLength += graph.getDegreeByIndex(v);
+			}
+		}
+		int edgeBound = graph.getEdgeIndexBound();
+		int[] edgeMap = new int[edgeBound];
+		int m = 0;
+		for (int e = 0; e < edgeBound; e++){
+			edgeMap[e] = (graph.getEdgeByIndex(e) == null) ? -1 : m++;
+		}
+
+		final byte[][] ids = new byte[n][];
+		int[] vertices = new int[n];
+		long idBytesLength = 0;
+		for (int v = 0; v < vertexBound; v++){
+			if (vertexMap[v] < 0) continue;
+			vertices[vertexMap[v]] = v;
+			ids[vertexMap[v]] = graph.getVertexByIndex(v).getID().getBytes(UTF8);
+			idBytesLength += ids[vertexMap[v]].length;
+		}
+		Integer[] idOrder = new Integer[n];
+		for (int i = 0; i < n; i++){
+			idOrder[i] = i;
+		}
+		Arrays.sort(idOrder, new Comparator<Integer>(){
+			public int compare(Integer i1, Integer i2){
+				return compareBytes(ids[i1], ids[i2]);
+			}
+		});
+		for (int i = 1; i < n; i++){
+			if (compareBytes(ids[idOrder[i-1]], ids[idOrder[i]]) == 0){
+				throw new IllegalArgumentException("Vertex id " + new String(ids[idOrder[i]], UTF8) + " is not unique!");
+			}
+		}
+
+		long offsetsStart = HEADER_SIZE;
+		long neighborsStart = align(offsetsStart + 8L*(n+1));
+		long incidentEdgesStart = align(neighborsStart + 4L*adjacencyLength);
+		long firstEndpointsStart = align(incidentEdgesStart + 4L*adjacencyLength);
+		long secondEndpointsStart = align(firstEndpointsStart + 4L*m);
+		long weightsStart = align(secondEndpointsStart + 4L*m);
+		long idOffsetsStart = align(weightsStart + 8L*m);
+		long idOrderStart = align(idOffsetsStart + 8L*(n+1));
+		long idBytesStart = align(idOrderStart + 4L*n);
+		long size = idBytesStart + idBytesLength;
+
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		try {
+			raf.setLength(0);
+			raf.setLength(size);
+			MappedSegments out = new MappedSegments(raf.getChannel(), FileChannel.MapMode.READ_WRITE, 0, size);
+			out.putInt(0, MAGIC);
+			out.putInt(4, VERSION);
+			out.putInt(8, n);
+			out.putInt(12, m);
+			out.putLong(16, adjacencyLength);
+			out.putLong(24, idBytesLength);
+
+			long hash = mix(mix(0L, n), m);
+			long position = 0;
+			long idPosition = 0;
+			for (int i = 0; i < n; i++){
+				int v = vertices[i];
+				out.putLong(offsetsStart + 8L*i, position);
+				int deg = graph.getDegreeByIndex(v);
+				/* compaction keeps the order, hence the neighbours remain sorted */
+				for (int p = 0; p < deg; p++){
+					int neighbor = vertexMap[graph.getNeighborIndex(v, p)];
+					int edge = edgeMap[graph.getIncidentEdgeIndex(v, p)];
+					out.putInt(neighborsStart + 4L*position, neighbor);
+					out.putInt(incidentEdgesStart + 4L*position, edge);
+					hash = mix(mix(hash, neighbor), edge);
+					position++;
+				}
+				out.putLong(idOffsetsStart + 8L*i, idPosition);
+				for (int b = 0; b < ids[i].length; b++){
+					out.putByte(idBytesStart + idPosition + b, ids[i][b]);
+				}
+				idPosition += ids[i].length;
+				out.putInt(idOrderStart + 4L*i, idOrder[i]);
+			}
+			out.putLong(offsetsStart + 8L*n, position);
+			out.putLong(idOffsetsStart + 8L*n, idPosition);
+			for (int e = 0; e < edgeBound; e++){
+				if (edgeMap[e] < 0) continue;
+				long weightBits = Double.doubleToLongBits(graph.getEdgeWeightByIndex(e));
+				out.putInt(firstEndpointsStart + 4L*edgeMap[e], vertexMap[graph.getFirstEndpointIndex(e)]);
+				out.putInt(secondEndpointsStart + 4L*edgeMap[e], vertexMap[graph.getSecondEndpointIndex(e)]);
+				out.putLong(weightsStart + 8L*edgeMap[e], weightBits);
+				hash = mix(hash, weightBits);
+			}
+			out.putLong(32, hash);
+			out.force();
+		} finally {
+			raf.close();
+		}
+	}
+
+	/* Step of the fingerprint hash: a multiply-xorshift mix of the next value. */
+	private static long mix(long hash, long value){
+		hash = (hash ^ value) * 0x9E3779B97F4A7C15L;
+		return hash ^ (hash >>> 29);
+	}
+
+	private static long align(long position){
+		return (position + 7) & ~7L;
+	}
+
+	/* Lexicographic comparison of unsigned bytes, which orders UTF-8 strings by code point. */
+	private static int compareBytes(byte[] a, byte[] b){
+		int length = Math.min(a.length, b.length);
+		for (int i = 0; i < length; i++){
+			int difference = (a[i] & 0xff) - (b[i] & 0xff);
+			if (difference != 0){
+				return difference;
+			}
+		}
+		return a.length - b.length;
+	}
+
+	public File getFile(){
+		return file;
+	}
+
+	/**
+	 * @return The fingerprint of the graph, which identifies the graph that was written and
+	 * is checked against the fingerprint stored in the column files of the edge attributes.
+	 */
+	public long getFingerprint(){
+		return fingerprint;
+	}
+
+	/* ---------------------------------------------------------------------------------- */
+	/* index-based access                                                                  */
+	/* ---------------------------------------------------------------------------------- */
+
+	public int getVertexIndex(StringIndexableVertex vertex) {
+		return (vertex == null) ? -1 : findId(vertex.getID());
+	}
+
+	/* Binary search of an id among the ids sorted in byte order. */
+	private int findId(String id){
+		byte[] key = id.getBytes(UTF8);
+		int low = 0;
+		int high = vertexCount-1;
+		while (low <= high){
+			int middle = (low + high) >>> 1;
+			int index = segments.getInt(idOrderStart + 4L*middle);
+			int comparison = compareId(index, key);
+			if (comparison < 0){
+				low = middle+1;
+			} else if (comparison > 0){
+				high = middle-1;
+			} else {
+				return index;
+			}
+		}
+		return -1;
+	}
+
+	private int compareId(int index, byte[] key){
+		long start = idBytesStart + segments.getLong(idOffsetsStart + 8L*index);
+		int length = (int)(segments.getLong(idOffsetsStart + 8L*(index+1)) - segments.getLong(idOffsetsStart + 8L*index));
+		int common = Math.min(length, key.length);
+		for (int i = 0; i < common; i++){
+			int difference = (segments.getByte(start + i) & 0xff) - (key[i] & 0xff);
+			if (difference != 0){
+				return difference;
+			}
+		}
+		return length - key.length;
+	}
+
+	private String getId(int index){
+		long start = segments.getLong(idOffsetsStart + 8L*index);
+		int length = (int)(segments.getLong(idOffsetsStart + 8L*(index+1)) - start);
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++){
+			bytes[i] = segments.getByte(idBytesStart + start + i);
+		}
+		return new String(bytes, UTF8);
+	}
+
+	public StringIndexableVertex getVertexByIndex(int index) {
+		return new StringIndexableVertex(getId(index));
+	}
+
+	public int getVertexIndexBound() {
+		return vertexCount;
+	}
+
+	/* Mapped graphs have no holes, so any index below the bound is a vertex. */
+	public boolean containsVertexIndex(int index) {
+		return index >= 0 && index < vertexCount;
+	}
+
+	public int getDegreeByIndex(int index) {
+		return (int)(segments.getLong(offsetsStart + 8L*(index+1)) - segments.getLong(offsetsStart + 8L*index));
+	}
+
+	public int getNeighborIndex(int index, int position) {
+		return segments.getInt(neighborsStart + 4L*(segments.getLong(offsetsStart + 8L*index) + position));
+	}
+
+	public int getIncidentEdgeIndex(int index, int position) {
+		return segments.getInt(incidentEdgesStart + 4L*(segments.getLong(offsetsStart + 8L*index) + position));
+	}
+
+	public int getEdgeIndex(Integer edge) {
+		return (edge != null && edge >= 0 && edge < edgeCount) ? edge : -1;
+	}
+
+	public Integer getEdgeByIndex(int edgeIndex) {
+		return edgeIndex;
+	}
+
+	public int getEdgeIndexBound() {
+		return edgeCount;
+	}
+
+	public int getFirstEndpointIndex(int edgeIndex) {
+		return segments.getInt(firstEndpointsStart + 4L*edgeIndex);
+	}
+
+	public int getSecondEndpointIndex(int edgeIndex) {
+		return segments.getInt(secondEndpointsStart + 4L*edgeIndex);
+	}
+
+	public double getEdgeWeightByIndex(int edgeIndex) {
+		return Double.longBitsToDouble(segments.getLong(weightsStart + 8L*edgeIndex));
+	}
+
+	/* Copy the sorted neighbours of a vertex into the given per-thread slot. */
+	private int[] copyNeighbors(int index, int slot){
+		int[][] copies = NEIGHBORS.get();
+		int deg = getDegreeByIndex(index);
+		if (copies[slot].length < deg){
+			copies[slot] = new int[Math.max(deg, 2*copies[slot].length)];
+		}
+		int[] copy = copies[slot];
+		long start = neighborsStart + 4L*segments.getLong(offsetsStart + 8L*index);
+		for (int p = 0; p < deg; p++){
+			copy[p] = segments.getInt(start + 4L*p);
+		}
+		return copy;
+	}
+
+	/* Find the elements of a short sorted array among the neighbours of a vertex that has many
+	 * more of them, by galloping through the mapped neighbours instead of copying them all;
+	 * the positions of the common elements are added to the lists that are not null. */
+	private int gallopNeighbors(int[] a, int lengthA, int index, IntArrayList positionsA, IntArrayList positions){
+		long start = neighborsStart + 4L*segments.getLong(offsetsStart + 8L*index);
+		int deg = getDegreeByIndex(index);
+		int common = 0;
+		int low = 0;
+		for (int i = 0; i < lengthA && low < deg; i++){
+			int key = a[i];
+			/* exponential search followed by binary search, as in the IntersectionKernel */
+			int step = 1;
+			int high = low;
+			while (high < deg && segments.getInt(start + 4L*high) < key){
+				low = high + 1;
+				high += step;
+				step <<= 1;
+			}
+			if (high > deg){
+				high = deg;
+			}
+			while (low < high){
+				int middle = (low + high) >>> 1;
+				if (segments.getInt(start + 4L*middle) < key){
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			if (low < deg && segments.getInt(start + 4L*low) == key){
+				if (positionsA != null) positionsA.add(i);
+				if (positions != null) positions.add(low);
+				common++;
+			}
+		}
+		return common;
+	}
+
+	public int countCommonNeighbors(int index1, int index2) {
+		int deg1 = getDegreeByIndex(index1);
+		int deg2 = getDegreeByIndex(index2);
+		if (deg1 > deg2){
+			return countCommonNeighbors(index2, index1);
+		}
+		if (deg1 > 0 && deg2 / deg1 >= IntersectionKernel.GALLOPING_RATIO){
+			return gallopNeighbors(copyNeighbors(index1, 0), deg1, index2, null, null);
+		}
+		return IntersectionKernel.count(copyNeighbors(index1, 0), deg1, copyNeighbors(index2, 1), deg2);
+	}
+
+	public int intersectNeighbors(int index1, int index2, IntArrayList positions1, IntArrayList positions2) {
+		int deg1 = getDegreeByIndex(index1);
+		int deg2 = getDegreeByIndex(index2);
+		if (deg1 > deg2){
+			return intersectNeighbors(index2, index1, positions2, positions1);
+		}
+		if (deg1 > 0 && deg2 / deg1 >= IntersectionKernel.GALLOPING_RATIO){
+			positions1.clear();
+			positions2.clear();
+			return gallopNeighbors(copyNeighbors(index1, 0), deg1, index2, positions1, positions2);
+		}
+		return IntersectionKernel.intersect(copyNeighbors(index1, 0), deg1,
+				copyNeighbors(index2, 1), deg2, positions1, positions2);
+	}
+
+	public int intersectNeighbors(int index, int[] sortedIndices, int length, IntArrayList positions) {
+		int deg = getDegreeByIndex(index);
+		if (length > 0 && deg / length >= IntersectionKernel.GALLOPING_RATIO){
+			positions.clear();
+			return gallopNeighbors(sortedIndices, length, index, null, positions);
+		}
+		return IntersectionKernel.intersect(copyNeighbors(index, 0), deg,
+				sortedIndices, length, positions, IGNORED_POSITIONS.get());
+	}
+
+	/**
+	 * The columns of the store are mapped to files named after the graph file and the
+	 * attribute key (its toString(), which should therefore be unique and stable, as is the
+	 * name of an enum constant). Absent values are stored as zero bits, so new columns start
+	 * empty, and values are written with aligned 8-byte stores, so processes sharing a column
+	 * see either the old or the new value of an edge. A column file whose fingerprint is not
+	 * the one of this graph (e.g. left over from a graph that was previously written to the
+	 * same file) is emptied when it is mapped.
+	 */
+	public EdgeAttributeStore getEdgeAttributes() {
+		return edgeAttributes;
+	}
+
+	/* ---------------------------------------------------------------------------------- */
+	/* vertex lookup and the (read-only) JUNG graph interface                              */
+	/* ---------------------------------------------------------------------------------- */
+
+	public StringIndexableVertex getVertex(String id) {
+		return (findId(id) < 0) ? null : new StringIndexableVertex(id);
+	}
+
+	public boolean removeVertex(String id) {
+		throw new UnsupportedOperationException("The mapped graph is read-only!");
+	}
+
+	public Collection<Integer> getEdges() {
+		return new IndexRange(edgeCount);
+	}
+
+	public Collection<StringIndexableVertex> getVertices() {
+		return new AbstractCollection<StringIndexableVertex>(){
+			public Iterator<StringIndexableVertex> iterator() {
+				final Iterator<Integer> indices = new IndexRange(vertexCount).iterator();
+				return new Iterator<StringIndexableVertex>(){
+					public boolean hasNext() {
+						return indices.hasNext();
+					}
+					public StringIndexableVertex next() {
+						return getVertexByIndex(indices.next());
+					}
+					public void remove() {
+						throw new UnsupportedOperationException("The mapped graph is read-only!");
+					}
+				};
+			}
+			public int size() {
+				return vertexCount;
+			}
+		};
+	}
+
+	public boolean containsVertex(StringIndexableVertex vertex) {
+		return getVertexIndex(vertex) >= 0;
+	}
+
+	public boolean containsEdge(Integer edge) {
+		return getEdgeIndex(edge) >= 0;
+	}
+
+	public int getEdgeCount() {
+		return edgeCount;
+	}
+
+	public int getVertexCount() {
+		return vertexCount;
+	}
+
+	public Collection<StringIndexableVertex> getNeighbors(StringIndexableVertex vertex) {
+		int index = getVertexIndex(vertex);
+		if (index < 0) return null;
+		int deg = getDegreeByIndex(index);
+		List<StringIndexableVertex> neighbors = new ArrayList<StringIndexableVertex>(deg);
+		for (int p = 0; p < deg; p++){
+			neighbors.add(getVertexByIndex(getNeighborIndex(index, p)));
+		}
+		return neighbors;
+	}
+
+	public Collection<Integer> getIncidentEdges(StringIndexableVertex vertex) {
+		int index = getVertexIndex(vertex);
+		if (index < 0) return null;
+		int deg = getDegreeByIndex(index);
+		List<Integer> edges = new ArrayList<Integer>(deg);
+		for (int p = 0; p < deg; p++){
+			edges.add(getIncidentEdgeIndex(index, p));
+		}
+		return edges;
+	}
+
+	public Collection<StringIndexableVertex> getIncidentVertices(Integer edge) {
+		return getEndpoints(edge);
+	}
+
+	public Pair<StringIndexableVertex> getEndpoints(Integer edge) {
+		if (getEdgeIndex(edge) < 0) return null;
+		return new Pair<StringIndexableVertex>(getVertexByIndex(getFirstEndpointIndex(edge)),
+				getVertexByIndex(getSecondEndpointIndex(edge)));
+	}
+
+	public Integer findEdge(StringIndexableVertex v1, StringIndexableVertex v2) {
+		int i1 = getVertexIndex(v1);
+		int i2 = getVertexIndex(v2);
+		if (i1 < 0 || i2 < 0) return null;
+		/* binary search in the sorted neighbours of v1 */
+		int low = 0;
+		int high = getDegreeByIndex(i1)-1;
+		while (low <= high){
+			int middle = (low + high) >>> 1;
+			int neighbor = getNeighborIndex(i1, middle);
+			if (neighbor < i2){
+				low = middle+1;
+			} else if (neighbor > i2){
+				high = middle-1;
+			} else {
+				return getIncidentEdgeIndex(i1, middle);
+			}
+		}
+		return null;
+	}
+
+	public Collection<Integer> findEdgeSet(StringIndexableVertex v1, StringIndexableVertex v2) {
+		Integer edge = findEdge(v1, v2);
+		return (edge == null) ? Collections.<Integer>emptySet() : Collections.singleton(edge);
+	}
+
+	public boolean addVertex(StringIndexableVertex vertex) {
+		throw new UnsupportedOperationException("The mapped graph is read-only!");
+	}
+
+	public boolean addEdge(Integer edge, Collection<? extends StringIndexableVertex> vertices) {
+		throw new UnsupportedOperationException("The mapped graph is read-only!");
+	}
+
+	public boolean addEdge(Integer edge, Collection<? extends StringIndexableVertex> vertices, EdgeType edgeType) {
+		throw new UnsupportedOperationException("The mapped graph is read-only!");
+	}
+
+	public boolean removeVertex(StringIndexableVertex vertex) {
+		throw new UnsupportedOperationException("The mapped graph is read-only!");
+	}
+
+	public boolean removeEdge(Integer edge) {
+		throw new UnsupportedOperationException("The mapped graph is read-only!");
+	}
+
+	public boolean isNeighbor(StringIndexableVertex v1, StringIndexableVertex v2) {
+		return findEdge(v1, v2) != null;
+	}
+
+	public boolean isIncident(StringIndexableVertex vertex, Integer edge) {
+		int index = getVertexIndex(vertex);
+		return (index >= 0) && (getEdgeIndex(edge) >= 0) &&
+			(getFirstEndpointIndex(edge) == index || getSecondEndpointIndex(edge) == index);
+	}
+
+	public int degree(StringIndexableVertex vertex) {
+		int index = getVertexIndex(vertex);
+		if (index < 0){
+			throw new IllegalArgumentException(vertex + " is not a vertex of this graph!");
+		}
+		return getDegreeByIndex(index);
+	}
+
+	public int getNeighborCount(StringIndexableVertex vertex) {
+		return degree(vertex);
+	}
+
+	public int getIncidentCount(Integer edge) {
+		return (getFirstEndpointIndex(edge) == getSecondEndpointIndex(edge)) ? 1 : 2;
+	}
+
+	public EdgeType getEdgeType(Integer edge) {
+		return containsEdge(edge) ? EdgeType.UNDIRECTED : null;
+	}
+
+	public EdgeType getDefaultEdgeType() {
+		return EdgeType.UNDIRECTED;
+	}
+
+	public Collection<Integer> getEdges(EdgeType edgeType) {
+		return (edgeType == EdgeType.UNDIRECTED) ? getEdges() : Collections.<Integer>emptySet();
+	}
+
+	public int getEdgeCount(EdgeType edgeType) {
+		return (edgeType == EdgeType.UNDIRECTED) ? edgeCount : 0;
+	}
+
+	public Collection<Integer> getInEdges(StringIndexableVertex vertex) {
+		return getIncidentEdges(vertex);
+	}
+
+	public Collection<Integer> getOutEdges(StringIndexableVertex vertex) {
+		return getIncidentEdges(vertex);
+	}
+
+	public int inDegree(StringIndexableVertex vertex) {
+		return degree(vertex);
+	}
+
+	public int outDegree(StringIndexableVertex vertex) {
+		return degree(vertex);
+	}
+
+	public StringIndexableVertex getSource(Integer edge) {
+		return null;
+	}
+
+	public StringIndexableVertex getDest(Integer edge) {
+		return null;
+	}
+
+	public Collection<StringIndexableVertex> getPredecessors(StringIndexableVertex vertex) {
+		return getNeighbors(vertex);
+	}
+
+	public Collection<StringIndexableVertex> getSuccessors(StringIndexableVertex vertex) {
+		return getNeighbors(vertex);
+	}
+
+	/* The integers 0 ... size-1, as an unmodifiable collection. */
+	private static class IndexRange extends AbstractCollection<Integer> {
+		private final int size;
+
+		private IndexRange(int size){
+			this.size = size;
+		}
+		public Iterator<Integer> iterator() {
+			return new Iterator<Integer>(){
+				private int next = 0;
+				public boolean hasNext() {
+					return next < size;
+				}
+				public Integer next() {
+					if (next >= size){
+						throw new NoSuchElementException();
+					}
+					return next++;
+				}
+				public void remove() {
+					throw new UnsupportedOperationException("The mapped graph is read-only!");
+				}
+			};
+		}
+		public int size() {
+			return size;
+		}
+		public boolean contains(Object o) {
+			return (o instanceof Integer) && ((Integer)o) >= 0 && ((Integer)o) < size;
+		}
+	}
+
+	/* Edge attribute store whose columns are mapped to files next to the graph file. */
+	private static class MappedEdgeAttributeStore extends EdgeAttributeStore {
+		private static final long serialVersionUID = 1L;
+
+		private final File graphFile;
+		private final int edgeCount;
+		private final long fingerprint;
+
+		private MappedEdgeAttributeStore(File graphFile, int edgeCount, long fingerprint){
+			this.graphFile = graphFile;
+			this.edgeCount = edgeCount;
+			this.fingerprint = fingerprint;
+		}
+
+		protected Column createColumn(Object key){
+			String name = key.toString().replaceAll("[^A-Za-z0-9._~-]", "_");
+			File columnFile = new File(graphFile.getPath() + "." + name + ".col");
+			try {
+				return new MappedColumn(columnFile, edgeCount, fingerprint);
+			} catch (IOException e) {
+				throw new IllegalStateException("Cannot map the column file " + columnFile + "!", e);
+			}
+		}
+	}
+
+	/* Column of values mapped to a file, after a header holding the fingerprint of the graph;
+	 * values are stored XOR-ed with the absent marker, so that zero bits (e.g. of a newly
+	 * created file) denote absent values. */
+	private static class MappedColumn extends EdgeAttributeStore.Column {
+		private static final long serialVersionUID = 1L;
+
+		private static final int COLUMN_HEADER_SIZE = 8;
+
+		private final transient MappedSegments values;
+		private final int length;
+
+		private MappedColumn(File columnFile, int length, long fingerprint) throws IOException {
+			this.length = length;
+			values = map(columnFile, COLUMN_HEADER_SIZE + 8L*length, fingerprint);
+		}
+
+		/* The file lock keeps processes that map the column at the same time from emptying it
+		 * after one of them has started writing values; file locks are held per process, hence
+		 * the threads of this process are serialized by the class lock. */
+		private static synchronized MappedSegments map(File columnFile, long size, long fingerprint) throws IOException {
+			RandomAccessFile raf = new RandomAccessFile(columnFile, "rw");
+			try {
+				FileChannel channel = raf.getChannel();
+				/* released by close() */
+				channel.lock();
+				/* the mapped values are little-endian, RandomAccessFile reads big-endian */
+				boolean stale = (raf.length() < COLUMN_HEADER_SIZE) || (Long.reverseBytes(raf.readLong()) != fingerprint);
+				if (stale){
+					raf.setLength(0);
+				}
+				if (raf.length() < size){
+					raf.setLength(size);
+				}
+				MappedSegments values = new MappedSegments(channel, FileChannel.MapMode.READ_WRITE, 0, size);
+				if (stale){
+					values.putLong(0, fingerprint);
+				}
+				return values;
+			} finally {
+				raf.close();
+			}
+		}
+
+		public boolean contains(int edgeIndex){
+			return (edgeIndex < length) && (values.getLong(COLUMN_HEADER_SIZE + 8L*edgeIndex) != 0L);
+		}
+		public double get(int edgeIndex){
+			return Double.longBitsToDouble(values.getLong(COLUMN_HEADER_SIZE + 8L*edgeIndex) ^ ABSENT);
+		}
+		public double get(int edgeIndex, double absentValue){
+			if (edgeIndex >= length){
+				return absentValue;
+			}
+			long bits = values.getLong(COLUMN_HEADER_SIZE + 8L*edgeIndex);
+			return (bits == 0L) ? absentValue : Double.longBitsToDouble(bits ^ ABSENT);
+		}
+		public void set(int edgeIndex, double value){
+			if (edgeIndex >= length){
+				throw new IllegalArgumentException("Edge index " + edgeIndex + " is out of the mapped column!");
+			}
+			values.putLong(COLUMN_HEADER_SIZE + 8L*edgeIndex, Double.doubleToLongBits(value) ^ ABSENT);
+		}
+		public void remove(int edgeIndex){
+			if (edgeIndex < length){
+				values.putLong(COLUMN_HEADER_SIZE + 8L*edgeIndex, 0L);
+			}
+		}
+		/* This affects all processes sharing the column. */
+		public synchronized void clear(){
+			for (int e = 0; e < length; e++){
+				values.putLong(COLUMN_HEADER_SIZE + 8L*e, 0L);
+			}
+		}
+	}
+}
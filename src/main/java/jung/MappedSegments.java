@@ -0,0 +1,89 @@
+/*
+  @(#) MappedSegments.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package jung;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A file region mapped into memory as a sequence of chunks, since a single mapping is
+ * limited to 2GB. Values are addressed by byte position in the region and must be aligned
+ * to their size, so that no value spans two chunks. Only absolute accesses are used, so
+ * the segments can be read concurrently. Values are little-endian, independently of the
+ * platform.
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+class MappedSegments {
+
+	/* Chunks of 1GB, a multiple of the size of any value. */
+	private static final int CHUNK_BITS = 30;
+	private static final long CHUNK_MASK = (1L << CHUNK_BITS) - 1;
+
+	private final MappedByteBuffer[] chunks;
+	private final long size;
+
+	MappedSegments(FileChannel channel, FileChannel.MapMode mode, long position, long size) throws IOException {
+		this.size = size;
+		int numChunks = (int)((size + CHUNK_MASK) >>> CHUNK_BITS);
+		chunks = new MappedByteBuffer[numChunks];
+		for (int c = 0; c < numChunks; c++){
+			long start = (long)c << CHUNK_BITS;
+			chunks[c] = channel.map(mode, position + start, Math.min(1L << CHUNK_BITS, size - start));
+			chunks[c].order(ByteOrder.LITTLE_ENDIAN);
+		}
+	}
+
+	long size(){
+		return size;
+	}
+
+	byte getByte(long position){
+		return chunks[(int)(position >>> CHUNK_BITS)].get((int)(position & CHUNK_MASK));
+	}
+	int getInt(long position){
+		return chunks[(int)(position >>> CHUNK_BITS)].getInt((int)(position & CHUNK_MASK));
+	}
+	long getLong(long position){
+		return chunks[(int)(position >>> CHUNK_BITS)].getLong((int)(position & CHUNK_MASK));
+	}
+
+	void putByte(long position, byte value){
+		chunks[(int)(position >>> CHUNK_BITS)].put((int)(position & CHUNK_MASK), value);
+	}
+	void putInt(long position, int value){
+		chunks[(int)(position >>> CHUNK_BITS)].putInt((int)(position & CHUNK_MASK), value);
+	}
+	void putLong(long position, long value){
+		chunks[(int)(position >>> CHUNK_BITS)].putLong((int)(position & CHUNK_MASK), value);
+	}
+
+	/**
+	 * Write the modified pages back to the file.
+	 */
+	void force(){
+		for (int c = 0; c < chunks.length; c++){
+			chunks[c].force();
+		}
+	}
+}
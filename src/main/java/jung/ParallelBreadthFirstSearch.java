@@ -0,0 +1,455 @@
+/*
+  @(#) ParallelBreadthFirstSearch.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package jung;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import util.IntArrayList;
+
+/**
+ * Level-synchronous, direction-optimizing breadth-first search on the vertex indices of a
+ * graph, optionally restricted to a subset of its vertices (the domain). The search is
+ * advanced one level at a time with expandLevel(), so that the caller can stop it after any
+ * number of hops, or when it has visited enough vertices.
+ *
+ * Each level is expanded in one of two directions. Top-down, the edges of the frontier
+ * vertices are scanned, and every unvisited neighbour is claimed in an atomic bitset.
+ * Bottom-up, every unvisited vertex of the domain scans its edges until it finds a frontier
+ * vertex, which is cheaper when the frontier holds a large part of the remaining edges, as
+ * in the middle levels of a search on a small-world graph. The search switches to
+ * bottom-up when the edges of the frontier exceed 1/alpha of the edges of the unvisited
+ * vertices, and back to top-down when the frontier has fewer than 1/beta of the vertices of
+ * the domain (S. Beamer, K. Asanovic, D. Patterson, Direction-Optimizing Breadth-First
+ * Search, SC 2012).
+ *
+ * The work of a level is split in chunks of vertices, which run in parallel on an executor
+ * (the common ForkJoinPool by default); a level that fits in a single chunk is expanded in
+ * the calling thread. The vertices of a level are listed in the order of their chunks.
+ *
+ * The search allocates bitsets as large as the vertex index bound of the graph, so it pays
+ * off for large searches; the graph should not be modified while it runs. Instances are
+ * not thread-safe (the parallelism is internal).
+ *
+ * A search whose level expansion is interrupted cannot be used any more: the chunks that 
+ * completed have claimed vertices that are not listed, and cancelled chunks may still be 
+ * running. Its visited vertices are those of the levels expanded before the interrupt, and 
+ * further calls of expandLevel() throw an IllegalStateException.
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class ParallelBreadthFirstSearch {
+
+	/* Default parameters of the switch between top-down and bottom-up expansion. */
+	public static final double ALPHA = 14;
+	public static final double BETA = 24;
+	public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+	private final IndexableGraph<?,?> graph;
+
+	/* Vertices that may be visited, or null for all the vertices of the graph. */
+	private final int[] domain;
+	private final int domainSize;
+	private final long[] inDomain;
+
+	private final AtomicLongArray visited;
+
+	/* Frontier of a bottom-up level; cleared after each such level. */
+	private long[] frontierBits = null;
+
+	/* Visited vertices, in order of distance from the sources, and start of each level. */
+	private int[] order;
+	private int size = 0;
+	private final IntArrayList levelStarts = new IntArrayList();
+
+	/* Sum of the degrees of the vertices of the domain that are unvisited or in the frontier. */
+	private long unvisitedDegrees;
+	private long inspectedEdges = 0;
+	private boolean bottomUp = false;
+	private boolean interrupted = false;
+
+	private double alpha = ALPHA;
+	private double beta = BETA;
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+	private ExecutorService executor = ForkJoinPool.commonPool();
+
+	/**
+	 * Start a search of the whole graph from a single vertex.
+	 * @param graph Input graph.
+	 * @param source Index of the source vertex.
+	 */
+	public ParallelBreadthFirstSearch(IndexableGraph<?,?> graph, int source){
+		this(graph, null, 0, new int[]{source}, 1, 0);
+	}
+
+	/**
+	 * Start or resume a search. The visited vertices are given in order of distance from
+	 * the sources; the last of them, from frontierStart on, form the frontier, i.e. the
+	 * level that is expanded next. The sources of a new search are the frontier of an empty
+	 * visited prefix (frontierStart = 0).
+	 *
+	 * @param graph Input graph.
+	 * @param domain Indices of the vertices that may be visited (in any order), or null for
+	 * all the vertices of the graph. The visited vertices should belong to the domain.
+	 * @param domainLength Number of vertices in the domain.
+	 * @param visited Indices of the visited vertices.
+	 * @param numVisited Number of visited vertices.
+	 * @param frontierStart Position of the first frontier vertex in the visited vertices.
+	 */
+	public ParallelBreadthFirstSearch(IndexableGraph<?,?> graph, int[] domain, int domainLength,
+			int[] visited, int numVisited, int frontierStart){
+		if (frontierStart < 0 || frontierStart > numVisited){
+			throw new IllegalArgumentException("The frontier should be a suffix of the visited vertices!");
+		}
+		this.graph = graph;
+		int bound = graph.getVertexIndexBound();
+		this.visited = new AtomicLongArray((bound + 63) >>> 6);
+		if (domain == null){
+			this.domain = null;
+			this.domainSize = graph.getVertexCount();
+			this.inDomain = null;
+			this.unvisitedDegrees = 2L * graph.getEdgeCount();
+		} else {
+			this.domain = Arrays.copyOf(domain, domainLength);
+			this.inDomain = new long[(bound + 63) >>> 6];
+			long degrees = 0;
+			int distinct = 0;
+			for (int i = 0; i < domainLength; i++){
+				int v = domain[i];
+				if (v < 0 || v >= bound){
+					throw new IllegalArgumentException("Vertex index " + v + " does not belong to the graph!");
+				}
+				if ((inDomain[v >>> 6] & (1L << v)) == 0){
+					inDomain[v >>> 6] |= 1L << v;
+					degrees += graph.getDegreeByIndex(v);
+					distinct++;
+				}
+			}
+			this.domainSize = distinct;
+			this.unvisitedDegrees = degrees;
+		}
+		this.order = new int[Math.max(16, numVisited)];
+		int levelStart = -1;
+		for (int i = 0; i < numVisited; i++){
+			if (i == frontierStart){
+				levelStart = size;
+			}
+			int v = visited[i];
+			if (v < 0 || v >= bound || (inDomain != null && (inDomain[v >>> 6] & (1L << v)) == 0)){
+				throw new IllegalArgumentException("Vertex index " + v + " does not belong to the domain!");
+			}
+			if (claim(this.visited, v)){
+				order[size++] = v;
+				if (i < frontierStart){
+					unvisitedDegrees -= graph.getDegreeByIndex(v);
+				}
+			} else if (i >= frontierStart){
+				throw new IllegalArgumentException("Vertex index " + v + " is visited twice!");
+			}
+		}
+		levelStarts.add((levelStart < 0) ? size : levelStart);
+	}
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+	public void setChunkSize(int chunkSize) {
+		if (chunkSize < 1){
+			throw new IllegalArgumentException("The chunk size should be a positive number!");
+		}
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Set the parameters of the switch between top-down and bottom-up expansion; an
+	 * alpha of 0 keeps the search top-down.
+	 */
+	public void setSwitchingParameters(double alpha, double beta){
+		if (alpha < 0 || beta <= 0){
+			throw new IllegalArgumentException("The switching parameters should be positive!");
+		}
+		this.alpha = alpha;
+		this.beta = beta;
+	}
+
+	/**
+	 * Set the executor that runs the chunks of the levels.
+	 */
+	public void setExecutor(ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * @return The number of visited vertices.
+	 */
+	public int getNumberOfVisited(){
+		return size;
+	}
+
+	/**
+	 * @param i Position in the order of the visit.
+	 * @return The index of the i-th visited vertex.
+	 */
+	public int getVisited(int i){
+		if (i >= size){
+			throw new IndexOutOfBoundsException("Index: " + i + ", size: " + size);
+		}
+		return order[i];
+	}
+
+	/**
+	 * @return The indices of the visited vertices, in order of distance from the sources.
+	 */
+	public int[] getVisited(){
+		return Arrays.copyOf(order, size);
+	}
+
+	public boolean isVisited(int vertexIndex){
+		return (visited.get(vertexIndex >>> 6) & (1L << vertexIndex)) != 0;
+	}
+
+	/**
+	 * @return The position of the current frontier in the visited vertices.
+	 */
+	public int getFrontierStart(){
+		return levelStarts.get(levelStarts.size()-1);
+	}
+
+	/**
+	 * @return The number of levels expanded so far.
+	 */
+	public int getNumberOfExpandedLevels(){
+		return levelStarts.size()-1;
+	}
+
+	/**
+	 * @return The number of edges inspected so far.
+	 */
+	public long getInspectedEdges(){
+		return inspectedEdges;
+	}
+
+	/**
+	 * @return true if the last level was expanded bottom-up.
+	 */
+	public boolean isBottomUp(){
+		return bottomUp;
+	}
+
+	/**
+	 * @return true if a level expansion was interrupted, in which case the search cannot 
+	 * be expanded any more.
+	 */
+	public boolean isInterrupted(){
+		return interrupted;
+	}
+
+	/**
+	 * Visit the unvisited neighbours (in the domain) of the frontier, which become the new
+	 * frontier. If the calling thread is interrupted while the chunks run, the search stops
+	 * for good (see isInterrupted()) and the interrupt status is restored.
+	 *
+	 * @return true if new vertices were visited, false if the search is complete or was
+	 * interrupted.
+	 */
+	public boolean expandLevel(){
+		if (interrupted){
+			throw new IllegalStateException("The search was interrupted!");
+		}
+		int frontierStart = getFrontierStart();
+		int frontierSize = size - frontierStart;
+		if (frontierSize == 0){
+			return false;
+		}
+		/* the common pool may not report an interrupt that is pending when the chunks start */
+		if (Thread.currentThread().isInterrupted()){
+			interrupted = true;
+			return false;
+		}
+		long frontierDegrees = 0;
+		for (int i = frontierStart; i < size; i++){
+			frontierDegrees += graph.getDegreeByIndex(order[i]);
+		}
+		unvisitedDegrees -= frontierDegrees;
+		if (!bottomUp && frontierDegrees > unvisitedDegrees / alpha){
+			bottomUp = true;
+		} else if (bottomUp && frontierSize < domainSize / beta){
+			bottomUp = false;
+		}
+
+		List<Callable<Chunk>> tasks = new ArrayList<Callable<Chunk>>();
+		if (bottomUp){
+			if (frontierBits == null){
+				frontierBits = new long[visited.length()];
+			}
+			for (int i = frontierStart; i < size; i++){
+				frontierBits[order[i] >>> 6] |= 1L << order[i];
+			}
+			int candidates = (domain != null) ? domain.length : graph.getVertexIndexBound();
+			for (int start = 0; start < candidates; start += chunkSize){
+				tasks.add(new BottomUp(start, Math.min(candidates, start + chunkSize)));
+			}
+		} else {
+			for (int start = frontierStart; start < size; start += chunkSize){
+				tasks.add(new TopDown(start, Math.min(size, start + chunkSize)));
+			}
+		}
+
+		List<Chunk> chunks = new ArrayList<Chunk>(tasks.size());
+		try {
+			if (tasks.size() == 1){
+				chunks.add(tasks.get(0).call());
+			} else {
+				List<Future<Chunk>> results = executor.invokeAll(tasks);
+				for (int t = 0; t < results.size(); t++){
+					chunks.add(results.get(t).get());
+				}
+			}
+		} catch (InterruptedException e){
+			interrupted = true;
+			Thread.currentThread().interrupt();
+			return false;
+		} catch (ExecutionException e){
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) throw (RuntimeException)cause;
+			if (cause instanceof Error) throw (Error)cause;
+			throw new IllegalStateException(cause);
+		} catch (Exception e){
+			/* the tasks do not throw checked exceptions */
+			throw new IllegalStateException(e);
+		} finally {
+			if (bottomUp){
+				for (int i = frontierStart; i < size; i++){
+					frontierBits[order[i] >>> 6] = 0;
+				}
+			}
+		}
+
+		int levelStart = size;
+		for (int c = 0; c < chunks.size(); c++){
+			Chunk chunk = chunks.get(c);
+			inspectedEdges += chunk.edges;
+			if (order.length < size + chunk.claimed.size()){
+				order = Arrays.copyOf(order, Math.max(size + chunk.claimed.size(), 2*order.length));
+			}
+			for (int i = 0; i < chunk.claimed.size(); i++){
+				order[size++] = chunk.claimed.get(i);
+			}
+		}
+		if (size == levelStart){
+			return false;
+		}
+		levelStarts.add(levelStart);
+		return true;
+	}
+
+	/* Whether a vertex may be visited. */
+	private boolean isInDomain(int v){
+		return (inDomain == null) || (inDomain[v >>> 6] & (1L << v)) != 0;
+	}
+
+	/* Set the bit of a vertex; returns true if it was not set before. */
+	private static boolean claim(AtomicLongArray bits, int v){
+		int w = v >>> 6;
+		long bit = 1L << v;
+		long current = bits.get(w);
+		while ((current & bit) == 0){
+			if (bits.compareAndSet(w, current, current | bit)){
+				return true;
+			}
+			current = bits.get(w);
+		}
+		return false;
+	}
+
+	/* The vertices of the next level found by a chunk of a level. */
+	private static class Chunk {
+		final IntArrayList claimed = new IntArrayList();
+		long edges = 0;
+	}
+
+	/* Scans the edges of the frontier vertices order[from..to). */
+	private class TopDown implements Callable<Chunk> {
+		private final int from;
+		private final int to;
+
+		TopDown(int from, int to){
+			this.from = from;
+			this.to = to;
+		}
+
+		public Chunk call(){
+			Chunk chunk = new Chunk();
+			for (int i = from; i < to; i++){
+				int v = order[i];
+				int degree = graph.getDegreeByIndex(v);
+				chunk.edges += degree;
+				for (int p = 0; p < degree; p++){
+					int x = graph.getNeighborIndex(v, p);
+					if (isInDomain(x) && claim(visited, x)){
+						chunk.claimed.add(x);
+					}
+				}
+			}
+			return chunk;
+		}
+	}
+
+	/* Looks for a frontier neighbour of the unvisited candidates from..to, i.e. positions in
+	 * the domain or vertex indices. */
+	private class BottomUp implements Callable<Chunk> {
+		private final int from;
+		private final int to;
+
+		BottomUp(int from, int to){
+			this.from = from;
+			this.to = to;
+		}
+
+		public Chunk call(){
+			Chunk chunk = new Chunk();
+			for (int i = from; i < to; i++){
+				int u = (domain != null) ? domain[i] : i;
+				if (isVisited(u)) continue;
+				int degree = graph.getDegreeByIndex(u);
+				for (int p = 0; p < degree; p++){
+					chunk.edges++;
+					int x = graph.getNeighborIndex(u, p);
+					if ((frontierBits[x >>> 6] & (1L << x)) != 0){
+						/* u is only examined by this chunk, but its bit shares a word with others */
+						if (claim(visited, u)){
+							chunk.claimed.add(u);
+						}
+						break;
+					}
+				}
+			}
+			return chunk;
+		}
+	}
+}
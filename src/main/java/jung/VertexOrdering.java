@@ -0,0 +1,199 @@
+/*
+  @(#) VertexOrdering.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package jung;
+
+import java.util.Arrays;
+
+import util.IntArrayList;
+
+/**
+ * Orderings of the vertices of a graph that improve the locality of memory accesses
+ * during traversals. Vertex indices are assigned in insertion (load) order, which is
+ * often unrelated to the structure of the graph; relabel() builds a copy of the graph
+ * whose vertex indices follow the ordering, so that the adjacency arrays, markers and edge
+ * attribute columns touched while exploring a region of the graph lie close together.
+ *
+ * The copy contains the same vertex and edge objects, so vertices are still looked up by
+ * their String ids; only their indices (and those of the edges) change.
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public enum VertexOrdering {
+
+	/**
+	 * Vertices in decreasing order of degree, so that the hubs, which take part in most
+	 * neighbourhood intersections, are packed together.
+	 */
+	DEGREE {
+		public int[] getOrder(IndexableGraph<?,?> graph){
+			int[] vertices = getVertexIndices(graph);
+			long[] keys = new long[vertices.length];
+			for (int i = 0; i < vertices.length; i++){
+				/* decreasing degree, ties broken by index */
+				keys[i] = ((long)(Integer.MAX_VALUE - graph.getDegreeByIndex(vertices[i])) << 32) | vertices[i];
+			}
+			Arrays.sort(keys);
+			for (int i = 0; i < keys.length; i++){
+				vertices[i] = (int)keys[i];
+			}
+			return vertices;
+		}
+	},
+
+	/**
+	 * Reverse Cuthill-McKee ordering: every connected component is traversed breadth-first,
+	 * starting from a vertex of minimum degree and visiting the neighbours of each vertex in
+	 * increasing order of degree, and the resulting order is reversed. Neighbouring vertices
+	 * get close indices, i.e. the bandwidth of the adjacency matrix is reduced.
+	 */
+	REVERSE_CUTHILL_MCKEE {
+		public int[] getOrder(IndexableGraph<?,?> graph){
+			int[] vertices = getVertexIndices(graph);
+			/* start points: vertices in increasing order of degree */
+			long[] starts = new long[vertices.length];
+			for (int i = 0; i < vertices.length; i++){
+				starts[i] = ((long)graph.getDegreeByIndex(vertices[i]) << 32) | vertices[i];
+			}
+			Arrays.sort(starts);
+
+			boolean[] visited = new boolean[graph.getVertexIndexBound()];
+			int[] order = new int[vertices.length];
+			int size = 0;
+			long[] neighbours = new long[16];
+			for (int s = 0; s < starts.length; s++){
+				int start = (int)starts[s];
+				if (visited[start]) continue;
+				visited[start] = true;
+				int head = size;
+				order[size++] = start;
+				while (head < size){
+					int v = order[head++];
+					int deg = graph.getDegreeByIndex(v);
+					if (neighbours.length < deg){
+						neighbours = new long[Math.max(deg, 2*neighbours.length)];
+					}
+					int count = 0;
+					for (int p = 0; p < deg; p++){
+						int x = graph.getNeighborIndex(v, p);
+						if (!visited[x]){
+							visited[x] = true;
+							neighbours[count++] = ((long)graph.getDegreeByIndex(x) << 32) | x;
+						}
+					}
+					Arrays.sort(neighbours, 0, count);
+					for (int i = 0; i < count; i++){
+						order[size++] = (int)neighbours[i];
+					}
+				}
+			}
+			for (int i = 0, j = size-1; i < j; i++, j--){
+				int swap = order[i];
+				order[i] = order[j];
+				order[j] = swap;
+			}
+			return order;
+		}
+	};
+
+	/**
+	 * Compute the ordering of the vertices of a graph.
+	 *
+	 * @param graph Input graph.
+	 * @return The indices of the vertices of the graph, in the new order.
+	 */
+	public abstract int[] getOrder(IndexableGraph<?,?> graph);
+
+	/**
+	 * Build a copy of the graph whose vertex indices follow this ordering.
+	 *
+	 * @param graph Input graph.
+	 * @return The relabelled graph.
+	 */
+	public <V, E> IndexableUndirectedSparseGraph<V, E> relabel(IndexableUndirectedSparseGraph<V, E> graph){
+		return relabel(graph, getOrder(graph));
+	}
+
+	/**
+	 * Build a copy of the graph whose vertex indices follow the given order. Edges are added
+	 * in the order of their endpoint with the lowest new index, so edge indices follow the
+	 * vertex order as well. Memoized edge attributes and listeners are not copied.
+	 *
+	 * @param graph Input graph.
+	 * @param order The indices of all vertices of the graph, in the new order.
+	 * @return The relabelled graph.
+	 */
+	public static <V, E> IndexableUndirectedSparseGraph<V, E> relabel(
+			IndexableUndirectedSparseGraph<V, E> graph, int[] order){
+		int bound = graph.getVertexIndexBound();
+		int[] rank = new int[bound];
+		Arrays.fill(rank, -1);
+		for (int i = 0; i < order.length; i++){
+			int v = order[i];
+			if (!graph.containsVertexIndex(v) || rank[v] >= 0){
+				throw new IllegalArgumentException("The order should list every vertex of the graph once!");
+			}
+			rank[v] = i;
+		}
+		if (order.length != graph.getVertexCount()){
+			throw new IllegalArgumentException("The order should list every vertex of the graph once!");
+		}
+
+		IndexableUndirectedSparseGraph<V, E> relabelled = new IndexableUndirectedSparseGraph<V, E>();
+		for (int i = 0; i < order.length; i++){
+			relabelled.addVertex(graph.getVertexByIndex(order[i]));
+		}
+		long[] later = new long[16];
+		for (int i = 0; i < order.length; i++){
+			int u = order[i];
+			int deg = graph.getDegreeByIndex(u);
+			if (later.length < deg){
+				later = new long[Math.max(deg, 2*later.length)];
+			}
+			/* the edges towards vertices that come later (or self-loops), by new index */
+			int count = 0;
+			for (int p = 0; p < deg; p++){
+				int x = graph.getNeighborIndex(u, p);
+				if (rank[x] >= i){
+					later[count++] = ((long)rank[x] << 32) | p;
+				}
+			}
+			Arrays.sort(later, 0, count);
+			V vertex = graph.getVertexByIndex(u);
+			for (int k = 0; k < count; k++){
+				int p = (int)later[k];
+				relabelled.addEdge(graph.getEdgeByIndex(graph.getIncidentEdgeIndex(u, p)),
+						vertex, graph.getVertexByIndex(graph.getNeighborIndex(u, p)));
+			}
+		}
+		return relabelled;
+	}
+
+	/* The indices of the vertices of the graph, in increasing order. */
+	private static int[] getVertexIndices(IndexableGraph<?,?> graph){
+		IntArrayList vertices = new IntArrayList(graph.getVertexCount());
+		for (int v = 0; v < graph.getVertexIndexBound(); v++){
+			if (graph.containsVertexIndex(v)){
+				vertices.add(v);
+			}
+		}
+		return vertices.toArray();
+	}
+}
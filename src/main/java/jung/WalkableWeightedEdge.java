@@ -26,9 +26,9 @@ import bbound.NetworkTopologyMeasures;
 
 /**
  * WalkableWeightedEdge represents a weighted relation between two objects. 
- * In addition it supports the association of different network-based measures
- * with it (through a map) as well as a counter of times that a graph visiting
- * process goes through it.
+ * In addition it keeps a counter of times that a graph visiting process goes 
+ * through it. Network-based measures of the edge are kept by the graph (see
+ * EdgeAttributeStore) rather than by the edge.
  * 
  * @version	1.0 05/07/2013
  * @author Symeon Papadopoulos
@@ -44,10 +44,10 @@ public class WalkableWeightedEdge {
 	private int timesVisited = 0;
 	
 	/*
-	 * Map that associates values with network topology measures.
+	 * Map that associates values with network topology measures; only created by
+	 * setNetworkTopologyMeasure().
 	 */
-	private Map<NetworkTopologyMeasures, Double> associatedValues = 
-		new HashMap<NetworkTopologyMeasures, Double>();
+	private Map<NetworkTopologyMeasures, Double> associatedValues = null;
 	
 	public WalkableWeightedEdge(int freq){
 		this.frequency = freq;
@@ -70,10 +70,23 @@ public class WalkableWeightedEdge {
 		return timesVisited;
 	}
 	
+	/**
+	 * @deprecated The detectors and calculators no longer read values from the edge;
+	 * memoized measures are kept in the EdgeAttributeStore of the graph.
+	 */
+	@Deprecated
 	public void setNetworkTopologyMeasure(NetworkTopologyMeasures measure, double value){
+		if (associatedValues == null){
+			associatedValues = new HashMap<NetworkTopologyMeasures, Double>();
+		}
 		associatedValues.put(measure, value);
 	}
+	/**
+	 * @deprecated Memoized measures are kept in the EdgeAttributeStore of the graph; this
+	 * only returns the values given to setNetworkTopologyMeasure().
+	 */
+	@Deprecated
 	public Double getNetworkTopologyMeasure(NetworkTopologyMeasures measure){
-		return associatedValues.get(measure);
+		return (associatedValues == null) ? null : associatedValues.get(measure);
 	}
 }
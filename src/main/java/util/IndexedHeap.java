@@ -0,0 +1,253 @@
+/*
+  @(#) IndexedHeap.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Indexed d-ary min-heap of non-negative ints (e.g. vertex indices) with double keys, for
+ * the frontiers of the greedy community detectors. The position of each element in the heap
+ * is kept in an array indexed by the element, so membership and key lookups take constant
+ * time, and insertion, removal and key updates (in either direction) logarithmic time.
+ * Elements with equal keys are ordered by increasing element, so the order is deterministic.
+ *
+ * A d-ary heap is shallower than a binary one (log_d n levels), which makes key updates
+ * cheaper, at the cost of comparing d children when sifting down; d = 4 keeps the children
+ * of a node within a cache line.
+ *
+ * Clearing the heap takes time proportional to its size and keeps its capacity, so that it
+ * can be reused without further allocations. Instances are not thread-safe; they are meant
+ * to be kept per thread.
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class IndexedHeap {
+
+	public static final int DEFAULT_ARITY = 4;
+
+	private final int arity;
+
+	/* The elements and their keys, in heap order. */
+	private int[] elements;
+	private double[] keys;
+	private int size = 0;
+
+	/* Position of each element in the heap plus 1, 0 for elements not in the heap. */
+	private int[] positions;
+
+	public IndexedHeap(){
+		this(DEFAULT_ARITY);
+	}
+	public IndexedHeap(int arity){
+		if (arity < 2){
+			throw new IllegalArgumentException("The arity of the heap should be at least 2!");
+		}
+		this.arity = arity;
+		elements = new int[16];
+		keys = new double[16];
+		positions = new int[16];
+	}
+
+	/**
+	 * Remove all elements and make sure that elements up to bound (exclusive) can be added.
+	 * @param bound
+	 */
+	public void reset(int bound){
+		clear();
+		if (bound > positions.length){
+			positions = new int[Math.max(bound, 2*positions.length)];
+		}
+	}
+
+	public void clear(){
+		for (int i = 0; i < size; i++){
+			positions[elements[i]] = 0;
+		}
+		size = 0;
+	}
+
+	public int size(){
+		return size;
+	}
+
+	public boolean isEmpty(){
+		return size == 0;
+	}
+
+	public boolean contains(int element){
+		return element < positions.length && positions[element] > 0;
+	}
+
+	/**
+	 * @return The key of an element of the heap.
+	 */
+	public double getKey(int element){
+		if (!contains(element)){
+			throw new IllegalArgumentException("The element " + element + " is not in the heap!");
+		}
+		return keys[positions[element] - 1];
+	}
+
+	/**
+	 * @param i Position in the heap, less than its size; the positions do not follow the
+	 * order of the keys, but allow iterating over the elements.
+	 * @return The element at the position.
+	 */
+	public int getElement(int i){
+		if (i >= size){
+			throw new IndexOutOfBoundsException("Index: " + i + ", size: " + size);
+		}
+		return elements[i];
+	}
+
+	/**
+	 * Add an element, or update its key if it is already in the heap.
+	 */
+	public void update(int element, double key){
+		if (element < 0){
+			throw new IllegalArgumentException("Element should be non-negative: " + element + "!");
+		}
+		if (element >= positions.length){
+			positions = Arrays.copyOf(positions, Math.max(element + 1, 2*positions.length));
+		}
+		int position = positions[element] - 1;
+		if (position < 0){
+			if (size == elements.length){
+				elements = Arrays.copyOf(elements, 2*size);
+				keys = Arrays.copyOf(keys, 2*size);
+			}
+			position = size++;
+			place(element, key, position);
+			siftUp(position);
+			return;
+		}
+		double oldKey = keys[position];
+		keys[position] = key;
+		if (key < oldKey){
+			siftUp(position);
+		} else if (key > oldKey){
+			siftDown(position);
+		}
+	}
+
+	/**
+	 * @return The element with the smallest key.
+	 */
+	public int peek(){
+		if (size == 0){
+			throw new IllegalStateException("The heap is empty!");
+		}
+		return elements[0];
+	}
+
+	/**
+	 * Check whether the element with the smallest key is the only one with a key of at most
+	 * the given value, by looking at the children of the top only.
+	 * @return true if an element other than peek() has a key of at most bound
+	 */
+	public boolean hasOtherAtMost(double bound){
+		int last = Math.min(size - 1, arity);
+		for (int i = 1; i <= last; i++){
+			if (keys[i] <= bound){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Remove and return the element with the smallest key.
+	 */
+	public int poll(){
+		int top = peek();
+		remove(top);
+		return top;
+	}
+
+	/**
+	 * Remove an element.
+	 * @return true if the element was in the heap, false otherwise
+	 */
+	public boolean remove(int element){
+		if (!contains(element)){
+			return false;
+		}
+		int position = positions[element] - 1;
+		positions[element] = 0;
+		size--;
+		if (position < size){
+			/* move the last element into the hole and restore the order */
+			place(elements[size], keys[size], position);
+			siftUp(position);
+			siftDown(positions[elements[position]] - 1);
+		}
+		return true;
+	}
+
+	private void place(int element, double key, int position){
+		elements[position] = element;
+		keys[position] = key;
+		positions[element] = position + 1;
+	}
+
+	/* Whether the entry at position i should be above the entry at position j. */
+	private boolean precedes(int i, int j){
+		return keys[i] < keys[j] || (keys[i] == keys[j] && elements[i] < elements[j]);
+	}
+
+	private void siftUp(int position){
+		int element = elements[position];
+		double key = keys[position];
+		while (position > 0){
+			int parent = (position - 1) / arity;
+			if (keys[parent] < key || (keys[parent] == key && elements[parent] < element)){
+				break;
+			}
+			place(elements[parent], keys[parent], position);
+			position = parent;
+		}
+		place(element, key, position);
+	}
+
+	private void siftDown(int position){
+		while (true){
+			int first = arity * position + 1;
+			if (first >= size){
+				return;
+			}
+			int best = first;
+			int last = Math.min(first + arity, size);
+			for (int child = first + 1; child < last; child++){
+				if (precedes(child, best)){
+					best = child;
+				}
+			}
+			if (!precedes(best, position)){
+				return;
+			}
+			int element = elements[position];
+			double key = keys[position];
+			place(elements[best], keys[best], position);
+			place(element, key, best);
+			position = best;
+		}
+	}
+}
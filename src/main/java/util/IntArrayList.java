@@ -0,0 +1,90 @@
+/*
+  @(#) IntArrayList.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints, also usable as a stack. Clearing the list keeps 
+ * its capacity, so that it can be reused without further allocations.
+ * 
+ * @author Symeon Papadopoulos
+ *
+ */
+public class IntArrayList {
+
+	private int[] values;
+	private int size = 0;
+	
+	public IntArrayList(){
+		this(16);
+	}
+	public IntArrayList(int capacity){
+		values = new int[Math.max(1, capacity)];
+	}
+	
+	public void add(int value){
+		if (size == values.length){
+			values = Arrays.copyOf(values, 2*size);
+		}
+		values[size++] = value;
+	}
+	
+	public int get(int index){
+		if (index >= size){
+			throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+		}
+		return values[index];
+	}
+	
+	public void set(int index, int value){
+		if (index >= size){
+			throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+		}
+		values[index] = value;
+	}
+	
+	/**
+	 * Remove and return the last element of the list.
+	 * @return
+	 */
+	public int pop(){
+		if (size == 0){
+			throw new IllegalStateException("The list is empty!");
+		}
+		return values[--size];
+	}
+	
+	public int size(){
+		return size;
+	}
+	
+	public boolean isEmpty(){
+		return size == 0;
+	}
+	
+	public void clear(){
+		size = 0;
+	}
+	
+	public int[] toArray(){
+		return Arrays.copyOf(values, size);
+	}
+}
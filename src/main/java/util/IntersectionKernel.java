@@ -0,0 +1,230 @@
+/*
+  @(#) IntersectionKernel.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package util;
+
+/**
+ * Intersection of sets of vertex indices, represented as sorted arrays of distinct ints
+ * (with an explicit length) or as bitmaps. The strategy is picked per pair of sets:
+ * <ul>
+ * <li>two bitmaps are intersected word by word,</li>
+ * <li>a sorted array is probed against a bitmap,</li>
+ * <li>sorted arrays of very different lengths are intersected by galloping (exponential)
+ * search of the elements of the shorter array in the longer one, in
+ * O(n log(m/n)) time,</li>
+ * <li>sorted arrays of comparable lengths are merged, with a branch-free inner loop.</li>
+ * </ul>
+ * The variants that report the positions of the common elements only use sorted arrays.
+ *
+ * Two implementations of the merge are available, selected once at startup through the
+ * system property bbound.intersection: "blocked" (the default) compares blocks of four 
+ * elements of each array all-against-all, with 16 independent comparisons and a single
+ * data-dependent step per block, which the JIT compiles to straight-line code; "scalar" 
+ * advances one element at a time.
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class IntersectionKernel {
+
+	/* Length ratio above which galloping is preferred to merging. */
+	public static final int GALLOPING_RATIO = 32;
+
+	/* Name of the system property selecting the merge implementation. */
+	public static final String IMPLEMENTATION_PROPERTY = "bbound.intersection";
+
+	/* Whether the blocked merge is used. */
+	private static final boolean BLOCKED = 
+		!"scalar".equals(System.getProperty(IMPLEMENTATION_PROPERTY, "blocked"));
+
+	private IntersectionKernel(){
+	}
+
+	/**
+	 * Count the common elements of two sorted arrays.
+	 */
+	public static int count(int[] a, int lengthA, int[] b, int lengthB){
+		if (lengthA > lengthB){
+			return count(b, lengthB, a, lengthA);
+		}
+		if (lengthA == 0){
+			return 0;
+		}
+		if (lengthB / lengthA >= GALLOPING_RATIO){
+			return countGalloping(a, lengthA, b, lengthB);
+		}
+		return BLOCKED ? countBlockedMerge(a, lengthA, b, lengthB) : countMerge(a, lengthA, b, lengthB);
+	}
+
+	/**
+	 * @return The name of the merge implementation in use ("blocked" or "scalar").
+	 */
+	public static String getImplementation(){
+		return BLOCKED ? "blocked" : "scalar";
+	}
+
+	/**
+	 * Count the elements of a sorted array that are set in a bitmap.
+	 */
+	public static int count(int[] a, int lengthA, long[] bitmap){
+		int common = 0;
+		for (int i = 0; i < lengthA; i++){
+			int x = a[i];
+			int word = x >>> 6;
+			if (word < bitmap.length){
+				common += (int)((bitmap[word] >>> x) & 1L);
+			}
+		}
+		return common;
+	}
+
+	/**
+	 * Count the common bits of two bitmaps.
+	 */
+	public static int count(long[] a, long[] b){
+		int words = Math.min(a.length, b.length);
+		int common = 0;
+		for (int w = 0; w < words; w++){
+			common += Long.bitCount(a[w] & b[w]);
+		}
+		return common;
+	}
+
+	/**
+	 * Find the common elements of two sorted arrays.
+	 *
+	 * @param positionsA Receives the positions of the common elements in a.
+	 * @param positionsB Receives the positions of the common elements in b.
+	 * @return The number of common elements.
+	 */
+	public static int intersect(int[] a, int lengthA, int[] b, int lengthB,
+			IntArrayList positionsA, IntArrayList positionsB){
+		positionsA.clear();
+		positionsB.clear();
+		if (lengthA > lengthB){
+			return intersect(b, lengthB, a, lengthA, positionsB, positionsA);
+		}
+		if (lengthA == 0){
+			return 0;
+		}
+		if (lengthB / lengthA >= GALLOPING_RATIO){
+			int low = 0;
+			for (int i = 0; i < lengthA && low < lengthB; i++){
+				low = gallop(b, low, lengthB, a[i]);
+				if (low < lengthB && b[low] == a[i]){
+					positionsA.add(i);
+					positionsB.add(low);
+				}
+			}
+		} else {
+			int i = 0;
+			int j = 0;
+			while (i < lengthA && j < lengthB){
+				int x = a[i];
+				int y = b[j];
+				if (x == y){
+					positionsA.add(i);
+					positionsB.add(j);
+				}
+				i += (x <= y) ? 1 : 0;
+				j += (x >= y) ? 1 : 0;
+			}
+		}
+		return positionsA.size();
+	}
+
+	/**
+	 * Count the common elements of two sorted arrays by merging them one element at a time.
+	 */
+	public static int countMerge(int[] a, int lengthA, int[] b, int lengthB){
+		return countMerge(a, 0, lengthA, b, 0, lengthB, 0);
+	}
+
+	/**
+	 * Count the common elements of two sorted arrays by merging them in blocks of four
+	 * elements. Since the elements of each array are distinct, every common element is
+	 * matched in exactly one pair of blocks: the block with the smaller maximum cannot 
+	 * match any element of later blocks of the other array.
+	 */
+	public static int countBlockedMerge(int[] a, int lengthA, int[] b, int lengthB){
+		int i = 0;
+		int j = 0;
+		int common = 0;
+		while (i + 4 <= lengthA && j + 4 <= lengthB){
+			int a0 = a[i], a1 = a[i+1], a2 = a[i+2], a3 = a[i+3];
+			int b0 = b[j], b1 = b[j+1], b2 = b[j+2], b3 = b[j+3];
+			common += ((a0 == b0) ? 1 : 0) + ((a0 == b1) ? 1 : 0) + ((a0 == b2) ? 1 : 0) + ((a0 == b3) ? 1 : 0)
+					+ ((a1 == b0) ? 1 : 0) + ((a1 == b1) ? 1 : 0) + ((a1 == b2) ? 1 : 0) + ((a1 == b3) ? 1 : 0)
+					+ ((a2 == b0) ? 1 : 0) + ((a2 == b1) ? 1 : 0) + ((a2 == b2) ? 1 : 0) + ((a2 == b3) ? 1 : 0)
+					+ ((a3 == b0) ? 1 : 0) + ((a3 == b1) ? 1 : 0) + ((a3 == b2) ? 1 : 0) + ((a3 == b3) ? 1 : 0);
+			i += (a3 <= b3) ? 4 : 0;
+			j += (a3 >= b3) ? 4 : 0;
+		}
+		/* fewer than four elements are left in one of the arrays */
+		return countMerge(a, i, lengthA, b, j, lengthB, common);
+	}
+
+	private static int countMerge(int[] a, int i, int lengthA, int[] b, int j, int lengthB, int common){
+		while (i < lengthA && j < lengthB){
+			int x = a[i];
+			int y = b[j];
+			/* advance both sides on a match, otherwise the smaller one */
+			common += (x == y) ? 1 : 0;
+			i += (x <= y) ? 1 : 0;
+			j += (x >= y) ? 1 : 0;
+		}
+		return common;
+	}
+
+	private static int countGalloping(int[] a, int lengthA, int[] b, int lengthB){
+		int common = 0;
+		int low = 0;
+		for (int i = 0; i < lengthA && low < lengthB; i++){
+			low = gallop(b, low, lengthB, a[i]);
+			if (low < lengthB && b[low] == a[i]){
+				common++;
+			}
+		}
+		return common;
+	}
+
+	/* Position of the first element not smaller than the key in b[low..length), found by
+	 * exponential search followed by binary search. */
+	private static int gallop(int[] b, int low, int length, int key){
+		int step = 1;
+		int high = low;
+		while (high < length && b[high] < key){
+			low = high + 1;
+			high += step;
+			step <<= 1;
+		}
+		if (high > length){
+			high = length;
+		}
+		while (low < high){
+			int middle = (low + high) >>> 1;
+			if (b[middle] < key){
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+}
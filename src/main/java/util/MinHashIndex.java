@@ -0,0 +1,200 @@
+/*
+  @(#) MinHashIndex.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Locality-sensitive hashing index of sets of ints, for finding sets similar to a query set
+ * without comparing it to every indexed set.
+ *
+ * The signature of a set holds, for each of bands*rows hash functions, the minimum hash value
+ * of its elements (MinHash); two sets have the same minimum for a hash function with
+ * probability equal to their Jaccard similarity J. The signature is split into bands of
+ * consecutive rows, and an indexed set is a candidate for a query if they agree on all rows
+ * of at least one band, which happens with probability 1-(1-J^rows)^bands. E.g. with 20
+ * bands of 5 rows, sets with J = 0.9 are candidates with probability higher than 0.99999,
+ * while sets with J = 0.3 only with probability 0.05. Candidates should be verified exactly,
+ * since band keys are hashed and unrelated sets may occasionally collide.
+ *
+ * Computing signatures is thread-safe; adding sets and looking up candidates is not.
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class MinHashIndex {
+
+	private final int bands;
+	private final int rows;
+
+	/* Seeds of the hash functions. */
+	private final long[] seeds;
+
+	/* Ids of the indexed sets by band key. */
+	private final Map<Long, IntArrayList> buckets = new HashMap<Long, IntArrayList>();
+
+	private int size = 0;
+
+	/**
+	 * @param bands Number of bands of the signatures.
+	 * @param rows Number of hash values per band.
+	 * @param seed Seed of the hash functions.
+	 */
+	public MinHashIndex(int bands, int rows, long seed){
+		if (bands < 1 || rows < 1){
+			throw new IllegalArgumentException("The numbers of bands and rows should be positive!");
+		}
+		this.bands = bands;
+		this.rows = rows;
+		this.seeds = new long[bands*rows];
+		/* SplitMix64 sequence */
+		long state = seed;
+		for (int i = 0; i < seeds.length; i++){
+			state += 0x9E3779B97F4A7C15L;
+			seeds[i] = mix(state);
+		}
+	}
+
+	public int getNumberOfBands(){
+		return bands;
+	}
+	public int getNumberOfRows(){
+		return rows;
+	}
+
+	/**
+	 * @return The number of indexed sets.
+	 */
+	public int size(){
+		return size;
+	}
+
+	/**
+	 * Compute the MinHash signature of a set.
+	 * @param set Elements of the set (duplicates are allowed).
+	 * @param length Number of elements.
+	 * @return An array of bands*rows minimum hash values.
+	 */
+	public long[] getSignature(int[] set, int length){
+		long[] signature = new long[seeds.length];
+		for (int i = 0; i < signature.length; i++){
+			long seed = seeds[i];
+			long min = Long.MAX_VALUE;
+			for (int j = 0; j < length; j++){
+				long h = mix(set[j] ^ seed);
+				if (h < min){
+					min = h;
+				}
+			}
+			signature[i] = min;
+		}
+		return signature;
+	}
+
+	/**
+	 * Estimate the Jaccard similarity of two sets from their signatures.
+	 */
+	public static double estimateSimilarity(long[] signature1, long[] signature2){
+		if (signature1.length != signature2.length){
+			throw new IllegalArgumentException("The signatures should have the same length!");
+		}
+		int equal = 0;
+		for (int i = 0; i < signature1.length; i++){
+			if (signature1[i] == signature2[i]){
+				equal++;
+			}
+		}
+		return (double)equal / signature1.length;
+	}
+
+	/**
+	 * Find the indexed sets that share at least one band with the given signature.
+	 * @param signature Signature of the query set.
+	 * @param candidates Receives the distinct ids of the candidate sets (it is cleared first).
+	 */
+	public void getCandidates(long[] signature, IntArrayList candidates){
+		checkSignature(signature);
+		candidates.clear();
+		for (int b = 0; b < bands; b++){
+			IntArrayList bucket = buckets.get(getBandKey(signature, b));
+			if (bucket == null) continue;
+			for (int i = 0; i < bucket.size(); i++){
+				int id = bucket.get(i);
+				boolean found = false;
+				for (int j = 0; j < candidates.size() && !found; j++){
+					found = (candidates.get(j) == id);
+				}
+				if (!found){
+					candidates.add(id);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Index a set by its signature.
+	 * @param signature Signature of the set.
+	 * @return The id of the set, i.e. the number of sets indexed before it.
+	 */
+	public int add(long[] signature){
+		checkSignature(signature);
+		int id = size++;
+		for (int b = 0; b < bands; b++){
+			Long key = getBandKey(signature, b);
+			IntArrayList bucket = buckets.get(key);
+			if (bucket == null){
+				bucket = new IntArrayList(2);
+				buckets.put(key, bucket);
+			}
+			bucket.add(id);
+		}
+		return id;
+	}
+
+	public void clear(){
+		buckets.clear();
+		size = 0;
+	}
+
+	private void checkSignature(long[] signature){
+		if (signature.length != seeds.length){
+			throw new IllegalArgumentException("The signature should have " + seeds.length + " values!");
+		}
+	}
+
+	private long getBandKey(long[] signature, int band){
+		long key = band;
+		for (int r = band*rows; r < (band+1)*rows; r++){
+			key = mix(key * 0x9E3779B97F4A7C15L + signature[r]);
+		}
+		return key;
+	}
+
+	/* 64-bit mixing function (finalizer of MurmurHash3). */
+	private static long mix(long h){
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+}
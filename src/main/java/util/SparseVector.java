@@ -0,0 +1,172 @@
+/*
+  @(#) SparseVector.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Sparse vector of doubles indexed by non-negative ints (e.g. vertex indices), kept in an
+ * open-addressing hash table with linear probing, without boxing. Entries are never removed
+ * (they can be set to 0); they are listed in the order of their insertion, and clearing
+ * the vector takes time proportional to the number of entries and keeps its capacity, so
+ * that it can be reused without further allocations.
+ *
+ * Instances are not thread-safe; they are meant to be kept per thread.
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class SparseVector {
+
+	private static final int EMPTY = -1;
+
+	/* Hash table, of a power of 2 capacity, filled up to 1/2. */
+	private int[] keys;
+	private double[] values;
+	private int mask;
+	private int shift;
+
+	/* Table slots of the entries, in order of insertion. */
+	private int[] slots;
+	private int size = 0;
+
+	public SparseVector(){
+		this(16);
+	}
+	public SparseVector(int expectedSize){
+		int capacity = Integer.highestOneBit(Math.max(4, 2*expectedSize - 1)) << 1;
+		keys = new int[capacity];
+		Arrays.fill(keys, EMPTY);
+		values = new double[capacity];
+		mask = capacity - 1;
+		shift = Integer.numberOfLeadingZeros(mask);
+		slots = new int[capacity >>> 1];
+	}
+
+	/**
+	 * @return The number of entries.
+	 */
+	public int size(){
+		return size;
+	}
+
+	/**
+	 * @param i Position of an entry in the order of insertion.
+	 * @return The index of the entry.
+	 */
+	public int getIndex(int i){
+		if (i >= size){
+			throw new IndexOutOfBoundsException("Index: " + i + ", size: " + size);
+		}
+		return keys[slots[i]];
+	}
+
+	/**
+	 * @param i Position of an entry in the order of insertion.
+	 * @return The value of the entry.
+	 */
+	public double getValueAt(int i){
+		if (i >= size){
+			throw new IndexOutOfBoundsException("Index: " + i + ", size: " + size);
+		}
+		return values[slots[i]];
+	}
+
+	/**
+	 * @return The value at the given index, 0 if there is no entry for it.
+	 */
+	public double get(int index){
+		int slot = find(index);
+		return (keys[slot] == EMPTY) ? 0 : values[slot];
+	}
+
+	public boolean contains(int index){
+		return keys[find(index)] != EMPTY;
+	}
+
+	public void set(int index, double value){
+		/* insert first: it may replace the arrays */
+		int slot = insert(index);
+		values[slot] = value;
+	}
+
+	/**
+	 * Add a value to the value at the given index.
+	 * @return The new value.
+	 */
+	public double add(int index, double delta){
+		int slot = insert(index);
+		values[slot] += delta;
+		return values[slot];
+	}
+
+	public void clear(){
+		for (int i = 0; i < size; i++){
+			keys[slots[i]] = EMPTY;
+			values[slots[i]] = 0;
+		}
+		size = 0;
+	}
+
+	/* The slot of an index, or the empty slot where it would be inserted. */
+	private int find(int index){
+		if (index < 0){
+			throw new IllegalArgumentException("Index should be non-negative: " + index + "!");
+		}
+		/* Fibonacci hashing: the high bits of the product */
+		int slot = (index * 0x9E3779B9) >>> shift;
+		while (keys[slot] != EMPTY && keys[slot] != index){
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private int insert(int index){
+		int slot = find(index);
+		if (keys[slot] == EMPTY){
+			if (size == slots.length){
+				grow();
+				slot = find(index);
+			}
+			keys[slot] = index;
+			slots[size++] = slot;
+		}
+		return slot;
+	}
+
+	private void grow(){
+		int[] oldKeys = keys;
+		double[] oldValues = values;
+		int[] oldSlots = slots;
+		int capacity = 2*oldKeys.length;
+		keys = new int[capacity];
+		Arrays.fill(keys, EMPTY);
+		values = new double[capacity];
+		mask = capacity - 1;
+		shift = Integer.numberOfLeadingZeros(mask);
+		slots = new int[capacity >>> 1];
+		for (int i = 0; i < size; i++){
+			int slot = find(oldKeys[oldSlots[i]]);
+			keys[slot] = oldKeys[oldSlots[i]];
+			values[slot] = oldValues[oldSlots[i]];
+			slots[i] = slot;
+		}
+	}
+}
@@ -0,0 +1,90 @@
+/*
+  @(#) VertexMarker.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Set of vertex indices that can be cleared in constant time. Each slot stores the 
+ * epoch in which it was last marked, so clearing amounts to starting a new epoch. 
+ * This allows a traversal to reuse the same marker across calls instead of allocating 
+ * a visited set (or a boolean array as large as the graph) each time.
+ * 
+ * Instances are not thread-safe; they are meant to be kept per thread.
+ * 
+ * @author Symeon Papadopoulos
+ *
+ */
+public class VertexMarker {
+
+	private int[] stamps;
+	private int epoch = 1;
+	
+	public VertexMarker(){
+		this(16);
+	}
+	public VertexMarker(int capacity){
+		stamps = new int[Math.max(1, capacity)];
+	}
+	
+	/**
+	 * Unmark all indices and make sure that indices up to bound (exclusive) can be marked.
+	 * @param bound
+	 */
+	public void reset(int bound){
+		if (bound > stamps.length){
+			stamps = new int[Math.max(bound, 2*stamps.length)];
+			epoch = 1;
+			return;
+		}
+		if (epoch == Integer.MAX_VALUE){
+			Arrays.fill(stamps, 0);
+			epoch = 0;
+		}
+		epoch++;
+	}
+	
+	/**
+	 * Mark an index.
+	 * @param index
+	 * @return true if the index was not marked before, false otherwise
+	 */
+	public boolean mark(int index){
+		if (stamps[index] == epoch){
+			return false;
+		}
+		stamps[index] = epoch;
+		return true;
+	}
+	
+	public boolean isMarked(int index){
+		return stamps[index] == epoch;
+	}
+	
+	public void unmark(int index){
+		if (stamps[index] == epoch){
+			stamps[index] = 0;
+		}
+	}
+	
+	public int capacity(){
+		return stamps.length;
+	}
+}
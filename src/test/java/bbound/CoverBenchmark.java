@@ -0,0 +1,81 @@
+/*
+  @(#) CoverBenchmark.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import graph.SyntheticGraphFactory;
+import graph.CommunityCover;
+import jung.IndexableUndirectedSparseGraph;
+import jung.StringIndexableVertex;
+import jung.WalkableWeightedEdge;
+
+/**
+ * Compares the seed selection strategies of CoverBuilder on a graph with planted communities
+ * (see SyntheticGraphFactory): running time, number of detections, skipped seeds and dropped
+ * near-duplicates, and the estimated work saved by skipping seeds.
+ *
+ * Usage: CoverBenchmark [BB|LWP|CLAUSET] [vertices] [community size] [threads]
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class CoverBenchmark {
+
+	public static void main(String[] args) {
+		String method = args.length > 0 ? args[0] : "BB";
+		int numVertices = args.length > 1 ? Integer.parseInt(args[1]) : 100000;
+		int communitySize = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+		int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+		IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph =
+			SyntheticGraphFactory.generateShuffledCommunityGraph(numVertices, communitySize, 42);
+		System.out.println("Vertices: " + graph.getVertexCount() + ", edges: " + graph.getEdgeCount() +
+				", threads: " + threads);
+
+		BudgetedCommunityDetector<StringIndexableVertex, WalkableWeightedEdge> detector;
+		if (method.equals("LWP")){
+			detector = new LWPCommunityDetector<StringIndexableVertex, WalkableWeightedEdge>();
+		} else if (method.equals("CLAUSET")){
+			detector = new ClausetCommunityDetector<StringIndexableVertex, WalkableWeightedEdge>();
+		} else {
+			detector = new BridgeBoundingDetector<StringIndexableVertex, WalkableWeightedEdge>(NetworkTopologyMeasures.ELB, 0.8);
+		}
+
+		CoverBuilder.SeedSelection[] selections = CoverBuilder.SeedSelection.values();
+		for (int i = 0; i < selections.length; i++){
+			if (selections[i] == CoverBuilder.SeedSelection.DEGREE && !method.equals("BB")){
+				/* a detection from every vertex takes too long for the greedy methods */
+				continue;
+			}
+			CoverBuilder<StringIndexableVertex, WalkableWeightedEdge> builder =
+				new CoverBuilder<StringIndexableVertex, WalkableWeightedEdge>(detector);
+			builder.setNumberOfThreads(threads);
+			builder.setSeedSelection(selections[i]);
+			graph.getEdgeAttributes().clear();
+			long start = System.nanoTime();
+			CommunityCover<StringIndexableVertex, WalkableWeightedEdge> cover = builder.build(graph);
+			long nanos = System.nanoTime() - start;
+			System.out.println(String.format("%-16s %9.1f ms, %7d detections, %7d skipped, %6d duplicates, " +
+					"%5.1f%% of estimated work saved, %s",
+					selections[i], nanos/1e6, builder.getDetections(), builder.getSkippedSeeds(),
+					builder.getDuplicates(), 100.0*builder.getEstimatedSavings()/Math.max(1, builder.getEstimatedCost()),
+					cover));
+		}
+	}
+}
@@ -0,0 +1,397 @@
+/*
+  @(#) GreedyDetectorCheck.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import graph.Community;
+import graph.SyntheticGraphFactory;
+import jung.IndexableUndirectedSparseGraph;
+import jung.StringIndexableVertex;
+import jung.WalkableWeightedEdge;
+
+/**
+ * Checks the greedy detectors, whose candidates are kept in indexed heaps, against plain
+ * scans of their candidate sets (the original formulation of each method): Bagrow, LWP
+ * (in hash order, exhaustive and lazy) and Clauset (sequential and scored in parallel)
+ * should find the same communities as the reference scans, on a graph with planted
+ * communities (see SyntheticGraphFactory), from single seeds and from pairs of seeds of
+ * the same planted community. Throws an IllegalStateException at the first mismatch.
+ *
+ * Usage: GreedyDetectorCheck [vertices] [seeds]
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class GreedyDetectorCheck {
+
+	private static final int BAGROW_MAX_SIZE = 500;
+	private static final int CLAUSET_TARGET_SIZE = 100;
+
+	public static void main(String[] args) {
+		int numVertices = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+		int numSeeds = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+		int communitySize = 50;
+
+		IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph =
+			SyntheticGraphFactory.generateShuffledCommunityGraph(numVertices, communitySize, 42);
+
+		BagrowCommunityDetector<StringIndexableVertex, WalkableWeightedEdge> bagrow =
+			new BagrowCommunityDetector<StringIndexableVertex, WalkableWeightedEdge>();
+		LWPCommunityDetector<StringIndexableVertex, WalkableWeightedEdge> lwp =
+			new LWPCommunityDetector<StringIndexableVertex, WalkableWeightedEdge>();
+		LWPCommunityDetector<StringIndexableVertex, WalkableWeightedEdge> lazyLwp =
+			new LWPCommunityDetector<StringIndexableVertex, WalkableWeightedEdge>();
+		lazyLwp.setLazy(true);
+		ClausetCommunityDetector<StringIndexableVertex, WalkableWeightedEdge> clauset =
+			new ClausetCommunityDetector<StringIndexableVertex, WalkableWeightedEdge>();
+		ClausetCommunityDetector<StringIndexableVertex, WalkableWeightedEdge> parallelClauset =
+			new ClausetCommunityDetector<StringIndexableVertex, WalkableWeightedEdge>();
+		parallelClauset.setParallelThreshold(1);
+		parallelClauset.setChunkSize(16);
+
+		Random random = new Random(7);
+		int multiSeed = 0;
+		for (int s = 0; s < numSeeds; s++){
+			int i = random.nextInt(numVertices);
+			List<StringIndexableVertex> seeds = new ArrayList<StringIndexableVertex>();
+			seeds.add(graph.getVertex("v" + i));
+			if (s % 4 == 3){
+				int j = Math.min((i / communitySize) * communitySize + random.nextInt(communitySize), numVertices-1);
+				if (j != i){
+					seeds.add(graph.getVertex("v" + j));
+					multiSeed++;
+				}
+			}
+			compare("Bagrow", seeds, bagrow.getCommunity(graph, seeds), scanBagrow(graph, seeds));
+			Community<StringIndexableVertex, WalkableWeightedEdge> expected = scanLWP(graph, seeds, lwp);
+			compare("LWP", seeds, lwp.getCommunity(graph, seeds), expected);
+			compare("Lazy LWP", seeds, lazyLwp.getCommunity(graph, seeds), expected);
+			expected = scanClauset(graph, seeds);
+			compare("Clauset", seeds, clauset.getCommunity(graph, seeds), expected);
+			compare("Parallel Clauset", seeds, parallelClauset.getCommunity(graph, seeds), expected);
+		}
+		System.out.println("Greedy detectors: " + numSeeds + " seed sets (" + multiSeed +
+				" with two seeds), OK");
+	}
+
+	private static void compare(String name, List<StringIndexableVertex> seeds,
+			Community<StringIndexableVertex, WalkableWeightedEdge> community,
+			Community<StringIndexableVertex, WalkableWeightedEdge> expected){
+		if (!new HashSet<String>(community.getMembers()).equals(new HashSet<String>(expected.getMembers()))){
+			throw new IllegalStateException(name + ": the community of " + seeds + " has " +
+					community.getNumberOfMembers() + " members instead of the " + expected.getNumberOfMembers() +
+					" of the reference scan, or different ones!");
+		}
+	}
+
+	/* Bagrow: the first candidate in hash order with all its neighbours in the community,
+	 * or else the first one of minimum outwardness, until Mout reaches a local minimum. */
+	private static Community<StringIndexableVertex, WalkableWeightedEdge> scanBagrow(
+			IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph,
+			Collection<StringIndexableVertex> seeds){
+		Community<StringIndexableVertex, WalkableWeightedEdge> C =
+			new Community<StringIndexableVertex, WalkableWeightedEdge>(1, graph);
+		for (StringIndexableVertex seed : seeds){
+			C.addMember(seed);
+		}
+		Set<StringIndexableVertex> U = new HashSet<StringIndexableVertex>();
+		for (StringIndexableVertex seed : seeds){
+			for (StringIndexableVertex neighbour : getNeighbourList(graph, seed)){
+				if (!C.contains(neighbour)){
+					U.add(neighbour);
+				}
+			}
+		}
+		int Mprev = 0;
+		int countCusps = 0;
+		int prevTendency = 1;
+		while (C.getNumberOfMembers() < BAGROW_MAX_SIZE && countCusps < 2){
+			double minOutwardness = 1;
+			StringIndexableVertex selected = null;
+			for (StringIndexableVertex candidate : U){
+				int k = graph.getDegreeByIndex(graph.getVertexIndex(candidate));
+				int kin = 0;
+				for (StringIndexableVertex neighbour : graph.getNeighbors(candidate)){
+					if (C.contains(neighbour)){
+						kin++;
+					}
+				}
+				double outwardness = 1.0 - ((2.0*kin)/(double)k);
+				if (outwardness < -0.999999){
+					selected = candidate;
+					break;
+				} else if (outwardness < minOutwardness){
+					minOutwardness = outwardness;
+					selected = candidate;
+				}
+			}
+			if (selected == null) break;
+			C.addMember(selected);
+			U.remove(selected);
+			for (StringIndexableVertex neighbour : getNeighbourList(graph, selected)){
+				if (!C.contains(neighbour)){
+					U.add(neighbour);
+				}
+			}
+			int m = 0;
+			for (String id : C.getMembers()){
+				for (StringIndexableVertex neighbour : graph.getNeighbors(graph.getVertex(id))){
+					if (!C.contains(neighbour)){
+						m++;
+					}
+				}
+			}
+			int tendency = (m > Mprev) ? 1 : 0;
+			if (tendency != prevTendency){
+				countCusps++;
+				prevTendency = tendency;
+			}
+			Mprev = m;
+			if (countCusps > 1){
+				C.removeMember(selected);
+				break;
+			}
+		}
+		return C;
+	}
+
+	/* LWP: try every vertex of the neighbour set in hash order, keeping the additions that
+	 * increase the modularity, then delete the members whose removal increases it and keeps
+	 * the community connected, until no vertex is added. */
+	private static Community<StringIndexableVertex, WalkableWeightedEdge> scanLWP(
+			IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph,
+			Collection<StringIndexableVertex> seeds,
+			LWPCommunityDetector<StringIndexableVertex, WalkableWeightedEdge> modularity){
+		Community<StringIndexableVertex, WalkableWeightedEdge> community =
+			new Community<StringIndexableVertex, WalkableWeightedEdge>(1, graph);
+		for (StringIndexableVertex seed : seeds){
+			community.addMember(seed);
+		}
+		List<StringIndexableVertex> seedNeighbours = new ArrayList<StringIndexableVertex>();
+		for (StringIndexableVertex seed : seeds){
+			for (StringIndexableVertex neighbour : graph.getNeighbors(seed)){
+				if (!community.contains(neighbour)){
+					seedNeighbours.add(neighbour);
+				}
+			}
+		}
+		Set<StringIndexableVertex> neighbourSet = new HashSet<StringIndexableVertex>(seedNeighbours);
+		Set<StringIndexableVertex> Q;
+		do {
+			Q = new HashSet<StringIndexableVertex>();
+			double lastModularity = modularity.getLWPModularity(community);
+			Set<StringIndexableVertex> added = new HashSet<StringIndexableVertex>();
+			for (StringIndexableVertex uj : neighbourSet){
+				community.addMember(uj);
+				double newModularity = modularity.getLWPModularity(community);
+				if (newModularity > lastModularity){
+					lastModularity = newModularity;
+					Q.add(uj);
+					added.add(uj);
+				} else {
+					community.removeMember(uj);
+				}
+			}
+			neighbourSet.removeAll(added);
+			Set<StringIndexableVertex> deleted;
+			do {
+				deleted = new HashSet<StringIndexableVertex>();
+				List<String> ids = community.getMembers();
+				for (int i = 0; i < ids.size(); i++){
+					community.removeMemberByID(ids.get(i));
+					double newModularity = modularity.getLWPModularity(community);
+					if (newModularity > lastModularity && community.isConnected()){
+						lastModularity = newModularity;
+						StringIndexableVertex vi = graph.getVertex(ids.get(i));
+						deleted.add(vi);
+						Q.remove(vi);
+					} else {
+						community.addMemberByID(ids.get(i));
+					}
+				}
+			} while (!deleted.isEmpty());
+			for (StringIndexableVertex q : Q){
+				for (StringIndexableVertex neighbour : getNeighbourList(graph, q)){
+					if (!community.contains(neighbour)){
+						neighbourSet.add(neighbour);
+					}
+				}
+			}
+		} while (!Q.isEmpty());
+
+		for (StringIndexableVertex seed : seeds){
+			if (!community.contains(seed)){
+				return new Community<StringIndexableVertex, WalkableWeightedEdge>(1, graph);
+			}
+		}
+		if (modularity.getLWPModularity(community) <= 0.0){
+			return new Community<StringIndexableVertex, WalkableWeightedEdge>(1, graph);
+		}
+		return community;
+	}
+
+	/* Clauset (unweighted): score every candidate of U, in the order in which they entered
+	 * it, and add the first one of maximum DR, until the target size is reached or no
+	 * candidate increases R in 10 consecutive steps. */
+	private static Community<StringIndexableVertex, WalkableWeightedEdge> scanClauset(
+			IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph,
+			Collection<StringIndexableVertex> seeds){
+		Community<StringIndexableVertex, WalkableWeightedEdge> C =
+			new Community<StringIndexableVertex, WalkableWeightedEdge>(1, graph);
+		for (StringIndexableVertex seed : seeds){
+			C.addMember(seed);
+		}
+		List<StringIndexableVertex> U = new ArrayList<StringIndexableVertex>();
+		List<StringIndexableVertex> B = new ArrayList<StringIndexableVertex>();
+		for (StringIndexableVertex seed : seeds){
+			boolean border = false;
+			for (StringIndexableVertex neighbour : getNeighbourList(graph, seed)){
+				if (C.contains(neighbour)) continue;
+				border = true;
+				if (!U.contains(neighbour)){
+					U.add(neighbour);
+				}
+			}
+			if (border && !B.contains(seed)){
+				B.add(seed);
+			}
+		}
+		double I = 0;
+		double T = 0;
+		for (StringIndexableVertex b : B){
+			int borderIndex = graph.getVertexIndex(b);
+			for (StringIndexableVertex neighbour : getNeighbourList(graph, b)){
+				if (B.contains(neighbour) && graph.getVertexIndex(neighbour) < borderIndex) continue;
+				T++;
+				if (C.contains(neighbour)){
+					I++;
+				}
+			}
+		}
+		double R = (T > 0) ? I / T : 0.0;
+
+		int noProgressIter = 0;
+		while (C.getNumberOfMembers() < CLAUSET_TARGET_SIZE && noProgressIter < 10){
+			double maxDeltaI = 0;
+			double maxDeltaT = 0;
+			double maxDeltaR = 0.0;
+			int maxInd = -1;
+			for (int i = 0; i < U.size(); i++){
+				StringIndexableVertex candidate = U.get(i);
+				Set<StringIndexableVertex> extendedFrontier = new HashSet<StringIndexableVertex>();
+				double connsOut = 0;
+				double candidateStrength = 0;
+				for (StringIndexableVertex neighbour : getNeighbourList(graph, candidate)){
+					candidateStrength++;
+					if (!C.contains(neighbour) && !B.contains(neighbour)){
+						if (!U.contains(neighbour)){
+							extendedFrontier.add(neighbour);
+						}
+						connsOut++;
+					}
+				}
+				/* the border nodes left without neighbours in U */
+				Set<StringIndexableVertex> toBeRemoved = new HashSet<StringIndexableVertex>();
+				for (StringIndexableVertex b : B){
+					boolean remains = false;
+					for (StringIndexableVertex neighbour : getNeighbourList(graph, b)){
+						if ((U.contains(neighbour) || extendedFrontier.contains(neighbour)) && !neighbour.equals(candidate)){
+							remains = true;
+							break;
+						}
+					}
+					if (!remains){
+						toBeRemoved.add(b);
+					}
+				}
+				if (connsOut == 0){
+					toBeRemoved.add(candidate);
+				}
+				double kickedoutIn = 0;
+				for (StringIndexableVertex removed : toBeRemoved){
+					for (StringIndexableVertex neighbour : getNeighbourList(graph, removed)){
+						if (C.contains(neighbour) || toBeRemoved.contains(neighbour)){
+							kickedoutIn++;
+						}
+					}
+				}
+				double connsIn = candidateStrength - connsOut;
+				double deltaI = connsIn - kickedoutIn;
+				double deltaT = connsOut + connsIn - kickedoutIn;
+				double deltaR = ((deltaI + I) / (deltaT + T)) - R;
+				if (deltaR > maxDeltaR){
+					maxDeltaR = deltaR;
+					maxInd = i;
+					maxDeltaI = deltaI;
+					maxDeltaT = deltaT;
+				}
+			}
+			if (maxInd < 0){
+				noProgressIter++;
+				continue;
+			}
+			noProgressIter = 0;
+
+			StringIndexableVertex toAdd = U.remove(maxInd);
+			for (StringIndexableVertex neighbour : getNeighbourList(graph, toAdd)){
+				if (!C.contains(neighbour) && !U.contains(neighbour)){
+					U.add(neighbour);
+				}
+			}
+			C.addMember(toAdd);
+			B.add(toAdd);
+			for (Iterator<StringIndexableVertex> it = B.iterator(); it.hasNext();){
+				boolean remains = false;
+				for (StringIndexableVertex neighbour : getNeighbourList(graph, it.next())){
+					if (U.contains(neighbour)){
+						remains = true;
+						break;
+					}
+				}
+				if (!remains){
+					it.remove();
+				}
+			}
+			R += maxDeltaR;
+			T += maxDeltaT;
+			I += maxDeltaI;
+		}
+		return C;
+	}
+
+	/* The neighbours of a vertex, in increasing order of index. */
+	private static List<StringIndexableVertex> getNeighbourList(
+			IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph, StringIndexableVertex v){
+		int index = graph.getVertexIndex(v);
+		int degree = graph.getDegreeByIndex(index);
+		List<StringIndexableVertex> neighbours = new ArrayList<StringIndexableVertex>(degree);
+		for (int p = 0; p < degree; p++){
+			neighbours.add(graph.getVertexByIndex(graph.getNeighborIndex(index, p)));
+		}
+		return neighbours;
+	}
+}
@@ -0,0 +1,152 @@
+/*
+  @(#) IncrementalMeasuresCheck.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import graph.SyntheticGraphFactory;
+import jung.EdgeAttributeStore;
+import jung.IndexableUndirectedSparseGraph;
+import jung.StringIndexableVertex;
+import jung.WalkableWeightedEdge;
+
+/**
+ * Checks IncrementalMeasuresMaintainer under a stream of edge updates: random edges are
+ * inserted into and removed from a graph with planted communities (see
+ * SyntheticGraphFactory) whose measures are memoized, in batches. After each batch, every
+ * value of the maintained graph (kept by the maintainer, or recomputed from the values it
+ * kept) is compared with a fresh calculation on a copy of the graph, and so are the Bridge
+ * Bounding communities of a few seed nodes. Throws an IllegalStateException at the first
+ * mismatch.
+ *
+ * Usage: IncrementalMeasuresCheck [vertices] [batches] [updates per batch]
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class IncrementalMeasuresCheck {
+
+	private static final EdgeMeasure[] MEASURES = {NetworkTopologyMeasures.ELB, NetworkTopologyMeasures.ELB2,
+		NetworkTopologyMeasures.WELB, NetworkTopologyMeasures.WELB2};
+
+	public static void main(String[] args) {
+		int numVertices = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+		int numBatches = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+		int batchSize = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+		int communitySize = 50;
+
+		IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph =
+			SyntheticGraphFactory.generateShuffledCommunityGraph(numVertices, communitySize, 42);
+		IncrementalMeasuresMaintainer<StringIndexableVertex, WalkableWeightedEdge> maintainer =
+			new IncrementalMeasuresMaintainer<StringIndexableVertex, WalkableWeightedEdge>(graph, NetworkTopologyMeasures.ELB);
+		NetworkTopologyMeasuresCalculator<StringIndexableVertex, WalkableWeightedEdge> calculator =
+			new NetworkTopologyMeasuresCalculator<StringIndexableVertex, WalkableWeightedEdge>(graph, MEASURES);
+		calculator.calculateAllMeasures();
+		List<WalkableWeightedEdge> edges = new ArrayList<WalkableWeightedEdge>(graph.getEdges());
+
+		Random random = new Random(3);
+		long kept = 0;
+		long recomputed = 0;
+		for (int batch = 0; batch < numBatches; batch++){
+			for (int u = 0; u < batchSize; u++){
+				if (random.nextBoolean()){
+					int position = random.nextInt(edges.size());
+					graph.removeEdge(edges.get(position));
+					edges.set(position, edges.get(edges.size()-1));
+					edges.remove(edges.size()-1);
+				} else {
+					/* half of the new edges inside a planted community */
+					int i = random.nextInt(numVertices);
+					int j = random.nextBoolean() ? (i / communitySize) * communitySize + random.nextInt(communitySize) :
+						random.nextInt(numVertices);
+					StringIndexableVertex v1 = graph.getVertex("v" + i);
+					StringIndexableVertex v2 = graph.getVertex("v" + Math.min(j, numVertices-1));
+					if (SyntheticGraphFactory.addEdge(graph, v1, v2)){
+						edges.add(graph.findEdge(v1, v2));
+					}
+				}
+			}
+
+			IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> copy = copy(graph);
+			NetworkTopologyMeasuresCalculator<StringIndexableVertex, WalkableWeightedEdge> fresh =
+				new NetworkTopologyMeasuresCalculator<StringIndexableVertex, WalkableWeightedEdge>(copy, MEASURES);
+			for (int m = 0; m < MEASURES.length; m++){
+				EdgeAttributeStore.Column column = graph.getEdgeAttributes().getColumn(MEASURES[m]);
+				for (int e = 0; e < graph.getEdgeIndexBound(); e++){
+					if (graph.getEdgeByIndex(e) == null) continue;
+					if (column.contains(e)){
+						kept++;
+					} else {
+						recomputed++;
+					}
+					/* the values that were discarded are recomputed, so the next batch starts
+					 * with all the values memoized */
+					double value = calculator.getValue(MEASURES[m], e);
+					WalkableWeightedEdge copyEdge = copy.findEdge(
+							copy.getVertex(graph.getVertexByIndex(graph.getFirstEndpointIndex(e)).getID()),
+							copy.getVertex(graph.getVertexByIndex(graph.getSecondEndpointIndex(e)).getID()));
+					double expected = fresh.getValue(MEASURES[m], copy.getEdgeIndex(copyEdge));
+					if (Math.abs(value - expected) > 1e-9 * Math.max(1, Math.abs(expected))){
+						throw new IllegalStateException("Batch " + batch + ": " + MEASURES[m] + " of edge " +
+								graph.getEndpoints(graph.getEdgeByIndex(e)) + " is " + value + " instead of " + expected + "!");
+					}
+				}
+			}
+			for (int s = 0; s < 10; s++){
+				String seed = "v" + random.nextInt(numVertices);
+				for (int m = 0; m < 2; m++){
+					BridgeBoundingDetector<StringIndexableVertex, WalkableWeightedEdge> detector =
+						new BridgeBoundingDetector<StringIndexableVertex, WalkableWeightedEdge>(MEASURES[m], 0.8);
+					HashSet<String> maintained = new HashSet<String>(detector.getCommunity(graph, graph.getVertex(seed)).getMembers());
+					HashSet<String> expected = new HashSet<String>(detector.getCommunity(copy, copy.getVertex(seed)).getMembers());
+					if (!maintained.equals(expected)){
+						throw new IllegalStateException("Batch " + batch + ": the " + MEASURES[m] +
+								" community of " + seed + " differs from the one on a fresh copy!");
+					}
+				}
+			}
+		}
+		System.out.println("IncrementalMeasuresMaintainer: " + maintainer.getNumberOfUpdates() + " updates in " +
+				numBatches + " batches, " + kept + " values kept and " + recomputed + " recomputed, OK");
+	}
+
+	/* Copy of the graph without memoized values; its edge indices differ from those of the
+	 * original once edges have been removed. */
+	private static IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> copy(
+			IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph){
+		IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> copy =
+			new IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge>();
+		for (int v = 0; v < graph.getVertexIndexBound(); v++){
+			StringIndexableVertex vertex = graph.getVertexByIndex(v);
+			if (vertex != null){
+				copy.addVertex(new StringIndexableVertex(vertex.getID()));
+			}
+		}
+		for (WalkableWeightedEdge edge : graph.getEdges()){
+			copy.addEdge(new WalkableWeightedEdge((int)graph.getEdgeWeightByIndex(graph.getEdgeIndex(edge))),
+					copy.getVertex(graph.getEndpoints(edge).getFirst().getID()),
+					copy.getVertex(graph.getEndpoints(edge).getSecond().getID()));
+		}
+		return copy;
+	}
+}
@@ -0,0 +1,160 @@
+/*
+  @(#) IntersectionBenchmark.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import graph.SyntheticGraphFactory;
+import jung.IndexableUndirectedSparseGraph;
+import jung.StringIndexableVertex;
+import jung.WalkableWeightedEdge;
+import util.VertexMarker;
+
+/**
+ * Compares three ways of computing the ELB of all edges of a graph (without memoization):
+ * <ul>
+ * <li>hashset: the original calculateElb(), which copies the neighbourhood of one endpoint
+ * into a HashSet and looks up the neighbours of the other endpoint,</li>
+ * <li>marker: marking the neighbour indices of one endpoint and scanning the neighbour
+ * indices of the other one,</li>
+ * <li>kernel: IndexableGraph.countCommonNeighbors(), i.e. the IntersectionKernel.</li>
+ * </ul>
+ * The benchmark runs on a graph with hubs (see SyntheticGraphFactory) and on a sparse random graph.
+ *
+ * Usage: IntersectionBenchmark [vertices] [hubs] [hub degree] [rounds]
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class IntersectionBenchmark {
+
+	private static final String[] STRATEGIES = {"hashset", "marker", "kernel"};
+
+	public static void benchmark(IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph,
+			int rounds){
+		List<WalkableWeightedEdge> edges = new ArrayList<WalkableWeightedEdge>(graph.getEdges());
+		int[] edgeIndices = new int[edges.size()];
+		for (int i = 0; i < edges.size(); i++){
+			edgeIndices[i] = graph.getEdgeIndex(edges.get(i));
+		}
+		System.out.println("Vertices: " + graph.getVertexCount() + ", edges: " + graph.getEdgeCount());
+
+		long[] nanos = new long[STRATEGIES.length];
+		double[] checksums = new double[STRATEGIES.length];
+		/* first round for warm-up */
+		for (int round = 0; round <= rounds; round++){
+			for (int s = 0; s < STRATEGIES.length; s++){
+				long start = System.nanoTime();
+				double checksum = 0.0;
+				if (s == 0){
+					for (int i = 0; i < edges.size(); i++){
+						checksum += defined(hashSetElb(graph, edges.get(i)));
+					}
+				} else if (s == 1){
+					VertexMarker marker = new VertexMarker();
+					for (int i = 0; i < edgeIndices.length; i++){
+						checksum += defined(markerElb(graph, marker, edgeIndices[i]));
+					}
+				} else {
+					for (int i = 0; i < edgeIndices.length; i++){
+						checksum += defined(kernelElb(graph, edgeIndices[i]));
+					}
+				}
+				if (round > 0){
+					nanos[s] += System.nanoTime() - start;
+				}
+				checksums[s] = checksum;
+			}
+		}
+		for (int s = 0; s < STRATEGIES.length; s++){
+			System.out.println(String.format("%-8s %9.1f ms (speedup %5.1fx), sum of ELB %.4f", STRATEGIES[s],
+					nanos[s]/1e6/rounds, (double)nanos[0]/nanos[s], checksums[s]));
+		}
+	}
+
+	/* ELB is undefined (NaN) for edges with an endpoint of degree 1. */
+	private static double defined(double elb){
+		return Double.isNaN(elb) ? 0.0 : elb;
+	}
+
+	/* The original calculateElb(). */
+	private static double hashSetElb(IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph,
+			WalkableWeightedEdge edge){
+		StringIndexableVertex v1 = graph.getEndpoints(edge).getFirst();
+		StringIndexableVertex v2 = graph.getEndpoints(edge).getSecond();
+		int deg1 = graph.degree(v1);
+		int deg2 = graph.degree(v2);
+		int denominator = Math.min(deg1-1, deg2-1);
+		if (denominator == 1){
+			return 1.0;
+		}
+		Set<StringIndexableVertex> neighborhood1Set = new HashSet<StringIndexableVertex>(graph.getNeighbors(v1));
+		List<StringIndexableVertex> neighborhood2 = new ArrayList<StringIndexableVertex>(graph.getNeighbors(v2));
+		int countCommon = 0;
+		for (int i = 0; i < neighborhood2.size(); i++) {
+			if (neighborhood1Set.contains(neighborhood2.get(i))){
+				countCommon++;
+			}
+		}
+		return (1.0-(double)countCommon / (double)denominator);
+	}
+
+	private static double markerElb(IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph,
+			VertexMarker marker, int edgeIndex){
+		int v1 = graph.getFirstEndpointIndex(edgeIndex);
+		int v2 = graph.getSecondEndpointIndex(edgeIndex);
+		int deg1 = graph.getDegreeByIndex(v1);
+		int deg2 = graph.getDegreeByIndex(v2);
+		marker.reset(graph.getVertexIndexBound());
+		for (int p = 0; p < deg1; p++){
+			marker.mark(graph.getNeighborIndex(v1, p));
+		}
+		int countCommon = 0;
+		for (int p = 0; p < deg2; p++){
+			if (marker.isMarked(graph.getNeighborIndex(v2, p))){
+				countCommon++;
+			}
+		}
+		return NetworkTopologyMeasuresCalculator.getElb(countCommon, deg1, deg2);
+	}
+
+	private static double kernelElb(IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph,
+			int edgeIndex){
+		int v1 = graph.getFirstEndpointIndex(edgeIndex);
+		int v2 = graph.getSecondEndpointIndex(edgeIndex);
+		return NetworkTopologyMeasuresCalculator.getElb(graph.countCommonNeighbors(v1, v2),
+				graph.getDegreeByIndex(v1), graph.getDegreeByIndex(v2));
+	}
+
+	public static void main(String[] args) {
+		int numVertices = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		int numHubs = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+		int hubDegree = args.length > 2 ? Integer.parseInt(args[2]) : 5000;
+		int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+
+		System.out.println("Graph with hubs");
+		benchmark(SyntheticGraphFactory.generateHubGraph(numVertices, numHubs, hubDegree, 42), rounds);
+		System.out.println("Sparse random graph");
+		benchmark(SyntheticGraphFactory.generateHubGraph(numVertices, 0, 0, 42), rounds);
+	}
+}
@@ -0,0 +1,128 @@
+/*
+  @(#) LazyEvaluationBenchmark.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import graph.SyntheticGraphFactory;
+import jung.IndexableUndirectedSparseGraph;
+import jung.StringIndexableVertex;
+import jung.WalkableWeightedEdge;
+
+/**
+ * Compares the exhaustive and the lazy evaluation of the candidates (see the setLazy
+ * methods of ClausetCommunityDetector and LWPCommunityDetector) on a graph with planted
+ * communities (see SyntheticGraphFactory): time, evaluated candidates (visited vertices) and
+ * edges per seed node of both, their F1 score against the planted community of the seed 
+ * node (vertex "v" + i belongs to community i / community size), and the fraction of seed
+ * nodes for which they detect the same community.
+ *
+ * Usage: LazyEvaluationBenchmark [vertices] [community size] [seeds]
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class LazyEvaluationBenchmark {
+
+	public static void benchmark(String name, BudgetedCommunityDetector<StringIndexableVertex, WalkableWeightedEdge> exhaustive,
+			BudgetedCommunityDetector<StringIndexableVertex, WalkableWeightedEdge> lazy,
+			IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph, List<String> seeds,
+			int communitySize){
+		/* first round for warm-up */
+		for (int round = 0; round < 2; round++){
+			long exhaustiveNanos = 0, lazyNanos = 0;
+			long exhaustiveVisited = 0, lazyVisited = 0;
+			long exhaustiveEdges = 0, lazyEdges = 0;
+			double exhaustiveF1 = 0, lazyF1 = 0;
+			int same = 0;
+			for (int s = 0; s < seeds.size(); s++){
+				StringIndexableVertex seed = graph.getVertex(seeds.get(s));
+				long start = System.nanoTime();
+				DetectionBudget exhaustiveBudget = new DetectionBudget();
+				Set<String> exhaustiveMembers = new HashSet<String>(exhaustive.getCommunity(graph, seed, exhaustiveBudget).getMembers());
+				long middle = System.nanoTime();
+				DetectionBudget lazyBudget = new DetectionBudget();
+				Set<String> lazyMembers = new HashSet<String>(lazy.getCommunity(graph, seed, lazyBudget).getMembers());
+				long end = System.nanoTime();
+				exhaustiveNanos += middle - start;
+				lazyNanos += end - middle;
+				exhaustiveVisited += exhaustiveBudget.getVisitedVertices();
+				lazyVisited += lazyBudget.getVisitedVertices();
+				exhaustiveEdges += exhaustiveBudget.getEvaluatedEdges();
+				lazyEdges += lazyBudget.getEvaluatedEdges();
+				int planted = Integer.parseInt(seeds.get(s).substring(1)) / communitySize;
+				exhaustiveF1 += SyntheticGraphFactory.getF1(exhaustiveMembers, planted, communitySize);
+				lazyF1 += SyntheticGraphFactory.getF1(lazyMembers, planted, communitySize);
+				if (exhaustiveMembers.equals(lazyMembers)) same++;
+			}
+			int n = seeds.size();
+			if (round > 0){
+				System.out.println(String.format("%-8s exhaustive %8.3f ms/seed, %6d visited, %9d edges, F1 %.3f; " +
+						"lazy %8.3f ms/seed, %6d visited, %9d edges, F1 %.3f; same community %.3f", name,
+						exhaustiveNanos/1e6/n, exhaustiveVisited/n, exhaustiveEdges/n, exhaustiveF1/n,
+						lazyNanos/1e6/n, lazyVisited/n, lazyEdges/n, lazyF1/n, (double)same/n));
+			}
+		}
+	}
+
+	public static void main(String[] args) {
+		int numVertices = args.length > 0 ? Integer.parseInt(args[0]) : 50000;
+		int communitySize = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+		int numSeeds = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+
+		IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph =
+			SyntheticGraphFactory.generateShuffledCommunityGraph(numVertices, communitySize, 42);
+		System.out.println("Vertices: " + graph.getVertexCount() + ", edges: " + graph.getEdgeCount());
+		Random random = new Random(7);
+		List<String> seeds = new ArrayList<String>(numSeeds);
+		for (int i = 0; i < numSeeds; i++){
+			seeds.add("v" + random.nextInt(numVertices));
+		}
+
+		ClausetCommunityDetector<StringIndexableVertex, WalkableWeightedEdge> clauset =
+			new ClausetCommunityDetector<StringIndexableVertex, WalkableWeightedEdge>();
+		clauset.setTargetCommunityMembers(communitySize);
+		ClausetCommunityDetector<StringIndexableVertex, WalkableWeightedEdge> lazyClauset =
+			new ClausetCommunityDetector<StringIndexableVertex, WalkableWeightedEdge>();
+		lazyClauset.setTargetCommunityMembers(communitySize);
+		lazyClauset.setLazy(true);
+		benchmark("Clauset", clauset, lazyClauset, graph, seeds, communitySize);
+
+		LWPCommunityDetector<StringIndexableVertex, WalkableWeightedEdge> lazyLWP =
+			new LWPCommunityDetector<StringIndexableVertex, WalkableWeightedEdge>();
+		lazyLWP.setLazy(true);
+		benchmark("LWP", new LWPCommunityDetector<StringIndexableVertex, WalkableWeightedEdge>(),
+				lazyLWP, graph, seeds, communitySize);
+
+		/* with the addition steps in order of links (see LWPCommunityDetector.setLinkOrder) */
+		LWPCommunityDetector<StringIndexableVertex, WalkableWeightedEdge> linkLWP =
+			new LWPCommunityDetector<StringIndexableVertex, WalkableWeightedEdge>();
+		linkLWP.setLinkOrder(true);
+		LWPCommunityDetector<StringIndexableVertex, WalkableWeightedEdge> lazyLinkLWP =
+			new LWPCommunityDetector<StringIndexableVertex, WalkableWeightedEdge>();
+		lazyLinkLWP.setLinkOrder(true);
+		lazyLinkLWP.setLazy(true);
+		benchmark("LWP/link", linkLWP, lazyLinkLWP, graph, seeds, communitySize);
+	}
+}
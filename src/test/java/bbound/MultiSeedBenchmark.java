@@ -0,0 +1,114 @@
+/*
+  @(#) MultiSeedBenchmark.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import graph.SyntheticGraphFactory;
+import jung.IndexableUndirectedSparseGraph;
+import jung.StringIndexableVertex;
+import jung.WalkableWeightedEdge;
+
+/**
+ * Compares a single multi-seed expansion (see MultiSeedCommunityDetector) with the union
+ * of one expansion per seed node, on a graph with planted communities (see
+ * SyntheticGraphFactory) where vertex "v<i>" belongs to the planted community i / community
+ * size: time and evaluated edges per query, and F1 score against the planted community of
+ * the seed nodes, which are drawn from the same planted community.
+ *
+ * Usage: MultiSeedBenchmark [vertices] [community size] [seeds per query] [queries]
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class MultiSeedBenchmark {
+
+	public static void benchmark(String name, MultiSeedCommunityDetector<StringIndexableVertex, WalkableWeightedEdge> detector,
+			IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph,
+			int communitySize, int numSeeds, int numQueries){
+		int numCommunities = graph.getVertexCount() / communitySize;
+		/* first round for warm-up */
+		for (int round = 0; round < 2; round++){
+			Random random = new Random(5);
+			double multiF1 = 0, unionF1 = 0;
+			long multiEdges = 0, unionEdges = 0;
+			long multiNanos = 0, unionNanos = 0;
+			for (int q = 0; q < numQueries; q++){
+				int planted = random.nextInt(numCommunities);
+				List<StringIndexableVertex> seeds = new ArrayList<StringIndexableVertex>();
+				for (int s = 0; s < numSeeds; s++){
+					seeds.add(graph.getVertex("v" + (planted * communitySize + random.nextInt(communitySize))));
+				}
+				long start = System.nanoTime();
+				DetectionBudget budget = new DetectionBudget();
+				List<String> members = detector.getCommunity(graph, seeds, budget).getMembers();
+				long middle = System.nanoTime();
+				multiEdges += budget.getEvaluatedEdges();
+				multiF1 += SyntheticGraphFactory.getF1(members, planted, communitySize);
+
+				Set<String> union = new HashSet<String>();
+				for (int s = 0; s < numSeeds; s++){
+					budget = new DetectionBudget();
+					union.addAll(detector.getCommunity(graph, seeds.get(s), budget).getMembers());
+					unionEdges += budget.getEvaluatedEdges();
+				}
+				long end = System.nanoTime();
+				unionF1 += SyntheticGraphFactory.getF1(union, planted, communitySize);
+				multiNanos += middle - start;
+				unionNanos += end - middle;
+			}
+			if (round > 0){
+				System.out.println(String.format("%-14s multi-seed %8.3f ms/query, %9d edges/query, F1 %.3f; " +
+						"union %8.3f ms/query, %9d edges/query, F1 %.3f", name,
+						multiNanos/1e6/numQueries, multiEdges/numQueries, multiF1/numQueries,
+						unionNanos/1e6/numQueries, unionEdges/numQueries, unionF1/numQueries));
+			}
+		}
+	}
+
+	public static void main(String[] args) {
+		int numVertices = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+		int communitySize = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+		int numSeeds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+		int numQueries = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+
+		IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph =
+			SyntheticGraphFactory.generateShuffledCommunityGraph(numVertices, communitySize, 42);
+		System.out.println("Vertices: " + graph.getVertexCount() + ", edges: " + graph.getEdgeCount());
+
+		benchmark("BridgeBounding",
+				new BridgeBoundingDetector<StringIndexableVertex, WalkableWeightedEdge>(NetworkTopologyMeasures.ELB, 0.8),
+				graph, communitySize, numSeeds, numQueries);
+		ClausetCommunityDetector<StringIndexableVertex, WalkableWeightedEdge> clauset =
+			new ClausetCommunityDetector<StringIndexableVertex, WalkableWeightedEdge>();
+		clauset.setTargetCommunityMembers(communitySize);
+		benchmark("Clauset", clauset, graph, communitySize, numSeeds, numQueries);
+		benchmark("Bagrow", new BagrowCommunityDetector<StringIndexableVertex, WalkableWeightedEdge>(),
+				graph, communitySize, numSeeds, numQueries);
+		benchmark("LWP", new LWPCommunityDetector<StringIndexableVertex, WalkableWeightedEdge>(),
+				graph, communitySize, numSeeds, numQueries);
+		benchmark("HeatKernel", new DiffusionCommunityDetector<StringIndexableVertex, WalkableWeightedEdge>(),
+				graph, communitySize, numSeeds, numQueries);
+	}
+}
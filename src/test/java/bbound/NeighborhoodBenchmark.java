@@ -0,0 +1,81 @@
+/*
+  @(#) NeighborhoodBenchmark.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import java.util.Random;
+
+import graph.SyntheticGraphFactory;
+import edu.uci.ics.jung.algorithms.filters.KNeighborhoodFilter;
+import jung.IndexableUndirectedSparseGraph;
+import jung.StringIndexableVertex;
+import jung.WalkableWeightedEdge;
+
+/**
+ * Compares the k-hop neighborhoods of NeighborhoodDetector (sequential and parallel
+ * traversal) with the extraction of the neighborhood graph by JUNG's KNeighborhoodFilter,
+ * on a graph with planted communities (see SyntheticGraphFactory).
+ *
+ * Usage: NeighborhoodBenchmark [vertices] [seeds] [max hops]
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class NeighborhoodBenchmark {
+
+	public static void main(String[] args) {
+		int numVertices = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+		int numSeeds = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+		int maxHops = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+		IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph =
+			SyntheticGraphFactory.generateShuffledCommunityGraph(numVertices, 50, 42);
+		System.out.println("Vertices: " + graph.getVertexCount() + ", edges: " + graph.getEdgeCount());
+		NeighborhoodDetector<StringIndexableVertex, WalkableWeightedEdge> detector =
+			new NeighborhoodDetector<StringIndexableVertex, WalkableWeightedEdge>();
+
+		for (int hops = 1; hops <= maxHops; hops++){
+			detector.setNumberOfHops(hops);
+			long filterNanos = 0, sequentialNanos = 0, parallelNanos = 0;
+			long mismatches = 0;
+			Random random = new Random(7);
+			for (int s = 0; s < numSeeds; s++){
+				StringIndexableVertex seed = graph.getVertex("v" + random.nextInt(numVertices));
+				long start = System.nanoTime();
+				int members = new KNeighborhoodFilter<StringIndexableVertex, WalkableWeightedEdge>(seed, hops,
+						KNeighborhoodFilter.EdgeType.IN_OUT).transform(graph).getVertexCount();
+				long middle = System.nanoTime();
+				detector.setParallelThreshold(NeighborhoodDetector.UNLIMITED);
+				int sequential = detector.getCommunity(graph, seed).getNumberOfMembers();
+				long end = System.nanoTime();
+				detector.setParallelThreshold(1);
+				int parallel = detector.getCommunity(graph, seed).getNumberOfMembers();
+				long last = System.nanoTime();
+				/* differences in the sizes of the neighborhoods */
+				mismatches += Math.abs(members - sequential) + Math.abs(sequential - parallel);
+				filterNanos += middle - start;
+				sequentialNanos += end - middle;
+				parallelNanos += last - end;
+			}
+			System.out.println(String.format("%d hops: filter %8.1f ms, sequential %8.1f ms, parallel %8.1f ms%s",
+					hops, filterNanos/1e6, sequentialNanos/1e6, parallelNanos/1e6,
+					(mismatches == 0) ? "" : " (sizes differ!)"));
+		}
+	}
+}
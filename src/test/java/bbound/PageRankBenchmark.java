@@ -0,0 +1,108 @@
+/*
+  @(#) PageRankBenchmark.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import java.util.List;
+import java.util.Random;
+
+import graph.Community;
+import graph.SyntheticGraphFactory;
+import jung.IndexableUndirectedSparseGraph;
+import jung.StringIndexableVertex;
+import jung.WalkableWeightedEdge;
+
+/**
+ * Compares PageRankCommunityDetector and the heat kernel diffusion of
+ * DiffusionCommunityDetector with BridgeBoundingDetector on a graph with planted
+ * communities (see SyntheticGraphFactory), where vertex "v<i>" belongs to the planted community
+ * i / community size: time and evaluated edges per seed, and F1 score of the detected
+ * communities against the planted ones.
+ *
+ * Usage: PageRankBenchmark [vertices] [community size] [seeds]
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class PageRankBenchmark {
+
+	public static void benchmark(String name, BudgetedCommunityDetector<StringIndexableVertex, WalkableWeightedEdge> detector,
+			IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph,
+			int communitySize, int numSeeds){
+		int numVertices = graph.getVertexCount();
+		/* first round for warm-up */
+		for (int round = 0; round < 2; round++){
+			Random random = new Random(5);
+			double f1 = 0;
+			long members = 0;
+			long edges = 0;
+			long start = System.nanoTime();
+			for (int s = 0; s < numSeeds; s++){
+				int i = random.nextInt(numVertices);
+				DetectionBudget budget = new DetectionBudget();
+				Community<StringIndexableVertex, WalkableWeightedEdge> community =
+					detector.getCommunity(graph, graph.getVertex("v" + i), budget);
+				edges += budget.getEvaluatedEdges();
+				List<String> ids = community.getMembers();
+				int correct = 0;
+				for (int k = 0; k < ids.size(); k++){
+					if (Integer.parseInt(ids.get(k).substring(1)) / communitySize == i / communitySize){
+						correct++;
+					}
+				}
+				int plantedSize = Math.min(communitySize, numVertices - (i / communitySize) * communitySize);
+				f1 += (correct == 0) ? 0 : 2.0 * correct / (ids.size() + plantedSize);
+				members += ids.size();
+			}
+			long nanos = System.nanoTime() - start;
+			if (round > 0){
+				System.out.println(String.format("%-28s %7.3f ms/seed, %9d edges/seed, %6.1f members, F1 %.3f",
+						name, nanos/1e6/numSeeds, edges/numSeeds, (double)members/numSeeds, f1/numSeeds));
+			}
+		}
+	}
+
+	public static void main(String[] args) {
+		int numVertices = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+		int communitySize = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+		int numSeeds = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+
+		IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph =
+			SyntheticGraphFactory.generateShuffledCommunityGraph(numVertices, communitySize, 42);
+		System.out.println("Vertices: " + graph.getVertexCount() + ", edges: " + graph.getEdgeCount());
+
+		benchmark("BridgeBounding (ELB, 0.8)",
+				new BridgeBoundingDetector<StringIndexableVertex, WalkableWeightedEdge>(NetworkTopologyMeasures.ELB, 0.8),
+				graph, communitySize, numSeeds);
+		double[][] parameters = {{0.15, 1e-4}, {0.05, 1e-5}};
+		for (int i = 0; i < parameters.length; i++){
+			benchmark("PageRank (" + parameters[i][0] + ", " + parameters[i][1] + ")",
+					new PageRankCommunityDetector<StringIndexableVertex, WalkableWeightedEdge>(parameters[i][0], parameters[i][1]),
+					graph, communitySize, numSeeds);
+		}
+		double[] temperatures = {5, 10};
+		for (int i = 0; i < temperatures.length; i++){
+			DiffusionCommunityDetector<StringIndexableVertex, WalkableWeightedEdge> detector =
+				new DiffusionCommunityDetector<StringIndexableVertex, WalkableWeightedEdge>();
+			detector.setTemperature(temperatures[i]);
+			benchmark("HeatKernel (" + temperatures[i] + ", " + detector.getEpsilon() + ")",
+					detector, graph, communitySize, numSeeds);
+		}
+	}
+}
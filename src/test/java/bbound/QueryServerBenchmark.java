@@ -0,0 +1,132 @@
+/*
+  @(#) QueryServerBenchmark.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import graph.SyntheticGraphFactory;
+import jung.IndexableUndirectedSparseGraph;
+import jung.StringIndexableVertex;
+import jung.WalkableWeightedEdge;
+
+/**
+ * Sends a mix of fast (PageRank) and slow (LWP, registered as heavy) queries from several
+ * concurrent clients to a CommunityQueryServer on a graph with planted communities (see
+ * SyntheticGraphFactory), then prints the number of responses per status code, the total
+ * time, and the statistics reported by the server.
+ *
+ * Usage: QueryServerBenchmark [vertices] [community size] [queries] [clients] [timeout (ms)]
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class QueryServerBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int numVertices = args.length > 0 ? Integer.parseInt(args[0]) : 50000;
+		int communitySize = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+		final int numQueries = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+		int numClients = args.length > 3 ? Integer.parseInt(args[3]) : 32;
+		final int timeout = args.length > 4 ? Integer.parseInt(args[4]) : 200;
+
+		final IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph =
+			SyntheticGraphFactory.generateShuffledCommunityGraph(numVertices, communitySize, 42);
+		System.out.println("Vertices: " + graph.getVertexCount() + ", edges: " + graph.getEdgeCount());
+
+		CommunityQueryServer<StringIndexableVertex, WalkableWeightedEdge> server =
+			new CommunityQueryServer<StringIndexableVertex, WalkableWeightedEdge>(graph);
+		server.addDetector("pagerank", new PageRankCommunityDetector<StringIndexableVertex, WalkableWeightedEdge>(), false);
+		server.addDetector("lwp", new LWPCommunityDetector<StringIndexableVertex, WalkableWeightedEdge>(), true);
+		server.setMaxHeavyQueries(2);
+		server.start(0);
+		final String base = "http://localhost:" + server.getPort();
+
+		final AtomicIntegerArray statuses = new AtomicIntegerArray(600);
+		ExecutorService clients = Executors.newFixedThreadPool(numClients);
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+		for (int c = 0; c < numClients; c++){
+			final Random random = new Random(c);
+			/* the first numQueries % numClients clients send one more query */
+			final int queries = numQueries / numClients + ((c < numQueries % numClients) ? 1 : 0);
+			tasks.add(new Callable<Void>(){
+				public Void call() throws IOException {
+					for (int q = 0; q < queries; q++){
+						/* one query in ten is a slow one */
+						String detector = (random.nextInt(10) == 0) ? "lwp" : "pagerank";
+						String seed = "v" + random.nextInt(graph.getVertexCount());
+						statuses.incrementAndGet(get(base + "/community?detector=" + detector +
+								"&seed=" + seed + "&timeout=" + timeout, null));
+					}
+					return null;
+				}
+			});
+		}
+		long start = System.nanoTime();
+		List<Future<Void>> results = clients.invokeAll(tasks);
+		for (int t = 0; t < results.size(); t++){
+			results.get(t).get();
+		}
+		long end = System.nanoTime();
+		clients.shutdown();
+
+		StringBuilder counts = new StringBuilder();
+		int numResponses = 0;
+		for (int status = 0; status < statuses.length(); status++){
+			if (statuses.get(status) > 0){
+				counts.append(" ").append(status).append(": ").append(statuses.get(status));
+				numResponses += statuses.get(status);
+			}
+		}
+		System.out.println(String.format("%d responses%s, in %.1f ms", numResponses, counts, (end - start) / 1e6));
+		StringBuilder stats = new StringBuilder();
+		get(base + "/stats", stats);
+		System.out.println(stats);
+		server.stop(0);
+	}
+
+	/* Send a GET request and return its status code; the body is appended if given. */
+	private static int get(String url, StringBuilder body) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection)new URL(url).openConnection();
+		int status = connection.getResponseCode();
+		InputStream in = (status < 400) ? connection.getInputStream() : connection.getErrorStream();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		for (int read; in != null && (read = in.read(buffer)) > 0;){
+			bytes.write(buffer, 0, read);
+		}
+		if (in != null) in.close();
+		if (body != null){
+			body.append(bytes.toString("UTF-8"));
+		}
+		return status;
+	}
+}
@@ -0,0 +1,101 @@
+/*
+  @(#) ReorderingBenchmark.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import graph.SyntheticGraphFactory;
+import jung.IndexableUndirectedSparseGraph;
+import jung.StringIndexableVertex;
+import jung.VertexOrdering;
+import jung.WalkableWeightedEdge;
+
+/**
+ * Measures the effect of vertex reordering (see VertexOrdering) on the bulk ELB computation
+ * and on Bridge Bounding detection. The input graph has planted communities, and its
+ * vertices are loaded in random order, so that the load order carries no locality (see
+ * SyntheticGraphFactory).
+ *
+ * Usage: ReorderingBenchmark [vertices] [community size] [seeds] [rounds]
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class ReorderingBenchmark {
+
+	public static void benchmark(String name, IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph,
+			List<String> seeds, int rounds){
+		BridgeBoundingDetector<StringIndexableVertex, WalkableWeightedEdge> detector =
+			new BridgeBoundingDetector<StringIndexableVertex, WalkableWeightedEdge>(NetworkTopologyMeasures.ELB, 0.8);
+		NetworkTopologyMeasuresCalculator<StringIndexableVertex, WalkableWeightedEdge> calculator =
+			new NetworkTopologyMeasuresCalculator<StringIndexableVertex, WalkableWeightedEdge>(graph, NetworkTopologyMeasures.ELB);
+		long bulkNanos = 0;
+		long detectionNanos = 0;
+		long members = 0;
+		/* first round for warm-up */
+		for (int round = 0; round <= rounds; round++){
+			graph.getEdgeAttributes().clear();
+			long start = System.nanoTime();
+			calculator.calculateAllMeasures();
+			long middle = System.nanoTime();
+			/* detection with lazily computed measures */
+			graph.getEdgeAttributes().clear();
+			members = 0;
+			for (int i = 0; i < seeds.size(); i++){
+				members += detector.getCommunity(graph, graph.getVertex(seeds.get(i))).getNumberOfMembers();
+			}
+			long end = System.nanoTime();
+			if (round > 0){
+				bulkNanos += middle - start;
+				detectionNanos += end - middle;
+			}
+		}
+		System.out.println(String.format("%-22s bulk ELB %8.1f ms, detection %8.1f ms (%d members)",
+				name, bulkNanos/1e6/rounds, detectionNanos/1e6/rounds, members));
+	}
+
+	public static void main(String[] args) {
+		int numVertices = args.length > 0 ? Integer.parseInt(args[0]) : 500000;
+		int communitySize = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+		int numSeeds = args.length > 2 ? Integer.parseInt(args[2]) : 5000;
+		int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+
+		IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph =
+			SyntheticGraphFactory.generateShuffledCommunityGraph(numVertices, communitySize, 42);
+		System.out.println("Vertices: " + graph.getVertexCount() + ", edges: " + graph.getEdgeCount());
+		Random random = new Random(7);
+		List<String> seeds = new ArrayList<String>(numSeeds);
+		for (int i = 0; i < numSeeds; i++){
+			seeds.add("v" + random.nextInt(numVertices));
+		}
+
+		benchmark("load order", graph, seeds, rounds);
+		VertexOrdering[] orderings = VertexOrdering.values();
+		for (int i = 0; i < orderings.length; i++){
+			long start = System.nanoTime();
+			IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> relabelled =
+				orderings[i].relabel(graph);
+			System.out.println(String.format("%s: relabelled in %.1f ms", orderings[i], (System.nanoTime()-start)/1e6));
+			benchmark(orderings[i].toString(), relabelled, seeds, rounds);
+		}
+	}
+}
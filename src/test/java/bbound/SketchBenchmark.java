@@ -0,0 +1,122 @@
+/*
+  @(#) SketchBenchmark.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import graph.SyntheticGraphFactory;
+import jung.IndexableUndirectedSparseGraph;
+import jung.StringIndexableVertex;
+import jung.WalkableWeightedEdge;
+
+/**
+ * Compares the exact ELB values of the edges incident to hubs with the values estimated
+ * from neighbourhood sketches (ApproximateElb), reporting the estimation error and the
+ * speedup for a number of sketch sizes.
+ *
+ * Usage: SketchBenchmark [vertices] [hubs] [hub degree] [degree threshold]
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class SketchBenchmark {
+
+	public static void benchmark(IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph,
+			int degreeThreshold, int[] sketchSizes){
+		/* the edges incident to hubs */
+		List<WalkableWeightedEdge> hubEdges = new ArrayList<WalkableWeightedEdge>();
+		for (int e = 0; e < graph.getEdgeIndexBound(); e++){
+			if (graph.getEdgeByIndex(e) == null) continue;
+			int deg1 = graph.getDegreeByIndex(graph.getFirstEndpointIndex(e));
+			int deg2 = graph.getDegreeByIndex(graph.getSecondEndpointIndex(e));
+			if (Math.max(deg1, deg2) >= degreeThreshold){
+				hubEdges.add(graph.getEdgeByIndex(e));
+			}
+		}
+		System.out.println("Vertices: " + graph.getVertexCount() + ", edges: " + graph.getEdgeCount() +
+				", hub edges: " + hubEdges.size());
+
+		/* exact values (warm-up round first) */
+		double[] exact = new double[hubEdges.size()];
+		long exactNanos = 0;
+		for (int round = 0; round < 2; round++){
+			graph.getEdgeAttributes().clear();
+			NetworkTopologyMeasuresCalculator<StringIndexableVertex, WalkableWeightedEdge> calculator =
+				new NetworkTopologyMeasuresCalculator<StringIndexableVertex, WalkableWeightedEdge>(
+						graph, NetworkTopologyMeasures.ELB);
+			long start = System.nanoTime();
+			for (int i = 0; i < hubEdges.size(); i++){
+				exact[i] = calculator.calculateMeasure(hubEdges.get(i));
+			}
+			exactNanos = System.nanoTime() - start;
+		}
+		System.out.println(String.format("exact:  %8.1f ms", exactNanos/1e6));
+
+		for (int s = 0; s < sketchSizes.length; s++){
+			long approximateNanos = 0;
+			double sumError = 0.0;
+			double maxError = 0.0;
+			int estimated = 0;
+			for (int round = 0; round < 2; round++){
+				graph.getEdgeAttributes().clear();
+				NeighbourhoodSketches<StringIndexableVertex, WalkableWeightedEdge> sketches =
+					new NeighbourhoodSketches<StringIndexableVertex, WalkableWeightedEdge>(
+							graph, sketchSizes[s], degreeThreshold);
+				NetworkTopologyMeasuresCalculator<StringIndexableVertex, WalkableWeightedEdge> calculator =
+					new NetworkTopologyMeasuresCalculator<StringIndexableVertex, WalkableWeightedEdge>(
+							graph, new ApproximateElb(sketches));
+				long start = System.nanoTime();
+				double[] approximate = new double[hubEdges.size()];
+				for (int i = 0; i < hubEdges.size(); i++){
+					approximate[i] = calculator.calculateMeasure(hubEdges.get(i));
+				}
+				approximateNanos = System.nanoTime() - start;
+				/* only the edges between two hubs are estimated, the rest are exact */
+				sumError = 0.0;
+				maxError = 0.0;
+				estimated = 0;
+				for (int i = 0; i < hubEdges.size(); i++){
+					int e = graph.getEdgeIndex(hubEdges.get(i));
+					if (!sketches.isEstimated(graph.getFirstEndpointIndex(e), graph.getSecondEndpointIndex(e))) continue;
+					double error = Math.abs(approximate[i] - exact[i]);
+					sumError += error;
+					maxError = Math.max(maxError, error);
+					estimated++;
+				}
+				sketches.detach();
+			}
+			System.out.println(String.format("k=%-5d %8.1f ms (speedup %.1fx), %d estimated edges, ELB error: mean %.4f, max %.4f",
+					sketchSizes[s], approximateNanos/1e6, (double)exactNanos/approximateNanos, estimated,
+					sumError/Math.max(1, estimated), maxError));
+		}
+	}
+
+	public static void main(String[] args) {
+		int numVertices = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		int numHubs = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+		int hubDegree = args.length > 2 ? Integer.parseInt(args[2]) : 5000;
+		int degreeThreshold = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+
+		IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph =
+			SyntheticGraphFactory.generateHubGraph(numVertices, numHubs, hubDegree, 42);
+		benchmark(graph, degreeThreshold, new int[]{64, 256, 1024});
+	}
+}
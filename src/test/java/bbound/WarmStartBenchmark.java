@@ -0,0 +1,142 @@
+/*
+  @(#) WarmStartBenchmark.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package bbound;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import graph.SyntheticGraphFactory;
+import graph.Community;
+import jung.IndexableUndirectedSparseGraph;
+import jung.StringIndexableVertex;
+import jung.WalkableWeightedEdge;
+
+/**
+ * Compares cold and warm starts (see WarmStartCommunityDetector) on a slightly changed
+ * graph: the communities of the seed nodes are detected on a graph with planted communities
+ * (see SyntheticGraphFactory), then again on a copy of the graph where a fraction of the edges
+ * has been removed and as many random edges added, once from the seed nodes alone and once
+ * from the previous communities. Reports the time and work per seed node of both, the
+ * Jaccard similarity of their results, and that of the cold start and the previous result
+ * (how much the communities changed).
+ *
+ * Usage: WarmStartBenchmark [vertices] [community size] [changed edges (%)] [seeds]
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class WarmStartBenchmark {
+
+	public static void benchmark(String name, WarmStartCommunityDetector<StringIndexableVertex, WalkableWeightedEdge> detector,
+			IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> previousGraph,
+			IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph, List<String> seeds){
+		List<Community<StringIndexableVertex, WalkableWeightedEdge>> previous =
+			new ArrayList<Community<StringIndexableVertex, WalkableWeightedEdge>>(seeds.size());
+		for (int s = 0; s < seeds.size(); s++){
+			previous.add(detector.getCommunity(previousGraph, previousGraph.getVertex(seeds.get(s))));
+		}
+		/* first round for warm-up */
+		for (int round = 0; round < 2; round++){
+			long coldNanos = 0, warmNanos = 0;
+			long coldVisited = 0, warmVisited = 0;
+			long coldEdges = 0, warmEdges = 0;
+			double similarity = 0, stability = 0;
+			for (int s = 0; s < seeds.size(); s++){
+				StringIndexableVertex seed = graph.getVertex(seeds.get(s));
+				long start = System.nanoTime();
+				DetectionBudget coldBudget = new DetectionBudget();
+				Set<String> cold = new HashSet<String>(detector.getCommunity(graph, seed, coldBudget).getMembers());
+				long middle = System.nanoTime();
+				DetectionBudget warmBudget = new DetectionBudget();
+				Set<String> warm = new HashSet<String>(detector.getCommunity(graph, seed, previous.get(s), warmBudget).getMembers());
+				long end = System.nanoTime();
+				coldNanos += middle - start;
+				warmNanos += end - middle;
+				coldVisited += coldBudget.getVisitedVertices();
+				warmVisited += warmBudget.getVisitedVertices();
+				coldEdges += coldBudget.getEvaluatedEdges();
+				warmEdges += warmBudget.getEvaluatedEdges();
+				similarity += getJaccard(cold, warm);
+				stability += getJaccard(cold, new HashSet<String>(previous.get(s).getMembers()));
+			}
+			int n = seeds.size();
+			if (round > 0){
+				System.out.println(String.format("%-8s cold %8.3f ms/seed, %6d visited, %9d edges; " +
+						"warm %8.3f ms/seed, %6d visited, %9d edges; Jaccard(cold, warm) %.3f, (cold, previous) %.3f", name,
+						coldNanos/1e6/n, coldVisited/n, coldEdges/n, warmNanos/1e6/n, warmVisited/n, warmEdges/n,
+						similarity/n, stability/n));
+			}
+		}
+	}
+
+	private static double getJaccard(Set<String> a, Set<String> b){
+		int common = 0;
+		for (String id : a){
+			if (b.contains(id)) common++;
+		}
+		int union = a.size() + b.size() - common;
+		return (union == 0) ? 1 : (double)common / union;
+	}
+
+	/* Remove the given number of random edges and add as many random edges. */
+	public static void perturb(IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph,
+			int numChanges, long seed){
+		Random random = new Random(seed);
+		List<WalkableWeightedEdge> edges = new ArrayList<WalkableWeightedEdge>(graph.getEdges());
+		int numVertices = graph.getVertexCount();
+		for (int i = 0; i < numChanges; i++){
+			graph.removeEdge(edges.get(random.nextInt(edges.size())));
+			SyntheticGraphFactory.addEdge(graph, graph.getVertex("v" + random.nextInt(numVertices)),
+					graph.getVertex("v" + random.nextInt(numVertices)));
+		}
+	}
+
+	public static void main(String[] args) {
+		int numVertices = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+		int communitySize = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+		double changed = args.length > 2 ? Double.parseDouble(args[2]) : 1;
+		int numSeeds = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+
+		IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> previousGraph =
+			SyntheticGraphFactory.generateShuffledCommunityGraph(numVertices, communitySize, 42);
+		IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph =
+			SyntheticGraphFactory.generateShuffledCommunityGraph(numVertices, communitySize, 42);
+		perturb(graph, (int)(graph.getEdgeCount() * changed / 100), 3);
+		System.out.println("Vertices: " + graph.getVertexCount() + ", edges: " + previousGraph.getEdgeCount() +
+				" before and " + graph.getEdgeCount() + " after the changes");
+		Random random = new Random(7);
+		List<String> seeds = new ArrayList<String>(numSeeds);
+		for (int i = 0; i < numSeeds; i++){
+			seeds.add("v" + random.nextInt(numVertices));
+		}
+
+		ClausetCommunityDetector<StringIndexableVertex, WalkableWeightedEdge> clauset =
+			new ClausetCommunityDetector<StringIndexableVertex, WalkableWeightedEdge>();
+		clauset.setTargetCommunityMembers(communitySize);
+		benchmark("Clauset", clauset, previousGraph, graph, seeds);
+		benchmark("Bagrow", new BagrowCommunityDetector<StringIndexableVertex, WalkableWeightedEdge>(),
+				previousGraph, graph, seeds);
+		benchmark("LWP", new LWPCommunityDetector<StringIndexableVertex, WalkableWeightedEdge>(),
+				previousGraph, graph, seeds);
+	}
+}
@@ -0,0 +1,177 @@
+/*
+  @(#) CompactCommunityCheck.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package graph;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+
+import jung.IndexableUndirectedSparseGraph;
+import jung.StringIndexableVertex;
+import jung.WalkableWeightedEdge;
+
+/**
+ * Checks the variable-length encoding of CompactCommunity: communities whose gaps take 1
+ * to 5 bytes (including the boundaries 127/128, 16383/16384 etc. and Integer.MAX_VALUE),
+ * and random communities with gaps of mixed sizes, are compressed and compared with the
+ * uncompressed form (member indices, encoded size and membership of the members and their
+ * neighbouring indices). The large indices are accepted by a graph that reports every
+ * non-negative index as a vertex. Also checks that indices of removed vertices and indices
+ * out of range are rejected. Throws an IllegalStateException at the first mismatch.
+ *
+ * Usage: CompactCommunityCheck [random communities]
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class CompactCommunityCheck {
+
+	/* The largest gap that takes 1, 2, 3 and 4 bytes. */
+	private static final int[] BYTE_LIMITS = {(1 << 7) - 1, (1 << 14) - 1, (1 << 21) - 1, (1 << 28) - 1};
+
+	public static void main(String[] args) {
+		int numCommunities = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+
+		IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> unbounded =
+			new IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge>(){
+				@Override
+				public boolean containsVertexIndex(int index){
+					return index >= 0;
+				}
+			};
+
+		/* gaps at both sides of every byte boundary */
+		int[] gaps = {1, 127, 128, 16383, 16384, 2097151, 2097152, 268435455, 268435456};
+		int[] indices = new int[gaps.length];
+		int previous = 0;
+		for (int i = 0; i < gaps.length; i++){
+			previous += gaps[i];
+			indices[i] = previous;
+		}
+		check(unbounded, indices);
+		check(unbounded, new int[]{0, Integer.MAX_VALUE});
+		check(unbounded, new int[]{Integer.MAX_VALUE});
+		check(unbounded, new int[0]);
+
+		Random random = new Random(7);
+		long members = 0;
+		for (int c = 0; c < numCommunities; c++){
+			TreeSet<Integer> set = new TreeSet<Integer>();
+			int size = 1 + random.nextInt(50);
+			long current = 0;
+			for (int i = 0; i < size; i++){
+				current += 1 + random.nextInt(BYTE_LIMITS[random.nextInt(3)]);
+				if (random.nextInt(20) == 0){
+					current += random.nextInt(BYTE_LIMITS[3]);
+				}
+				if (current > Integer.MAX_VALUE) break;
+				set.add((int)current);
+			}
+			int[] sorted = new int[set.size()];
+			int i = 0;
+			for (Integer index : set){
+				sorted[i++] = index;
+			}
+			/* the constructor sorts and drops duplicates */
+			int[] shuffled = Arrays.copyOf(sorted, 2*sorted.length);
+			for (int k = 0; k < sorted.length; k++){
+				shuffled[sorted.length + k] = sorted[random.nextInt(sorted.length)];
+			}
+			for (int k = shuffled.length-1; k > 0; k--){
+				int j = random.nextInt(k+1);
+				int swap = shuffled[k];
+				shuffled[k] = shuffled[j];
+				shuffled[j] = swap;
+			}
+			check(unbounded, sorted, shuffled);
+			members += sorted.length;
+		}
+
+		IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph =
+			new IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge>();
+		for (int i = 0; i < 10; i++){
+			graph.addVertex(new StringIndexableVertex("v" + i));
+		}
+		graph.removeVertex("v4");
+		check(graph, new int[]{0, 3, 5, 9});
+		int[][] invalid = {{4}, {-1}, {10}, {0, 4, 9}};
+		for (int k = 0; k < invalid.length; k++){
+			for (int compressed = 0; compressed < 2; compressed++){
+				try {
+					new CompactCommunity<StringIndexableVertex, WalkableWeightedEdge>(0, graph, invalid[k],
+							invalid[k].length, false, compressed == 1);
+					throw new IllegalStateException(Arrays.toString(invalid[k]) + " was accepted!");
+				} catch (IllegalArgumentException e){
+					/* expected */
+				}
+			}
+		}
+		System.out.println("CompactCommunity: " + numCommunities + " random communities, " + members +
+				" members, OK");
+	}
+
+	private static void check(IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph,
+			int[] sorted){
+		check(graph, sorted, sorted);
+	}
+
+	/* Compress the given indices and compare the result with the expected sorted indices. */
+	private static void check(IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph,
+			int[] sorted, int[] given){
+		CompactCommunity<StringIndexableVertex, WalkableWeightedEdge> plain =
+			new CompactCommunity<StringIndexableVertex, WalkableWeightedEdge>(0, graph, given, given.length, false, false);
+		CompactCommunity<StringIndexableVertex, WalkableWeightedEdge> compressed =
+			new CompactCommunity<StringIndexableVertex, WalkableWeightedEdge>(0, graph, given, given.length, false, true);
+		if (!Arrays.equals(plain.getMemberIndices(), sorted) || !Arrays.equals(compressed.getMemberIndices(), sorted)){
+			throw new IllegalStateException("The members of " + Arrays.toString(sorted) + " are " +
+					Arrays.toString(compressed.getMemberIndices()) + "!");
+		}
+		if (compressed.getNumberOfMembers() != sorted.length || compressed.getEncodedSize() != getEncodedSize(sorted)){
+			throw new IllegalStateException("The encoding of " + Arrays.toString(sorted) + " takes " +
+					compressed.getEncodedSize() + " bytes instead of " + getEncodedSize(sorted) + "!");
+		}
+		for (int i = 0; i < sorted.length; i++){
+			for (int delta = -1; delta <= 1; delta++){
+				long index = (long)sorted[i] + delta;
+				if (index < 0 || index > Integer.MAX_VALUE) continue;
+				boolean expected = Arrays.binarySearch(sorted, (int)index) >= 0;
+				if (plain.contains((int)index) != expected || compressed.contains((int)index) != expected){
+					throw new IllegalStateException("contains(" + index + ") is wrong for " + Arrays.toString(sorted) + "!");
+				}
+			}
+		}
+	}
+
+	/* Expected number of bytes: 1 byte per 7 bits of each gap. */
+	private static int getEncodedSize(int[] sorted){
+		int bytes = 0;
+		int previous = 0;
+		for (int i = 0; i < sorted.length; i++){
+			int gap = sorted[i] - previous;
+			previous = sorted[i];
+			int length = 1;
+			while (length <= BYTE_LIMITS.length && gap > BYTE_LIMITS[length-1]){
+				length++;
+			}
+			bytes += length;
+		}
+		return bytes;
+	}
+}
@@ -0,0 +1,141 @@
+/*
+  @(#) SyntheticGraphFactory.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package graph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import jung.IndexableUndirectedSparseGraph;
+import jung.StringIndexableVertex;
+import jung.WalkableWeightedEdge;
+
+/**
+ * Seeded generators of the synthetic graphs shared by the benchmarks and checks, and the
+ * F1 score of a detected community against the planted one. Unlike CommunityFactory, the
+ * same seed always produces the same graph, and vertex "v<i>" of a graph with planted
+ * communities of size s belongs to the planted community i / s.
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class SyntheticGraphFactory {
+
+	private SyntheticGraphFactory(){
+	}
+
+	/**
+	 * Generate a graph with planted communities, whose vertices are added in random order,
+	 * so that the load order carries no locality. Every vertex gets about 8 edges inside its
+	 * community and 2 edges to random vertices.
+	 */
+	public static IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge>
+			generateShuffledCommunityGraph(int numVertices, int communitySize, long seed){
+		Random random = new Random(seed);
+		List<StringIndexableVertex> vertices = new ArrayList<StringIndexableVertex>(numVertices);
+		for (int i = 0; i < numVertices; i++){
+			vertices.add(new StringIndexableVertex("v" + i));
+		}
+		List<StringIndexableVertex> loadOrder = new ArrayList<StringIndexableVertex>(vertices);
+		Collections.shuffle(loadOrder, random);
+		IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph =
+			new IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge>();
+		for (int i = 0; i < numVertices; i++){
+			graph.addVertex(loadOrder.get(i));
+		}
+		for (int i = 0; i < numVertices; i++){
+			int communityStart = (i / communitySize) * communitySize;
+			int size = Math.min(communitySize, numVertices - communityStart);
+			for (int k = 0; k < 4; k++){
+				addEdge(graph, vertices.get(i), vertices.get(communityStart + random.nextInt(size)));
+			}
+			addEdge(graph, vertices.get(i), vertices.get(random.nextInt(numVertices)));
+		}
+		return graph;
+	}
+
+	/**
+	 * Generate a graph with a sparse random background and a number of hubs. Hubs are
+	 * organized in groups, and hubs of the same group draw most of their neighbours from
+	 * a shared pool, so that hub edges have a wide range of common neighbour counts.
+	 */
+	public static IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge>
+			generateHubGraph(int numVertices, int numHubs, int hubDegree, long seed){
+		Random random = new Random(seed);
+		IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph =
+			new IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge>();
+		List<StringIndexableVertex> vertices = new ArrayList<StringIndexableVertex>(numVertices);
+		for (int i = 0; i < numVertices; i++){
+			StringIndexableVertex v = new StringIndexableVertex("v" + i);
+			graph.addVertex(v);
+			vertices.add(v);
+		}
+		/* background: about 5 random edges per vertex */
+		for (int i = 0; i < 5*numVertices; i++){
+			addEdge(graph, vertices.get(random.nextInt(numVertices)), vertices.get(random.nextInt(numVertices)));
+		}
+		int groupSize = 4;
+		for (int h = 0; h < numHubs; h++){
+			StringIndexableVertex hub = vertices.get(h);
+			int group = h / groupSize;
+			/* pool shared by the hubs of the group */
+			int poolStart = (group * 2 * hubDegree) % numVertices;
+			double shared = 0.2 + 0.7*random.nextDouble();
+			for (int i = 0; i < hubDegree; i++){
+				int target = (random.nextDouble() < shared) ?
+						(poolStart + random.nextInt(2*hubDegree)) % numVertices : random.nextInt(numVertices);
+				addEdge(graph, hub, vertices.get(target));
+			}
+			for (int other = group*groupSize; other < h; other++){
+				addEdge(graph, hub, vertices.get(other));
+			}
+		}
+		return graph;
+	}
+
+	/**
+	 * Add an edge of unit weight, unless it would be a self-loop or a parallel edge.
+	 * @return true if the edge was added.
+	 */
+	public static boolean addEdge(IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph,
+			StringIndexableVertex v1, StringIndexableVertex v2){
+		if (v1.equals(v2) || graph.findEdge(v1, v2) != null) return false;
+		return graph.addEdge(new WalkableWeightedEdge(1), v1, v2);
+	}
+
+	/**
+	 * F1 score of a detected community against a planted community of a graph generated by
+	 * generateShuffledCommunityGraph().
+	 * @param members Ids of the members of the detected community.
+	 * @param planted Index of the planted community.
+	 * @param communitySize Size of the planted communities.
+	 */
+	public static double getF1(Collection<String> members, int planted, int communitySize){
+		int correct = 0;
+		for (String id : members){
+			if (Integer.parseInt(id.substring(1)) / communitySize == planted){
+				correct++;
+			}
+		}
+		return (correct == 0) ? 0 : 2.0 * correct / (members.size() + communitySize);
+	}
+}
@@ -0,0 +1,108 @@
+/*
+  @(#) BreadthFirstSearchBenchmark.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package jung;
+
+import java.util.Random;
+
+import graph.SyntheticGraphFactory;
+
+/**
+ * Compares complete breadth-first searches by a sequential queue-based traversal and by
+ * ParallelBreadthFirstSearch, top-down only and direction-optimizing, on a small-world graph
+ * with planted communities (see SyntheticGraphFactory).
+ *
+ * Usage: BreadthFirstSearchBenchmark [vertices] [sources]
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class BreadthFirstSearchBenchmark {
+
+	/* Sequential traversal; returns the number of visited vertices. */
+	public static int sequentialSearch(IndexableGraph<?,?> graph, int source){
+		boolean[] visited = new boolean[graph.getVertexIndexBound()];
+		int[] queue = new int[graph.getVertexCount()];
+		int head = 0, tail = 0;
+		visited[source] = true;
+		queue[tail++] = source;
+		while (head < tail){
+			int v = queue[head++];
+			int degree = graph.getDegreeByIndex(v);
+			for (int p = 0; p < degree; p++){
+				int x = graph.getNeighborIndex(v, p);
+				if (!visited[x]){
+					visited[x] = true;
+					queue[tail++] = x;
+				}
+			}
+		}
+		return tail;
+	}
+
+	public static void main(String[] args) {
+		int numVertices = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+		int numSources = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+		IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph =
+			SyntheticGraphFactory.generateShuffledCommunityGraph(numVertices, 50, 42);
+		System.out.println("Vertices: " + graph.getVertexCount() + ", edges: " + graph.getEdgeCount());
+
+		/* first round for warm-up */
+		for (int round = 0; round < 2; round++){
+			long sequentialNanos = 0, topDownNanos = 0, optimizingNanos = 0;
+			long topDownEdges = 0, optimizingEdges = 0;
+			int levels = 0, bottomUpLevels = 0;
+			boolean consistent = true;
+			Random random = new Random(7);
+			for (int s = 0; s < numSources; s++){
+				int source = graph.getVertexIndex(graph.getVertex("v" + random.nextInt(numVertices)));
+				long start = System.nanoTime();
+				int visited = sequentialSearch(graph, source);
+				long middle = System.nanoTime();
+
+				ParallelBreadthFirstSearch topDown = new ParallelBreadthFirstSearch(graph, source);
+				topDown.setSwitchingParameters(0, ParallelBreadthFirstSearch.BETA);
+				while (topDown.expandLevel()){
+					levels++;
+				}
+				long end = System.nanoTime();
+
+				ParallelBreadthFirstSearch optimizing = new ParallelBreadthFirstSearch(graph, source);
+				while (optimizing.expandLevel()){
+					if (optimizing.isBottomUp()) bottomUpLevels++;
+				}
+				long last = System.nanoTime();
+
+				consistent &= (visited == topDown.getNumberOfVisited()) && (visited == optimizing.getNumberOfVisited());
+				sequentialNanos += middle - start;
+				topDownNanos += end - middle;
+				optimizingNanos += last - end;
+				topDownEdges += topDown.getInspectedEdges();
+				optimizingEdges += optimizing.getInspectedEdges();
+			}
+			if (round > 0){
+				System.out.println(String.format("sequential %8.1f ms, top-down %8.1f ms (%d edges), " +
+						"direction-optimizing %8.1f ms (%d edges, %d of %d levels bottom-up)%s",
+						sequentialNanos/1e6, topDownNanos/1e6, topDownEdges, optimizingNanos/1e6,
+						optimizingEdges, bottomUpLevels, levels, consistent ? "" : " (results differ!)"));
+			}
+		}
+	}
+}
@@ -0,0 +1,270 @@
+/*
+  @(#) MappedGraphCheck.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package jung;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import bbound.BridgeBoundingDetector;
+import bbound.DetectionBudget;
+import bbound.EdgeMeasure;
+import bbound.NetworkTopologyMeasures;
+import graph.SyntheticGraphFactory;
+import util.IntArrayList;
+
+/**
+ * Checks the round trip of a graph through MappedIndexableGraph.write() and the mapped
+ * graph against the in-heap graph it was written from: a graph with planted communities,
+ * hubs and edge weights, from which vertices and edges have been removed so that its
+ * indices have holes. Compares the compacted adjacency, the id lookup, findEdge(), the
+ * neighbourhood intersections (including those galloping through hub neighbourhoods) and
+ * the Bridge Bounding communities for ELB, ELB2 and WELB, then checks that column values
+ * are shared by two mappings of the file (including values whose bits are close to the
+ * absent marker) and that a column written for another graph is discarded when the file
+ * is rewritten. Throws an IllegalStateException at the first mismatch.
+ *
+ * Usage: MappedGraphCheck [vertices]
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class MappedGraphCheck {
+
+	private static final EdgeMeasure[] MEASURES = {NetworkTopologyMeasures.ELB, NetworkTopologyMeasures.ELB2,
+		NetworkTopologyMeasures.WELB};
+
+	public static void main(String[] args) throws IOException {
+		int numVertices = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+		Random random = new Random(11);
+
+		IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph =
+			SyntheticGraphFactory.generateShuffledCommunityGraph(numVertices, 50, 42);
+		/* a few hubs, for the galloping intersections */
+		for (int h = 0; h < 5; h++){
+			for (int i = 0; i < numVertices; i += 3){
+				SyntheticGraphFactory.addEdge(graph, graph.getVertex("v" + h), graph.getVertex("v" + (i + h)%numVertices));
+			}
+		}
+		for (WalkableWeightedEdge edge : graph.getEdges()){
+			edge.setFrequency(1 + random.nextInt(4));
+		}
+		/* holes in the vertex and edge indices */
+		List<String> removed = new ArrayList<String>();
+		for (int i = 0; i < numVertices/50; i++){
+			String id = "v" + (5 + random.nextInt(numVertices-5));
+			if (graph.getVertex(id) != null && graph.removeVertex(graph.getVertex(id))){
+				removed.add(id);
+			}
+		}
+		List<WalkableWeightedEdge> edges = new ArrayList<WalkableWeightedEdge>(graph.getEdges());
+		for (int i = 0; i < edges.size()/50; i++){
+			graph.removeEdge(edges.get(random.nextInt(edges.size())));
+		}
+
+		File directory = createDirectory();
+		File file = new File(directory, "graph.bin");
+		MappedIndexableGraph.write(graph, file);
+		MappedIndexableGraph mapped = new MappedIndexableGraph(file);
+
+		checkAdjacency(graph, mapped, removed, random);
+		checkIntersections(graph, mapped, random);
+		checkCommunities(graph, mapped, random);
+		checkSharedColumns(file, mapped);
+		checkFingerprint(graph, file, mapped.getFingerprint());
+
+		for (File f : directory.listFiles()){
+			f.delete();
+		}
+		directory.delete();
+		System.out.println("MappedIndexableGraph: " + mapped.getVertexCount() + " vertices, " + mapped.getEdgeCount() +
+				" edges, OK");
+	}
+
+	private static void checkAdjacency(IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph,
+			MappedIndexableGraph mapped, List<String> removed, Random random){
+		check(mapped.getVertexCount() == graph.getVertexCount() && mapped.getEdgeCount() == graph.getEdgeCount() &&
+				mapped.getVertexIndexBound() == graph.getVertexCount() && mapped.getEdgeIndexBound() == graph.getEdgeCount(),
+				"The counts or the index bounds differ");
+		int previous = -1;
+		for (int v = 0; v < graph.getVertexIndexBound(); v++){
+			StringIndexableVertex vertex = graph.getVertexByIndex(v);
+			if (vertex == null) continue;
+			int index = mapped.getVertexIndex(vertex);
+			/* compaction keeps the order of the indices */
+			check(index == previous+1, "Vertex " + vertex + " is at index " + index + " instead of " + (previous+1));
+			previous = index;
+			check(mapped.getVertexByIndex(index).getID().equals(vertex.getID()), "Wrong id at index " + index);
+			check(mapped.getVertex(vertex.getID()) != null, "Vertex " + vertex + " is not found by id");
+			int deg = graph.getDegreeByIndex(v);
+			check(mapped.getDegreeByIndex(index) == deg, "Wrong degree of " + vertex);
+			for (int p = 0; p < deg; p++){
+				String neighbor = graph.getVertexByIndex(graph.getNeighborIndex(v, p)).getID();
+				check(mapped.getVertexByIndex(mapped.getNeighborIndex(index, p)).getID().equals(neighbor),
+						"Wrong neighbour " + p + " of " + vertex);
+				int edge = mapped.getIncidentEdgeIndex(index, p);
+				check(mapped.getEdgeWeightByIndex(edge) == graph.getEdgeWeightByIndex(graph.getIncidentEdgeIndex(v, p)),
+						"Wrong weight of edge " + p + " of " + vertex);
+				int other = (mapped.getFirstEndpointIndex(edge) == index) ? mapped.getSecondEndpointIndex(edge) :
+					mapped.getFirstEndpointIndex(edge);
+				check(mapped.getVertexByIndex(other).getID().equals(neighbor), "Wrong endpoints of edge " + p + " of " + vertex);
+			}
+		}
+		for (int i = 0; i < removed.size(); i++){
+			check(mapped.getVertex(removed.get(i)) == null, "Removed vertex " + removed.get(i) + " is found by id");
+		}
+		check(mapped.getVertex("") == null && mapped.getVertex("v" + Integer.MAX_VALUE) == null, "Unknown ids are found");
+
+		for (WalkableWeightedEdge edge : graph.getEdges()){
+			StringIndexableVertex v1 = graph.getEndpoints(edge).getFirst();
+			StringIndexableVertex v2 = graph.getEndpoints(edge).getSecond();
+			Integer found = mapped.findEdge(v2, v1);
+			check(found != null && mapped.getEdgeWeightByIndex(found) == edge.getFrequency(), "Edge " + v1 + "-" + v2 + " is not found");
+			check(mapped.isNeighbor(v1, v2), v1 + " and " + v2 + " are not neighbours");
+		}
+		for (int i = 0; i < 10000; i++){
+			StringIndexableVertex v1 = mapped.getVertexByIndex(random.nextInt(mapped.getVertexCount()));
+			StringIndexableVertex v2 = mapped.getVertexByIndex(random.nextInt(mapped.getVertexCount()));
+			check((mapped.findEdge(v1, v2) == null) == (graph.findEdge(graph.getVertex(v1.getID()), graph.getVertex(v2.getID())) == null),
+					"findEdge(" + v1 + ", " + v2 + ") differs");
+		}
+	}
+
+	private static void checkIntersections(IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph,
+			MappedIndexableGraph mapped, Random random){
+		IntArrayList positions1 = new IntArrayList();
+		IntArrayList positions2 = new IntArrayList();
+		IntArrayList mappedPositions1 = new IntArrayList();
+		IntArrayList mappedPositions2 = new IntArrayList();
+		for (int i = 0; i < 20000; i++){
+			/* a quarter of the vertices are hubs */
+			int m1 = (random.nextInt(4) == 0) ? random.nextInt(5) : random.nextInt(mapped.getVertexCount());
+			int m2 = (random.nextInt(4) == 0) ? random.nextInt(5) : random.nextInt(mapped.getVertexCount());
+			int v1 = graph.getVertexIndex(graph.getVertex(mapped.getVertexByIndex(m1).getID()));
+			int v2 = graph.getVertexIndex(graph.getVertex(mapped.getVertexByIndex(m2).getID()));
+			check(mapped.countCommonNeighbors(m1, m2) == graph.countCommonNeighbors(v1, v2), "Wrong count of common neighbours");
+			graph.intersectNeighbors(v1, v2, positions1, positions2);
+			mapped.intersectNeighbors(m1, m2, mappedPositions1, mappedPositions2);
+			check(same(positions1, mappedPositions1) && same(positions2, mappedPositions2), "Wrong common neighbours");
+
+			int deg = mapped.getDegreeByIndex(m2);
+			int[] mappedNeighbors = new int[deg];
+			int[] neighbors = new int[deg];
+			for (int p = 0; p < deg; p++){
+				mappedNeighbors[p] = mapped.getNeighborIndex(m2, p);
+				neighbors[p] = graph.getNeighborIndex(v2, p);
+			}
+			graph.intersectNeighbors(v1, neighbors, deg, positions1);
+			mapped.intersectNeighbors(m1, mappedNeighbors, deg, mappedPositions1);
+			check(same(positions1, mappedPositions1), "Wrong common neighbours with a sorted array");
+		}
+	}
+
+	private static void checkCommunities(IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph,
+			MappedIndexableGraph mapped, Random random){
+		for (int m = 0; m < MEASURES.length; m++){
+			BridgeBoundingDetector<StringIndexableVertex, WalkableWeightedEdge> detector =
+				new BridgeBoundingDetector<StringIndexableVertex, WalkableWeightedEdge>(MEASURES[m], 0.8);
+			BridgeBoundingDetector<StringIndexableVertex, Integer> mappedDetector =
+				new BridgeBoundingDetector<StringIndexableVertex, Integer>(MEASURES[m], 0.8);
+			for (int s = 0; s < 50; s++){
+				StringIndexableVertex seed = mapped.getVertexByIndex(random.nextInt(mapped.getVertexCount()));
+				HashSet<String> expected = new HashSet<String>(detector.getCommunity(graph, graph.getVertex(seed.getID())).getMembers());
+				HashSet<String> members = new HashSet<String>(
+						mappedDetector.getCommunity(mapped, seed, new DetectionBudget()).getMembers());
+				check(members.equals(expected), "The " + MEASURES[m] + " community of " + seed + " differs");
+			}
+		}
+	}
+
+	/* Values written through one mapping of the file are read through another one. */
+	private static void checkSharedColumns(File file, MappedIndexableGraph mapped) throws IOException {
+		MappedIndexableGraph other = new MappedIndexableGraph(file);
+		EdgeAttributeStore.Column elb = mapped.getEdgeAttributes().getColumn(NetworkTopologyMeasures.ELB);
+		EdgeAttributeStore.Column otherElb = other.getEdgeAttributes().getColumn(NetworkTopologyMeasures.ELB);
+		int memoized = 0;
+		for (int e = 0; e < mapped.getEdgeCount(); e++){
+			check(otherElb.contains(e) == elb.contains(e) && (!elb.contains(e) || otherElb.get(e) == elb.get(e)),
+					"The ELB value of edge " + e + " is not shared");
+			memoized += elb.contains(e) ? 1 : 0;
+		}
+		check(memoized > 0, "No ELB value was memoized by the detection");
+		double[] values = {0.0, -0.0, 1.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+				Double.MIN_VALUE, -Double.MAX_VALUE, Double.longBitsToDouble(EdgeAttributeStore.Column.ABSENT ^ 1L)};
+		EdgeAttributeStore.Column written = mapped.getEdgeAttributes().getColumn("check");
+		EdgeAttributeStore.Column read = other.getEdgeAttributes().getColumn("check");
+		for (int i = 0; i < values.length; i++){
+			check(!read.contains(i) && Double.isInfinite(read.get(i, Double.POSITIVE_INFINITY)), "Edge " + i + " has a value");
+			written.set(i, values[i]);
+			check(read.contains(i) && Double.doubleToLongBits(read.get(i)) == Double.doubleToLongBits(values[i]) &&
+					Double.doubleToLongBits(read.get(i, 7.0)) == Double.doubleToLongBits(values[i]),
+					"Value " + values[i] + " is not shared");
+		}
+		read.remove(2);
+		check(!written.contains(2) && written.contains(3), "The removal is not shared");
+		check(!read.contains(mapped.getEdgeCount()) && read.get(mapped.getEdgeCount(), 7.0) == 7.0, "An edge out of the column has a value");
+	}
+
+	/* A column of another graph written to the same file is discarded; a column of the same
+	 * graph, written again, is kept. */
+	private static void checkFingerprint(IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph,
+			File file, long fingerprint) throws IOException {
+		MappedIndexableGraph.write(graph, file);
+		MappedIndexableGraph same = new MappedIndexableGraph(file);
+		check(same.getFingerprint() == fingerprint && same.getEdgeAttributes().getColumn("check").contains(3),
+				"The column was discarded although the graph did not change");
+
+		WalkableWeightedEdge edge = graph.getEdges().iterator().next();
+		edge.setFrequency(edge.getFrequency() + 1);
+		MappedIndexableGraph.write(graph, file);
+		MappedIndexableGraph changed = new MappedIndexableGraph(file);
+		check(changed.getFingerprint() != fingerprint, "The fingerprint did not change with a weight");
+		EdgeAttributeStore.Column column = changed.getEdgeAttributes().getColumn("check");
+		EdgeAttributeStore.Column elb = changed.getEdgeAttributes().getColumn(NetworkTopologyMeasures.ELB);
+		for (int e = 0; e < changed.getEdgeCount(); e++){
+			check(!column.contains(e) && !elb.contains(e), "The columns of the previous graph were not discarded");
+		}
+	}
+
+	private static File createDirectory() throws IOException {
+		File directory = File.createTempFile("mapped", "");
+		if (!directory.delete() || !directory.mkdir()){
+			throw new IOException("Cannot create the directory " + directory + "!");
+		}
+		return directory;
+	}
+
+	private static boolean same(IntArrayList a, IntArrayList b){
+		if (a.size() != b.size()) return false;
+		for (int i = 0; i < a.size(); i++){
+			if (a.get(i) != b.get(i)) return false;
+		}
+		return true;
+	}
+
+	private static void check(boolean condition, String message){
+		if (!condition){
+			throw new IllegalStateException(message + "!");
+		}
+	}
+}
@@ -0,0 +1,139 @@
+/*
+  @(#) IndexedHeapCheck.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package util;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * Checks IndexedHeap against a TreeSet ordered by key and element: random update (insertion,
+ * increase and decrease of keys), remove and poll operations, with few distinct keys so that
+ * ties are frequent, for several arities. After each operation, the size, the top and
+ * hasOtherAtMost() are compared, and the keys of a few elements are looked up; every round
+ * ends by polling the remaining elements in order, and the heap is reused after clear()
+ * and reset(). Throws an IllegalStateException at the first mismatch.
+ *
+ * Usage: IndexedHeapCheck [operations] [element range]
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class IndexedHeapCheck {
+
+	private static final int[] ARITIES = {2, 3, 4, 8};
+
+	public static void main(String[] args) {
+		int numOperations = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+		int range = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+
+		for (int a = 0; a < ARITIES.length; a++){
+			IndexedHeap heap = new IndexedHeap(ARITIES[a]);
+			for (int round = 0; round < 3; round++){
+				if (round == 1){
+					heap.clear();
+				} else if (round == 2){
+					heap.reset(range);
+				}
+				check(heap, new Random(31*a + round), numOperations, range);
+			}
+		}
+		System.out.println("IndexedHeap: " + numOperations + " operations per round, 3 rounds for each of " +
+				ARITIES.length + " arities, OK");
+	}
+
+	private static void check(IndexedHeap heap, Random random, int numOperations, int range){
+		final Map<Integer, Double> keys = new HashMap<Integer, Double>();
+		TreeSet<Integer> reference = new TreeSet<Integer>(new Comparator<Integer>(){
+			public int compare(Integer e1, Integer e2){
+				int c = Double.compare(keys.get(e1), keys.get(e2));
+				return (c != 0) ? c : Integer.compare(e1, e2);
+			}
+		});
+		for (int i = 0; i < numOperations; i++){
+			int operation = random.nextInt(10);
+			int element = random.nextInt(range);
+			if (operation < 6){
+				/* keys in steps of 0.5, some negative */
+				double key = (random.nextInt(40) - 10) / 2.0;
+				if (keys.containsKey(element)){
+					reference.remove(element);
+				}
+				keys.put(element, key);
+				reference.add(element);
+				heap.update(element, key);
+			} else if (operation < 8){
+				boolean contained = keys.containsKey(element) && reference.remove(element);
+				keys.remove(element);
+				if (heap.remove(element) != contained){
+					throw new IllegalStateException("remove(" + element + ") returned " + !contained + "!");
+				}
+			} else if (!reference.isEmpty()){
+				int expected = reference.pollFirst();
+				keys.remove(expected);
+				int polled = heap.poll();
+				if (polled != expected){
+					throw new IllegalStateException("poll() returned " + polled + " instead of " + expected + "!");
+				}
+			}
+			compare(heap, reference, keys);
+			for (int k = 0; k < 3; k++){
+				int probe = random.nextInt(range);
+				Double key = keys.get(probe);
+				if (heap.contains(probe) != (key != null) || (key != null && heap.getKey(probe) != key)){
+					throw new IllegalStateException("Wrong key of element " + probe + "!");
+				}
+			}
+		}
+		while (!reference.isEmpty()){
+			int expected = reference.pollFirst();
+			keys.remove(expected);
+			if (heap.poll() != expected){
+				throw new IllegalStateException("The heap is not drained in order!");
+			}
+			compare(heap, reference, keys);
+		}
+	}
+
+	private static void compare(IndexedHeap heap, TreeSet<Integer> reference, Map<Integer, Double> keys){
+		if (heap.size() != reference.size() || heap.isEmpty() != reference.isEmpty()){
+			throw new IllegalStateException("Size " + heap.size() + " instead of " + reference.size() + "!");
+		}
+		if (reference.isEmpty()){
+			return;
+		}
+		int top = reference.first();
+		if (heap.peek() != top){
+			throw new IllegalStateException("peek() returned " + heap.peek() + " instead of " + top + "!");
+		}
+		/* hasOtherAtMost() at the key of the top, and of the second element and just below it */
+		Integer second = reference.higher(top);
+		double[] bounds = {keys.get(top), (second == null) ? keys.get(top) + 1 : keys.get(second),
+				(second == null) ? keys.get(top) : Math.nextDown(keys.get(second))};
+		for (int b = 0; b < bounds.length; b++){
+			boolean expected = second != null && keys.get(second) <= bounds[b];
+			if (heap.hasOtherAtMost(bounds[b]) != expected){
+				throw new IllegalStateException("hasOtherAtMost(" + bounds[b] + ") returned " + !expected + "!");
+			}
+		}
+	}
+}
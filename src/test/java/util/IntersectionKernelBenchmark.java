@@ -0,0 +1,136 @@
+/*
+  @(#) IntersectionKernelBenchmark.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package util;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import bbound.NetworkTopologyMeasures;
+import bbound.NetworkTopologyMeasuresCalculator;
+import graph.SyntheticGraphFactory;
+import jung.IndexableUndirectedSparseGraph;
+import jung.StringIndexableVertex;
+import jung.WalkableWeightedEdge;
+
+/**
+ * Compares the scalar and the blocked merge of IntersectionKernel on pairs of random
+ * sorted arrays of equal length, and times the bulk ELB computation of a graph with the
+ * merge selected by the bbound.intersection system property; run it once with
+ * -Dbbound.intersection=scalar and once without for the end-to-end comparison.
+ *
+ * Usage: IntersectionKernelBenchmark [vertices] [rounds]
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class IntersectionKernelBenchmark {
+
+	private static final int[] LENGTHS = {8, 32, 128, 1024, 16384};
+
+	/* Number of pairs of arrays per length. */
+	private static final int PAIRS = 256;
+
+	public static void benchmarkMerge(int rounds){
+		Random random = new Random(42);
+		for (int l = 0; l < LENGTHS.length; l++){
+			int length = LENGTHS[l];
+			/* draw from a range that makes about a quarter of the elements common */
+			int range = 4*length;
+			int[][] a = new int[PAIRS][];
+			int[][] b = new int[PAIRS][];
+			for (int p = 0; p < PAIRS; p++){
+				a[p] = randomSortedArray(random, length, range);
+				b[p] = randomSortedArray(random, length, range);
+			}
+			long scalarNanos = 0;
+			long blockedNanos = 0;
+			long scalarCommon = 0;
+			long blockedCommon = 0;
+			int repetitions = Math.max(1, (1 << 22) / (length * PAIRS));
+			/* first round for warm-up */
+			for (int round = 0; round <= rounds; round++){
+				long start = System.nanoTime();
+				scalarCommon = 0;
+				for (int r = 0; r < repetitions; r++){
+					for (int p = 0; p < PAIRS; p++){
+						scalarCommon += IntersectionKernel.countMerge(a[p], length, b[p], length);
+					}
+				}
+				long middle = System.nanoTime();
+				blockedCommon = 0;
+				for (int r = 0; r < repetitions; r++){
+					for (int p = 0; p < PAIRS; p++){
+						blockedCommon += IntersectionKernel.countBlockedMerge(a[p], length, b[p], length);
+					}
+				}
+				long end = System.nanoTime();
+				if (round > 0){
+					scalarNanos += middle - start;
+					blockedNanos += end - middle;
+				}
+			}
+			double elements = 2.0 * length * PAIRS * repetitions * rounds;
+			System.out.println(String.format("length %-6d scalar %6.2f ns/element, blocked %6.2f ns/element " +
+					"(speedup %.2fx)%s", length, scalarNanos/elements, blockedNanos/elements,
+					(double)scalarNanos/blockedNanos, (scalarCommon == blockedCommon) ? "" : " MISMATCH"));
+		}
+	}
+
+	private static int[] randomSortedArray(Random random, int length, int range){
+		int[] values = new int[length];
+		boolean[] used = new boolean[range];
+		for (int i = 0; i < length; i++){
+			int value;
+			do {
+				value = random.nextInt(range);
+			} while (used[value]);
+			used[value] = true;
+			values[i] = value;
+		}
+		Arrays.sort(values);
+		return values;
+	}
+
+	public static void benchmarkBulkElb(int numVertices, int rounds){
+		IndexableUndirectedSparseGraph<StringIndexableVertex, WalkableWeightedEdge> graph =
+			SyntheticGraphFactory.generateHubGraph(numVertices, 32, 2000, 42);
+		NetworkTopologyMeasuresCalculator<StringIndexableVertex, WalkableWeightedEdge> calculator =
+			new NetworkTopologyMeasuresCalculator<StringIndexableVertex, WalkableWeightedEdge>(
+					graph, NetworkTopologyMeasures.ELB);
+		long nanos = 0;
+		for (int round = 0; round <= rounds; round++){
+			long start = System.nanoTime();
+			calculator.calculateAllMeasures();
+			if (round > 0){
+				nanos += System.nanoTime() - start;
+			}
+		}
+		System.out.println(String.format("bulk ELB (%s merge), %d vertices, %d edges: %.1f ms",
+				IntersectionKernel.getImplementation(), graph.getVertexCount(), graph.getEdgeCount(),
+				nanos/1e6/rounds));
+	}
+
+	public static void main(String[] args) {
+		int numVertices = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+		benchmarkMerge(rounds);
+		benchmarkBulkElb(numVertices, rounds);
+	}
+}
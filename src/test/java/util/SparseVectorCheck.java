@@ -0,0 +1,82 @@
+/*
+  @(#) SparseVectorCheck.java	1.0,	19/10/2026
+
+  Bridge Bounding, https://github.com/kleinmind/bridge-bounding
+
+  Copyright 2013 Symeon Papadopoulos
+
+  Licensed under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License.
+  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+  Unless required by applicable law or agreed to in writing, software
+  distributed under the License is distributed on an "AS IS" BASIS,
+  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  See the License for the specific language governing permissions and
+  limitations under the License.
+*/
+package util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Checks SparseVector against a HashMap: random set and add operations on a vector that
+ * starts small, so that the table grows several times (in particular within set and add),
+ * then reads every value back, by index and in order of insertion, and again after clear().
+ * Throws an IllegalStateException at the first mismatch.
+ *
+ * Usage: SparseVectorCheck [operations] [index range]
+ *
+ * @author Symeon Papadopoulos
+ *
+ */
+public class SparseVectorCheck {
+
+	public static void main(String[] args) {
+		int numOperations = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		int range = args.length > 1 ? Integer.parseInt(args[1]) : 50000;
+
+		SparseVector vector = new SparseVector(1);
+		for (int round = 0; round < 3; round++){
+			Random random = new Random(round);
+			Map<Integer, Double> reference = new HashMap<Integer, Double>();
+			for (int i = 0; i < numOperations; i++){
+				int index = random.nextInt(range);
+				double value = random.nextDouble();
+				if (random.nextBoolean()){
+					vector.set(index, value);
+					reference.put(index, value);
+				} else {
+					Double old = reference.get(index);
+					double expected = ((old == null) ? 0 : old) + value;
+					reference.put(index, expected);
+					if (vector.add(index, value) != expected){
+						throw new IllegalStateException("add(" + index + ") returned a wrong value!");
+					}
+				}
+			}
+			if (vector.size() != reference.size()){
+				throw new IllegalStateException("Size " + vector.size() + " instead of " + reference.size() + "!");
+			}
+			for (Map.Entry<Integer, Double> entry : reference.entrySet()){
+				if (!vector.contains(entry.getKey()) || vector.get(entry.getKey()) != entry.getValue()){
+					throw new IllegalStateException("Wrong value at " + entry.getKey() + "!");
+				}
+			}
+			for (int i = 0; i < vector.size(); i++){
+				if (vector.getValueAt(i) != reference.get(vector.getIndex(i))){
+					throw new IllegalStateException("Wrong value at position " + i + "!");
+				}
+			}
+			vector.clear();
+			if (vector.size() != 0 || vector.contains(reference.keySet().iterator().next())){
+				throw new IllegalStateException("The vector is not empty after clear()!");
+			}
+		}
+		System.out.println("SparseVector: " + numOperations + " operations per round, 3 rounds, OK");
+	}
+}